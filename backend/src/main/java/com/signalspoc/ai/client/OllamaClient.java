@@ -1,16 +1,31 @@
 package com.signalspoc.ai.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.signalspoc.ai.config.AiConfig;
+import com.signalspoc.shared.http.ConnectorHttpTransportFactory;
+import com.signalspoc.shared.http.OutboundHttpInterceptor;
+import com.signalspoc.shared.http.OutboundHttpInterceptorFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @ConditionalOnProperty(name = "ai.ollama.enabled", havingValue = "true")
@@ -35,13 +50,48 @@ public class OllamaClient {
 
     private final AiConfig config;
     private final RestTemplate restTemplate;
+    private final RestTemplate streamingRestTemplate;
+    private final ObjectMapper objectMapper;
+    private final OllamaStreamReader streamReader;
+    private final OllamaEndpointPool endpointPool;
+    private final MeterRegistry meterRegistry;
+    private final Timer timeToFirstToken;
+    private final DistributionSummary tokensPerSecond;
 
-    public OllamaClient(AiConfig config, RestTemplateBuilder restTemplateBuilder) {
+    public OllamaClient(AiConfig config, RestTemplateBuilder restTemplateBuilder,
+                        OutboundHttpInterceptorFactory interceptorFactory,
+                        ConnectorHttpTransportFactory transportFactory,
+                        ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.config = config;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.streamReader = new OllamaStreamReader(objectMapper, System::nanoTime);
+        // Generation requests have no side effects, so an overloaded (5xx) Ollama is retried
+        OutboundHttpInterceptor interceptor = interceptorFactory.create("ollama",
+                config.getRequestsPerMinute(), config.getRetryAttempts(), true);
+
+        ClientHttpRequestFactory requestFactory = transportFactory.create("ollama", config.getTimeoutSeconds());
         this.restTemplate = restTemplateBuilder
-                .setConnectTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
-                .setReadTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(interceptor)
+                .build();
+        // Streamed responses start with the first token, so the read timeout is the first-token timeout
+        ClientHttpRequestFactory streamingFactory = transportFactory.create("ollama-stream",
+                config.getTimeoutSeconds(), config.getStreaming().getFirstTokenTimeoutSeconds());
+        this.streamingRestTemplate = restTemplateBuilder
+                .requestFactory(() -> streamingFactory)
+                .additionalInterceptors(interceptor)
                 .build();
+
+        AiConfig.PoolConfig pool = config.getPool();
+        this.endpointPool = new OllamaEndpointPool(config.endpointUrls(), pool.getMaxConcurrentPerEndpoint(),
+                pool.getFailureThreshold(), TimeUnit.SECONDS.toMillis(pool.getOpenSeconds()), System::currentTimeMillis);
+        meterRegistry.gauge("signals.ai.endpoints.capacity", endpointPool, OllamaEndpointPool::capacity);
+
+        this.timeToFirstToken = Timer.builder("signals.ai.generation.time.to.first.token")
+                .register(meterRegistry);
+        this.tokensPerSecond = DistributionSummary.builder("signals.ai.generation.tokens.per.second")
+                .register(meterRegistry);
     }
 
     /** True when using the custom Modelfile — system prompt is already baked into the model weights. */
@@ -50,34 +100,19 @@ public class OllamaClient {
     }
 
     public String generateSuggestion(String prompt) {
-        try {
-            String url = config.getUrl() + "/api/generate";
-
-            Map<String, Object> body = new HashMap<>();
-            body.put("model", config.getModel());
-            body.put("prompt", prompt);
-            if (!isProductModel()) body.put("system", SYSTEM_PROMPT);  // skip when baked into model
-            body.put("stream", false);
-            body.put("options", Map.of(
-                    "num_predict", config.getMaxTokens(),
-                    "temperature", 0.4,   // focused but not overly rigid for text output
-                    "top_p", 0.9,
-                    "repeat_penalty", 1.1
-            ));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url, HttpMethod.POST, entity, Map.class);
-
-            if (response.getBody() != null && response.getBody().containsKey("response")) {
-                return (String) response.getBody().get("response");
-            }
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", config.getModel());
+        body.put("prompt", prompt);
+        if (!isProductModel()) body.put("system", SYSTEM_PROMPT);  // skip when baked into model
+        body.put("options", Map.of(
+                "num_predict", config.getMaxTokens(),
+                "temperature", 0.4,   // focused but not overly rigid for text output
+                "top_p", 0.9,
+                "repeat_penalty", 1.1
+        ));
 
-            return null;
+        try {
+            return generate(body, false);
         } catch (Exception e) {
             log.warn("Ollama request failed (is Ollama running?): {}", e.getMessage());
             return null;
@@ -85,48 +120,185 @@ public class OllamaClient {
     }
 
     public String generateStructuredResponse(String prompt, int maxTokens) {
-        try {
-            String url = config.getUrl() + "/api/generate";
-
-            Map<String, Object> body = new HashMap<>();
-            body.put("model", config.getModel());
-            body.put("prompt", prompt);
-            if (!isProductModel()) body.put("system", SYSTEM_PROMPT);  // skip when baked into model
-            body.put("stream", false);
-            body.put("format", "json");
-            body.put("options", Map.of(
-                    "num_predict", maxTokens,
-                    "temperature", 0.1,   // very deterministic — valid JSON is required
-                    "top_p", 0.85,
-                    "repeat_penalty", 1.05
-            ));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url, HttpMethod.POST, entity, Map.class);
-
-            if (response.getBody() != null && response.getBody().containsKey("response")) {
-                return (String) response.getBody().get("response");
-            }
+        return generateStructuredResponse(prompt, maxTokens, "json");
+    }
 
-            return null;
+    /**
+     * @param format "json" for free-form JSON, or a JSON schema (as a map) that constrains decoding
+     */
+    public String generateStructuredResponse(String prompt, int maxTokens, Object format) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", config.getModel());
+        body.put("prompt", prompt);
+        if (!isProductModel()) body.put("system", SYSTEM_PROMPT);  // skip when baked into model
+        body.put("format", format);
+        body.put("options", Map.of(
+                "num_predict", maxTokens,
+                "temperature", 0.1,   // very deterministic — valid JSON is required
+                "top_p", 0.85,
+                "repeat_penalty", 1.05
+        ));
+
+        try {
+            return generate(body, true);
         } catch (Exception e) {
             log.warn("Ollama structured request failed: {}", e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Runs the call on the least-loaded usable endpoint. When it fails there, the call fails over to
+     * the next endpoint not tried yet. It gives up once every usable endpoint has failed, or when
+     * none frees a slot within acquireTimeoutSeconds.
+     */
+    private String generate(Map<String, Object> body, boolean json) throws IOException {
+        Set<OllamaEndpointPool.Endpoint> tried = new HashSet<>();
+        Exception lastFailure = null;
+        while (true) {
+            OllamaEndpointPool.Endpoint endpoint;
+            try {
+                endpoint = endpointPool.acquire(tried, TimeUnit.SECONDS.toMillis(config.getPool().getAcquireTimeoutSeconds()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for an Ollama endpoint", e);
+            }
+            if (endpoint == null) {
+                if (lastFailure instanceof IOException io) throw io;
+                if (lastFailure instanceof RuntimeException re) throw re;
+                throw new IOException("No Ollama endpoint available");
+            }
+
+            tried.add(endpoint);
+            boolean success = false;
+            try {
+                String response = generate(endpoint.url, body, json);
+                success = true;
+                return response;
+            } catch (IOException | RestClientException e) {
+                lastFailure = e;
+                log.warn("Ollama call to {} failed: {}", endpoint.url, e.getMessage());
+            } finally {
+                endpointPool.release(endpoint, success);
+            }
+        }
+    }
+
+    private String generate(String baseUrl, Map<String, Object> body, boolean json) throws IOException {
+        String url = baseUrl + "/api/generate";
+        if (config.getStreaming().isEnabled()) {
+            return stream(url, body, json);
+        }
+
+        body.put("stream", false);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
+
+        @SuppressWarnings("rawtypes")
+        ResponseEntity<Map> response = restTemplate.exchange(
+                url, HttpMethod.POST, entity, Map.class);
+
+        if (response.getBody() != null && response.getBody().containsKey("response")) {
+            return (String) response.getBody().get("response");
+        }
+
+        return null;
+    }
+
+    /**
+     * Streams the generation: the first chunk must arrive within firstTokenTimeoutSeconds (the
+     * streaming transport's read timeout), the whole generation must finish within
+     * generationTimeoutSeconds, and a JSON request is cut off as soon as its object is complete.
+     *
+     * @return the generated text, or null when the overall timeout hit first
+     */
+    private String stream(String url, Map<String, Object> body, boolean json) throws IOException {
+        body.put("stream", true);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(config.getStreaming().getGenerationTimeoutSeconds());
+
+        OllamaStreamReader.Result result = streamingRestTemplate.execute(url, HttpMethod.POST,
+                request -> {
+                    request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    objectMapper.writeValue(request.getBody(), body);
+                },
+                response -> {
+                    InputStream in = response.getBody();
+                    OllamaStreamReader.Result read = streamReader.read(in, json, start, deadline);
+                    if (read.stopReason() == OllamaStreamReader.StopReason.JSON_COMPLETE
+                            || read.stopReason() == OllamaStreamReader.StopReason.TIMEOUT) {
+                        abort(in);
+                    }
+                    return read;
+                });
+        if (result == null) return null;
+
+        meterRegistry.counter("signals.ai.generation.stops", "reason", result.stopReason().name().toLowerCase()).increment();
+        if (result.firstTokenNanos() >= 0) {
+            timeToFirstToken.record(result.firstTokenNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (result.tokens() > 1 && result.streamNanos() > 0) {
+            tokensPerSecond.record((result.tokens() - 1) * 1e9 / result.streamNanos());
+        }
+
+        if (result.stopReason() == OllamaStreamReader.StopReason.TIMEOUT) {
+            log.warn("Ollama generation exceeded {}s after {} token(s), discarding partial output",
+                    config.getStreaming().getGenerationTimeoutSeconds(), result.tokens());
+            return null;
+        }
+        return result.text();
+    }
+
+    /**
+     * Drops the connection instead of closing the body normally: a normal close reads the rest of
+     * the stream, which would wait for the generation we are cutting off. Ollama stops generating
+     * when the client disconnects.
+     */
+    private static void abort(InputStream body) {
+        if (body instanceof EofSensorInputStream eofSensor) {
+            try {
+                eofSensor.abort();
+            } catch (IOException e) {
+                log.debug("Failed to abort Ollama stream: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** True when at least one endpoint answers a health probe. */
     public boolean isAvailable() {
-        try {
-            String url = config.getUrl() + "/api/tags";
-            restTemplate.getForEntity(url, Map.class);
-            return true;
-        } catch (Exception e) {
-            return false;
+        probeEndpoints();
+        return endpointPool.capacity() > 0;
+    }
+
+    /**
+     * False while every endpoint is down or has its circuit open. Calls would fail straight away,
+     * so callers skip building prompts and use their fallback. Unlike {@link #isAvailable()}, this
+     * sends no request.
+     */
+    public boolean hasUsableEndpoint() {
+        return endpointPool.capacity() > 0;
+    }
+
+    /**
+     * Ollama calls that can usefully run at once on the endpoints that are up — the parallelism
+     * callers should use. Never below 1, so work still drains (to template fallbacks) with all down.
+     */
+    public int parallelism() {
+        return Math.max(1, endpointPool.capacity());
+    }
+
+    @Scheduled(fixedDelayString = "${ai.ollama.pool.health-check-interval-ms:15000}")
+    public void probeEndpoints() {
+        for (OllamaEndpointPool.Endpoint endpoint : endpointPool.endpoints()) {
+            boolean up;
+            try {
+                restTemplate.getForEntity(endpoint.url + "/api/tags", Map.class);
+                up = true;
+            } catch (Exception e) {
+                up = false;
+            }
+            endpointPool.recordProbe(endpoint, up);
         }
     }
 }
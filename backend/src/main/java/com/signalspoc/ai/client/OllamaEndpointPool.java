@@ -0,0 +1,118 @@
+package com.signalspoc.ai.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * The Ollama hosts a client spreads its calls over.
+ *
+ * {@link #acquire} routes to the usable endpoint with the fewest outstanding requests, never past
+ * maxConcurrent per endpoint, and waits for a slot when all are busy. An endpoint is usable while its
+ * last health probe succeeded and its circuit is closed: failureThreshold consecutive failed calls
+ * open the circuit for openMillis, after which a single failure re-opens it until a call or probe
+ * succeeds again.
+ */
+@Slf4j
+class OllamaEndpointPool {
+
+    static final class Endpoint {
+        final String url;
+        int inFlight;
+        int consecutiveFailures;
+        long openUntilMillis;
+        boolean healthy = true;
+
+        Endpoint(String url) {
+            this.url = url;
+        }
+    }
+
+    private final List<Endpoint> endpoints;
+    private final int maxConcurrent;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    OllamaEndpointPool(List<String> urls, int maxConcurrent, int failureThreshold, long openMillis, LongSupplier clock) {
+        this.endpoints = urls.stream().map(Endpoint::new).toList();
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Reserves a slot on the least-loaded usable endpoint not in {@code exclude}.
+     *
+     * @return the endpoint, to be passed to {@link #release}; null when no endpoint outside
+     *         {@code exclude} is usable, or none had a free slot within {@code timeoutMillis}
+     */
+    synchronized Endpoint acquire(Set<Endpoint> exclude, long timeoutMillis) throws InterruptedException {
+        long deadline = clock.getAsLong() + timeoutMillis;
+        while (true) {
+            Endpoint best = null;
+            boolean anyUsable = false;
+            for (Endpoint endpoint : endpoints) {
+                if (exclude.contains(endpoint) || !isUsable(endpoint)) continue;
+                anyUsable = true;
+                if (endpoint.inFlight < maxConcurrent && (best == null || endpoint.inFlight < best.inFlight)) {
+                    best = endpoint;
+                }
+            }
+            if (best != null) {
+                best.inFlight++;
+                return best;
+            }
+
+            long remaining = deadline - clock.getAsLong();
+            if (!anyUsable || remaining <= 0) return null;
+            wait(remaining);
+        }
+    }
+
+    synchronized void release(Endpoint endpoint, boolean success) {
+        endpoint.inFlight--;
+        if (success) {
+            close(endpoint);
+        } else if (++endpoint.consecutiveFailures >= failureThreshold) {
+            endpoint.openUntilMillis = clock.getAsLong() + openMillis;
+            log.warn("Ollama endpoint {} failed {} time(s) in a row, no traffic for {}ms",
+                    endpoint.url, endpoint.consecutiveFailures, openMillis);
+        }
+        notifyAll();
+    }
+
+    synchronized void recordProbe(Endpoint endpoint, boolean up) {
+        if (up != endpoint.healthy) {
+            log.info("Ollama endpoint {} is {}", endpoint.url, up ? "up" : "down");
+        }
+        endpoint.healthy = up;
+        if (up) close(endpoint);
+        notifyAll();
+    }
+
+    /** Slots across usable endpoints — how many calls can usefully run at once right now. */
+    synchronized int capacity() {
+        int usable = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (isUsable(endpoint)) usable++;
+        }
+        return usable * maxConcurrent;
+    }
+
+    private boolean isUsable(Endpoint endpoint) {
+        return endpoint.healthy && clock.getAsLong() >= endpoint.openUntilMillis;
+    }
+
+    private static void close(Endpoint endpoint) {
+        endpoint.consecutiveFailures = 0;
+        endpoint.openUntilMillis = 0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.signalspoc.ai.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongSupplier;
+
+/**
+ * Consumes Ollama's NDJSON generation stream — one {@code {"response": "<token>", "done": false}}
+ * object per line — and accumulates the generated text.
+ *
+ * Reading stops at the final {@code "done": true} chunk, at the overall deadline, or, when
+ * {@code stopAtJson} is set, as soon as the text holds one complete top-level JSON value: anything
+ * the model produces after that is discarded by the caller anyway.
+ */
+class OllamaStreamReader {
+
+    enum StopReason { DONE, JSON_COMPLETE, TIMEOUT, EOF }
+
+    /**
+     * @param firstTokenNanos time from request start to the first non-empty token, or -1 if none arrived
+     * @param streamNanos     time from the first token to the last one read
+     */
+    record Result(String text, StopReason stopReason, int tokens, long firstTokenNanos, long streamNanos) {}
+
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+
+    OllamaStreamReader(ObjectMapper objectMapper, LongSupplier nanoClock) {
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+    }
+
+    Result read(InputStream body, boolean stopAtJson, long startNanos, long deadlineNanos) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        StringBuilder text = new StringBuilder();
+        JsonCompletion completion = new JsonCompletion();
+        int tokens = 0;
+        long firstTokenAt = -1;
+        long lastTokenAt = -1;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            JsonNode chunk = objectMapper.readTree(line);
+            if (chunk.hasNonNull("error")) {
+                throw new IOException("Ollama stream error: " + chunk.get("error").asText());
+            }
+
+            String token = chunk.path("response").asText("");
+            long now = nanoClock.getAsLong();
+            if (!token.isEmpty()) {
+                tokens++;
+                if (firstTokenAt < 0) firstTokenAt = now;
+                lastTokenAt = now;
+                text.append(token);
+            }
+
+            StopReason stop = null;
+            if (stopAtJson && completion.feed(token)) stop = StopReason.JSON_COMPLETE;
+            else if (chunk.path("done").asBoolean(false)) stop = StopReason.DONE;
+            else if (now - deadlineNanos >= 0) stop = StopReason.TIMEOUT;
+
+            if (stop != null) return result(text, stop, tokens, startNanos, firstTokenAt, lastTokenAt);
+        }
+        return result(text, StopReason.EOF, tokens, startNanos, firstTokenAt, lastTokenAt);
+    }
+
+    private static Result result(StringBuilder text, StopReason stop, int tokens,
+                                 long startNanos, long firstTokenAt, long lastTokenAt) {
+        return new Result(text.toString(), stop, tokens,
+                firstTokenAt < 0 ? -1 : firstTokenAt - startNanos,
+                firstTokenAt < 0 ? 0 : lastTokenAt - firstTokenAt);
+    }
+
+    /**
+     * Tracks bracket depth over streamed text, skipping brackets inside strings, to tell when the
+     * first top-level object or array has closed. Tokens split strings and escapes at arbitrary
+     * points, so all state carries over between calls.
+     */
+    static final class JsonCompletion {
+        private int depth;
+        private boolean started;
+        private boolean inString;
+        private boolean escaped;
+
+        boolean feed(String token) {
+            for (int i = 0; i < token.length(); i++) {
+                char c = token.charAt(i);
+                if (inString) {
+                    if (escaped) escaped = false;
+                    else if (c == '\\') escaped = true;
+                    else if (c == '"') inString = false;
+                    continue;
+                }
+                switch (c) {
+                    case '"' -> inString = true;
+                    case '{', '[' -> {
+                        depth++;
+                        started = true;
+                    }
+                    case '}', ']' -> {
+                        depth--;
+                        if (started && depth == 0) return true;
+                    }
+                    default -> { }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "ai.ollama")
 @Data
@@ -11,11 +14,74 @@ public class AiConfig {
 
     private boolean enabled = false;
     private String url = "http://localhost:11434";
+    // Several Ollama hosts to balance across; when empty, url is the only endpoint
+    private List<String> urls = new ArrayList<>();
     private String model = "llama3";
     private int timeoutSeconds = 30;
     private int maxTokens = 500;
+    // Ollama is local and unmetered: no client-side rate limit, but retry when it is overloaded
+    private int requestsPerMinute = 0;
+    private int retryAttempts = 2;
 
     // Semantic batch analysis config
     private int analysisMaxTokens = 1500;
     private int analysisBatchSize = 5;
+
+    private EnrichmentQueueConfig enrichmentQueue = new EnrichmentQueueConfig();
+    private ResponseCacheConfig responseCache = new ResponseCacheConfig();
+    private StreamingConfig streaming = new StreamingConfig();
+    private PoolConfig pool = new PoolConfig();
+
+    public List<String> endpointUrls() {
+        return urls.isEmpty() ? List.of(url) : urls;
+    }
+
+    /** Most Ollama calls that can run at once, with every endpoint healthy. */
+    public int maxParallelism() {
+        return endpointUrls().size() * Math.max(1, pool.getMaxConcurrentPerEndpoint());
+    }
+
+    @Data
+    public static class EnrichmentQueueConfig {
+        // A claimed item is hidden from other workers this long; must outlast a batch's Ollama call with retries
+        private int leaseSeconds = 300;
+        private int maxAttempts = 5;
+        // Failed items wait attempts * retryBackoffSeconds before the next try
+        private int retryBackoffSeconds = 60;
+        // Up to batchSize alerts share one prompt; a partial batch waits batchWindowMs once for more
+        private int batchSize = 5;
+        private long batchWindowMs = 500;
+        // A drain stops after this many claim rounds and picks up the rest on its next run
+        private int maxRoundsPerDrain = 20;
+    }
+
+    @Data
+    public static class ResponseCacheConfig {
+        private boolean enabled = true;
+        private int maxEntries = 500;
+        private int ttlMinutes = 60;
+        // JSON file the cache is loaded from at startup and written to on shutdown; unset keeps it in memory
+        private String persistPath;
+    }
+
+    @Data
+    public static class StreamingConfig {
+        private boolean enabled = true;
+        // Longest wait for the first token (prompt evaluation) and between later tokens
+        private int firstTokenTimeoutSeconds = 60;
+        // Whole generation; partial output is discarded when it is exceeded
+        private int generationTimeoutSeconds = 120;
+    }
+
+    @Data
+    public static class PoolConfig {
+        // One generation at a time saturates a CPU inference box; raise for GPU hosts with OLLAMA_NUM_PARALLEL
+        private int maxConcurrentPerEndpoint = 1;
+        // Consecutive failed calls that open an endpoint's circuit, and how long it then gets no traffic
+        private int failureThreshold = 3;
+        private int openSeconds = 30;
+        // Longest wait for a free endpoint slot before the call fails
+        private int acquireTimeoutSeconds = 60;
+        private long healthCheckIntervalMs = 15000;
+    }
 }
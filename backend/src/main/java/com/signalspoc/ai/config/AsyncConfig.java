@@ -2,6 +2,7 @@ package com.signalspoc.ai.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
@@ -10,34 +11,21 @@ import java.util.concurrent.Executor;
 @Configuration
 public class AsyncConfig {
 
+    // Both AI executors get a thread per endpoint slot; callers submit only as many tasks
+    // as OllamaClient.parallelism() reports for the endpoints that are currently up
     @Bean(name = "aiAnalysisExecutor")
-    public Executor aiAnalysisExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(4);
-        executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("ai-analysis-");
-        executor.initialize();
-        return executor;
+    public Executor aiAnalysisExecutor(AiConfig aiConfig) {
+        return aiExecutor("ai-analysis-", aiConfig.maxParallelism());
     }
 
-    /**
-     * Dedicated executor for AiEnrichmentWorker.
-     * Single core thread keeps Ollama calls sequential (it's one model, one GPU).
-     * Queue of 100 absorbs bursts without blocking the detection loop.
-     */
     @Bean(name = "aiEnrichmentExecutor")
-    public Executor aiEnrichmentExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(1);
-        executor.setMaxPoolSize(2);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("ai-enrich-");
-        executor.initialize();
-        return executor;
+    public Executor aiEnrichmentExecutor(AiConfig aiConfig) {
+        return aiExecutor("ai-enrichment-", aiConfig.maxParallelism());
     }
 
+    // Default scheduler for @Scheduled jobs; long-running jobs name their own scheduler
     @Bean(name = "aiTaskScheduler")
+    @Primary
     public ThreadPoolTaskScheduler aiTaskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(2);
@@ -45,4 +33,24 @@ public class AsyncConfig {
         scheduler.initialize();
         return scheduler;
     }
+
+    // Runs only AiEnrichmentWorker.drain, which waits on Ollama calls; keeps it off aiTaskScheduler
+    @Bean(name = "aiEnrichmentScheduler")
+    public ThreadPoolTaskScheduler aiEnrichmentScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("ai-enrichment-scheduler-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    private static Executor aiExecutor(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(25);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,32 @@
+package com.signalspoc.ai.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one combined enrichment generation: the human-readable suggestion and the
+ * recommended action. A null suggestion means the model gave none and the UI shows its own text.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AiEnrichment {
+
+    // Set in batch replies, where one response carries several alerts
+    private Long alertId;
+    private String suggestion;
+    private AiActionRecommendation action;
+
+    // True when both halves came from the model rather than the template fallback; only those are cached
+    private boolean fromModel;
+
+    // The model was reachable but gave no usable answer for this alert (skipped it, or its entry was
+    // unreadable or rejected). The action is the template one; the queue retries the alert rather than
+    // parking it, since parked alerts only come back when Ollama does.
+    private boolean unanswered;
+}
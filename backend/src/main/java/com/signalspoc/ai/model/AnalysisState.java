@@ -13,8 +13,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class AnalysisState {
 
+    // Sequence ids (allocated in blocks, see V8 migration) so bulk inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analysis_state_id_seq")
+    @SequenceGenerator(name = "analysis_state_id_seq", sequenceName = "analysis_state_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "entity_type", nullable = false, length = 50)
@@ -26,8 +28,12 @@ public class AnalysisState {
     @Column(name = "source_system", length = 50)
     private String sourceSystem;
 
-    @Column(name = "content_checksum", length = 64)
-    private String contentChecksum;
+    // The two halves of the ContentFingerprint the pair was last analyzed at
+    @Column(name = "content_hash_high")
+    private Long contentHashHigh;
+
+    @Column(name = "content_hash_low")
+    private Long contentHashLow;
 
     @Column(name = "last_analyzed_at")
     private LocalDateTime lastAnalyzedAt;
@@ -0,0 +1,73 @@
+package com.signalspoc.ai.model;
+
+import com.signalspoc.domain.entity.SyncAlert;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One alert waiting for its AI suggestion. The PR is kept as JSON and the task as an ID so the
+ * prompt context survives a restart. A claimed item's availableAt is pushed out by the lease, so an
+ * instance that dies mid-call releases its work when the lease runs out.
+ */
+@Entity
+@Table(name = "ai_enrichment_queue")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrichmentQueueItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "alert_id", nullable = false, unique = true)
+    private Long alertId;
+
+    // 0 = CRITICAL, 1 = WARNING, 2 = INFO; claimed lowest first
+    @Column(nullable = false)
+    private Integer priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alert_type", nullable = false, length = 50)
+    private SyncAlert.AlertType alertType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SyncAlert.AlertSeverity severity;
+
+    @Column(name = "pr_payload", columnDefinition = "TEXT")
+    private String prPayload;
+
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // Enriched from the template while the model was unavailable; kept, unclaimable, until it is back
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean parked = false;
+
+    public static int priorityOf(SyncAlert.AlertSeverity severity) {
+        if (severity == null) return 2;
+        return switch (severity) {
+            case CRITICAL -> 0;
+            case WARNING -> 1;
+            case INFO -> 2;
+        };
+    }
+}
@@ -4,10 +4,11 @@ import com.signalspoc.ai.model.AnalysisState;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface AnalysisStateRepository extends JpaRepository<AnalysisState, Long> {
 
-    Optional<AnalysisState> findByEntityTypeAndEntityId(String entityType, String entityId);
+    List<AnalysisState> findByEntityTypeAndEntityIdIn(String entityType, Collection<String> entityIds);
 }
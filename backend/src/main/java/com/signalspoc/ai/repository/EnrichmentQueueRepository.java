@@ -0,0 +1,31 @@
+package com.signalspoc.ai.repository;
+
+import com.signalspoc.ai.model.EnrichmentQueueItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EnrichmentQueueRepository extends JpaRepository<EnrichmentQueueItem, Long> {
+
+    boolean existsByAlertId(Long alertId);
+
+    // Rows locked by another instance's claim are skipped rather than waited on
+    @Query(value = "SELECT * FROM ai_enrichment_queue WHERE available_at <= :now AND parked = false " +
+            "ORDER BY priority, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EnrichmentQueueItem> lockAvailable(LocalDateTime now, int limit);
+
+    @Modifying
+    @Query("DELETE FROM EnrichmentQueueItem q WHERE q.parked = true " +
+            "AND q.alertId IN (SELECT a.id FROM SyncAlert a WHERE a.isResolved = true)")
+    int deleteParkedOfResolvedAlerts();
+
+    @Modifying
+    @Query("UPDATE EnrichmentQueueItem q SET q.parked = false, q.attempts = 0, q.lastError = null, " +
+            "q.availableAt = :now WHERE q.parked = true")
+    int releaseParked(LocalDateTime now);
+}
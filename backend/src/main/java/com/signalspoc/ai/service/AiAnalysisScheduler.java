@@ -12,20 +12,24 @@ import com.signalspoc.ai.util.AnalysisChecksumUtil;
 import com.signalspoc.domain.entity.SyncAlert;
 import com.signalspoc.domain.entity.Task;
 import com.signalspoc.domain.repository.SyncAlertRepository;
-import com.signalspoc.domain.repository.TaskRepository;
+import com.signalspoc.domain.service.LinkedIssueExtractor;
 import com.signalspoc.domain.service.SyncAlertService;
+import com.signalspoc.domain.service.TaskIdentifierIndex;
 import com.signalspoc.connector.github.GitHubApiClient;
 import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import com.signalspoc.shared.hash.ContentFingerprint;
 import com.signalspoc.shared.model.Enums.ConnectorType;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Runs every 30 minutes (configurable via ai.ollama.reconciliation-interval-ms).
@@ -38,19 +42,49 @@ import java.util.*;
  */
 @Service
 @ConditionalOnProperty(name = "ai.ollama.enabled", havingValue = "true")
-@RequiredArgsConstructor
 @Slf4j
 public class AiAnalysisScheduler {
 
+    private static final String PR_TASK_PAIR = "PR_TASK_PAIR";
+
     private final OllamaClient ollamaClient;
     private final AiConfig aiConfig;
     private final GitHubApiClient gitHubApiClient;
-    private final TaskRepository taskRepository;
+    private final TaskIdentifierIndex identifierIndex;
+    private final LinkedIssueExtractor linkedIssueExtractor;
     private final SyncAlertService alertService;
     private final SyncAlertRepository alertRepository;
     private final AnalysisStateRepository analysisStateRepository;
+    private final AnalysisStateService analysisStateService;
     private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
+    private final Executor aiAnalysisExecutor;
+
+    public AiAnalysisScheduler(OllamaClient ollamaClient,
+                               AiConfig aiConfig,
+                               GitHubApiClient gitHubApiClient,
+                               TaskIdentifierIndex identifierIndex,
+                               LinkedIssueExtractor linkedIssueExtractor,
+                               SyncAlertService alertService,
+                               SyncAlertRepository alertRepository,
+                               AnalysisStateRepository analysisStateRepository,
+                               AnalysisStateService analysisStateService,
+                               ApplicationEventPublisher eventPublisher,
+                               ObjectMapper objectMapper,
+                               @Qualifier("aiAnalysisExecutor") Executor aiAnalysisExecutor) {
+        this.ollamaClient = ollamaClient;
+        this.aiConfig = aiConfig;
+        this.gitHubApiClient = gitHubApiClient;
+        this.identifierIndex = identifierIndex;
+        this.linkedIssueExtractor = linkedIssueExtractor;
+        this.alertService = alertService;
+        this.alertRepository = alertRepository;
+        this.analysisStateRepository = analysisStateRepository;
+        this.analysisStateService = analysisStateService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.aiAnalysisExecutor = aiAnalysisExecutor;
+    }
 
     @Scheduled(fixedDelayString = "${ai.ollama.reconciliation-interval-ms:1800000}", initialDelay = 120000)
     public void runReconciliationAndAnalysis() {
@@ -80,6 +114,12 @@ public class AiAnalysisScheduler {
     // ── Part 2: Semantic batch analysis ───────────────────────────────────────
 
     private void runSemanticBatchAnalysis() {
+        // Otherwise every changed pair would be recorded as analyzed without a model ever seeing it
+        if (!ollamaClient.hasUsableEndpoint()) {
+            log.info("Semantic analysis skipped: no usable Ollama endpoint");
+            return;
+        }
+
         List<GitHubPullRequestDto> openPRs = gitHubApiClient.getAllOpenPullRequests();
         List<PrTaskPair> changedPairs = detectChangedPairs(openPRs);
 
@@ -90,26 +130,50 @@ public class AiAnalysisScheduler {
 
         log.info("Semantic analysis: {} changed pair(s)", changedPairs.size());
         int batchSize = aiConfig.getAnalysisBatchSize();
+        List<List<PrTaskPair>> batches = new ArrayList<>();
         for (int i = 0; i < changedPairs.size(); i += batchSize) {
-            analyzeBatch(changedPairs.subList(i, Math.min(i + batchSize, changedPairs.size())));
+            batches.add(changedPairs.subList(i, Math.min(i + batchSize, changedPairs.size())));
         }
+
+        // One wave of batches per round, as wide as the Ollama endpoints that are up right now
+        for (int next = 0; next < batches.size(); ) {
+            int wave = Math.min(ollamaClient.parallelism(), batches.size() - next);
+            CompletableFuture.allOf(batches.subList(next, next + wave).stream()
+                    .map(batch -> CompletableFuture.runAsync(() -> analyzeBatch(batch), aiAnalysisExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+            next += wave;
+        }
+        saveAnalysisStates(changedPairs);
     }
 
+    /**
+     * Pairs whose checksum differs from the stored one, or that have none. The stored checksums of
+     * every candidate are loaded with one query, and a pair reached through two linked IDs counts once.
+     */
     private List<PrTaskPair> detectChangedPairs(List<GitHubPullRequestDto> openPRs) {
-        List<PrTaskPair> changed = new ArrayList<>();
+        Map<String, PrTaskPair> candidates = new LinkedHashMap<>();
         for (GitHubPullRequestDto pr : openPRs) {
-            for (String id : gitHubApiClient.extractLinkedIssues(pr)) {
-                for (Task task : findTasksByIdentifier(id)) {
+            for (String id : linkedIssueExtractor.extract(pr)) {
+                for (Task task : identifierIndex.findTasks(id)) {
                     String entityId = AnalysisChecksumUtil.buildEntityId(pr, task);
-                    String checksum = AnalysisChecksumUtil.computeChecksum(pr, task);
-                    Optional<AnalysisState> existing = analysisStateRepository
-                            .findByEntityTypeAndEntityId("PR_TASK_PAIR", entityId);
-                    if (existing.isEmpty() || !checksum.equals(existing.get().getContentChecksum())) {
-                        changed.add(new PrTaskPair(pr, task, entityId, checksum));
-                    }
+                    candidates.computeIfAbsent(entityId, key ->
+                            new PrTaskPair(pr, task, key, AnalysisChecksumUtil.computeChecksum(pr, task)));
                 }
             }
         }
+        if (candidates.isEmpty()) return List.of();
+
+        Map<String, AnalysisState> states = new HashMap<>();
+        analysisStateRepository.findByEntityTypeAndEntityIdIn(PR_TASK_PAIR, candidates.keySet())
+                .forEach(state -> states.put(state.getEntityId(), state));
+
+        List<PrTaskPair> changed = new ArrayList<>();
+        for (PrTaskPair pair : candidates.values()) {
+            AnalysisState state = states.get(pair.entityId);
+            if (state == null || !pair.checksum.matches(state.getContentHashHigh(), state.getContentHashLow())) {
+                changed.add(pair);
+            }
+        }
         return changed;
     }
 
@@ -123,7 +187,6 @@ public class AiAnalysisScheduler {
         } catch (Exception e) {
             log.warn("Semantic batch analysis failed: {}", e.getMessage());
         }
-        batch.forEach(this::updateAnalysisState);
     }
 
     private String buildBatchAnalysisPrompt(List<PrTaskPair> batch) {
@@ -210,27 +273,21 @@ public class AiAnalysisScheduler {
         }
     }
 
-    private void updateAnalysisState(PrTaskPair pair) {
-        Optional<AnalysisState> existing = analysisStateRepository
-                .findByEntityTypeAndEntityId("PR_TASK_PAIR", pair.entityId);
-        AnalysisState state = existing.orElseGet(() -> {
-            AnalysisState s = new AnalysisState();
-            s.setEntityType("PR_TASK_PAIR");
-            s.setEntityId(pair.entityId);
-            s.setSourceSystem(pair.task.getSourceSystem().name());
-            return s;
-        });
-        state.setContentChecksum(pair.checksum);
-        state.setLastAnalyzedAt(LocalDateTime.now());
-        analysisStateRepository.save(state);
-    }
-
-    private List<Task> findTasksByIdentifier(String identifier) {
-        List<Task> tasks = new ArrayList<>(taskRepository.findByTitleContaining(identifier));
-        taskRepository.findByExternalId(identifier).ifPresent(t -> {
-            if (tasks.stream().noneMatch(existing -> existing.getId().equals(t.getId()))) tasks.add(t);
-        });
-        return tasks;
+    /**
+     * Records the analyzed checksums in one transaction: one SELECT for the stored rows, then
+     * JDBC-batched UPDATEs and INSERTs (ids are block-allocated).
+     */
+    private void saveAnalysisStates(List<PrTaskPair> analyzed) {
+        List<AnalysisStateService.AnalyzedEntity> entities = analyzed.stream()
+                .map(pair -> new AnalysisStateService.AnalyzedEntity(
+                        pair.entityId, pair.task.getSourceSystem().name(), pair.checksum))
+                .toList();
+        try {
+            analysisStateService.recordAnalyzed(PR_TASK_PAIR, entities);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance recorded one of these pairs first; they are re-checked next run
+            log.warn("Failed to record semantic analysis state for {} pair(s): {}", entities.size(), e.getMessage());
+        }
     }
 
     private SyncAlert.AlertType parseAlertType(String type) {
@@ -243,5 +300,5 @@ public class AiAnalysisScheduler {
         catch (IllegalArgumentException e) { return SyncAlert.AlertSeverity.INFO; }
     }
 
-    private record PrTaskPair(GitHubPullRequestDto pr, Task task, String entityId, String checksum) {}
+    private record PrTaskPair(GitHubPullRequestDto pr, Task task, String entityId, ContentFingerprint checksum) {}
 }
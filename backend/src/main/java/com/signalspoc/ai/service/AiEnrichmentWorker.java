@@ -2,53 +2,214 @@ package com.signalspoc.ai.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.ai.client.OllamaClient;
+import com.signalspoc.ai.config.AiConfig;
 import com.signalspoc.ai.event.AlertEnrichmentEvent;
 import com.signalspoc.ai.model.AiActionRecommendation;
-import com.signalspoc.domain.repository.SyncAlertRepository;
-import lombok.RequiredArgsConstructor;
+import com.signalspoc.ai.model.AiEnrichment;
+import com.signalspoc.ai.model.EnrichmentQueueItem;
+import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import com.signalspoc.domain.entity.Task;
+import com.signalspoc.domain.repository.TaskRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
- * Asynchronous AI enrichment worker.
+ * AI enrichment worker.
+ *
+ * AlertEnrichmentEvent (fired after a new alert is saved) only writes the alert to the durable
+ * EnrichmentQueueService, so a burst never drops work and the detection loop is not held up.
+ * A scheduled drain then claims alerts CRITICAL first and micro-batches them: up to batchSize
+ * alerts, waiting at most batchWindowMs for a partial batch to fill, go into one Ollama prompt
+ * whose reply is fanned back out per alert. Each round claims enough for every free Ollama endpoint
+ * slot (OllamaClient.parallelism()) and runs those batches side by side; each round re-reads the
+ * queue, so a CRITICAL alert that arrives mid-drain goes next. The drain runs on its own
+ * aiEnrichmentScheduler and stops after maxRoundsPerDrain rounds, so an alert storm holds no
+ * shared scheduler thread.
  *
- * Listens for AlertEnrichmentEvent (fired after a new alert is saved) and
- * enriches the alert with an Ollama-generated suggestion + action recommendation.
- * Runs on a dedicated thread pool so it never blocks the detection loop.
+ * Alerts that got the template fallback because no Ollama endpoint was usable keep their queue
+ * item, parked; the first drain that finds an endpoint usable again releases them for a model
+ * enrichment. Alerts the model was asked about but left unanswered are failed instead, so they are
+ * retried with backoff up to maxAttempts while Ollama stays healthy.
  */
 @Component
 @ConditionalOnProperty(name = "ai.ollama.enabled", havingValue = "true")
-@RequiredArgsConstructor
 @Slf4j
 public class AiEnrichmentWorker {
 
     private final AiSuggestionService aiSuggestionService;
-    private final SyncAlertRepository alertRepository;
+    private final EnrichmentQueueService queueService;
+    private final TaskRepository taskRepository;
+    private final OllamaClient ollamaClient;
+    private final AiConfig aiConfig;
     private final ObjectMapper objectMapper;
+    private final Executor aiEnrichmentExecutor;
+
+    // Only touched by the scheduled drain
+    private boolean modelWasUp;
+    // Set by batches that parked an item; Ollama can go down and come back between two drains
+    private final AtomicBoolean parkedSinceRelease = new AtomicBoolean();
+
+    public AiEnrichmentWorker(AiSuggestionService aiSuggestionService,
+                              EnrichmentQueueService queueService,
+                              TaskRepository taskRepository,
+                              OllamaClient ollamaClient,
+                              AiConfig aiConfig,
+                              ObjectMapper objectMapper,
+                              @Qualifier("aiEnrichmentExecutor") Executor aiEnrichmentExecutor) {
+        this.aiSuggestionService = aiSuggestionService;
+        this.queueService = queueService;
+        this.taskRepository = taskRepository;
+        this.ollamaClient = ollamaClient;
+        this.aiConfig = aiConfig;
+        this.objectMapper = objectMapper;
+        this.aiEnrichmentExecutor = aiEnrichmentExecutor;
+    }
 
     @EventListener
-    @Async("aiEnrichmentExecutor")
     public void onAlertCreated(AlertEnrichmentEvent event) {
-        log.debug("Enriching alert {} with AI suggestion", event.alertId());
+        queueService.enqueue(event);
+    }
+
+    @Scheduled(fixedDelayString = "${ai.ollama.enrichment-queue.poll-interval-ms:1000}", initialDelay = 15000,
+               scheduler = "aiEnrichmentScheduler")
+    public void drain() {
+        // Ollama just became usable (or this instance just started), or items were parked during an
+        // outage shorter than the poll interval: re-enrich template results
+        boolean modelUp = ollamaClient.hasUsableEndpoint();
+        boolean parkedMeanwhile = parkedSinceRelease.getAndSet(false);
+        if (modelUp && (!modelWasUp || parkedMeanwhile)) {
+            int released = queueService.releaseParked();
+            if (released > 0) log.info("Ollama is available, re-enriching {} template-enriched alert(s)", released);
+        }
+        modelWasUp = modelUp;
+
+        int maxRounds = Math.max(1, aiConfig.getEnrichmentQueue().getMaxRoundsPerDrain());
+        for (int round = 0; round < maxRounds; round++) {
+            List<List<EnrichmentQueueItem>> batches = claimBatches(ollamaClient.parallelism());
+            if (batches.isEmpty()) return;
+            if (batches.size() == 1) {
+                enrichBatch(batches.get(0));
+                continue;
+            }
+            CompletableFuture.allOf(batches.stream()
+                    .map(batch -> CompletableFuture.runAsync(() -> enrichBatch(batch), aiEnrichmentExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+        }
+    }
+
+    /**
+     * Claims up to parallelism full batches and splits what arrived evenly over at most parallelism
+     * batches, so every free endpoint slot gets a share instead of one slot taking a full batch.
+     * An item on its second or later attempt gets a batch of its own: the model left it unanswered
+     * (or the call failed) last time, and a single-alert prompt is its best chance.
+     */
+    private List<List<EnrichmentQueueItem>> claimBatches(int parallelism) {
+        int batchSize = Math.max(1, aiConfig.getEnrichmentQueue().getBatchSize());
+        List<EnrichmentQueueItem> claimed = claim(batchSize * Math.max(1, parallelism));
+        if (claimed.isEmpty()) return List.of();
+
+        List<List<EnrichmentQueueItem>> batches = new ArrayList<>();
+        List<EnrichmentQueueItem> firstAttempts = new ArrayList<>();
+        for (EnrichmentQueueItem item : claimed) {
+            if (item.getAttempts() > 1) {
+                batches.add(List.of(item));
+            } else {
+                firstAttempts.add(item);
+            }
+        }
+        if (firstAttempts.isEmpty()) return batches;
+
+        int batchCount = Math.min(Math.max(1, parallelism), firstAttempts.size());
+        int perBatch = (firstAttempts.size() + batchCount - 1) / batchCount;
+        for (int i = 0; i < firstAttempts.size(); i += perBatch) {
+            batches.add(firstAttempts.subList(i, Math.min(i + perBatch, firstAttempts.size())));
+        }
+        return batches;
+    }
+
+    private List<EnrichmentQueueItem> claim(int limit) {
+        List<EnrichmentQueueItem> batch = new ArrayList<>(queueService.claim(limit));
+        long windowMs = aiConfig.getEnrichmentQueue().getBatchWindowMs();
+        if (!batch.isEmpty() && batch.size() < limit && windowMs > 0) {
+            try {
+                Thread.sleep(windowMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return batch;
+            }
+            batch.addAll(queueService.claim(limit - batch.size()));
+        }
+        return batch;
+    }
+
+    void enrichBatch(List<EnrichmentQueueItem> items) {
+        Map<Long, EnrichmentQueueItem> itemsByAlert = new LinkedHashMap<>();
+        List<AiSuggestionService.EnrichmentRequest> requests = new ArrayList<>();
+        for (EnrichmentQueueItem item : items) {
+            try {
+                requests.add(toRequest(item));
+                itemsByAlert.put(item.getAlertId(), item);
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to deserialize enrichment context for alert {}", item.getAlertId());
+                queueService.fail(item, e.getMessage());
+            }
+        }
+        if (requests.isEmpty()) return;
+
+        log.debug("Enriching {} alert(s) with AI suggestions", requests.size());
+        Map<Long, AiEnrichment> enrichments;
         try {
-            String suggestion = aiSuggestionService.generateAlertSuggestion(
-                    event.alertType(), event.severity(), event.pr(), event.task());
+            enrichments = aiSuggestionService.generateEnrichments(requests);
+        } catch (Exception e) {
+            log.warn("AI enrichment failed for {} alert(s): {}", requests.size(), e.getMessage());
+            itemsByAlert.values().forEach(item -> queueService.fail(item, e.getMessage()));
+            return;
+        }
 
-            AiActionRecommendation rec = aiSuggestionService.generateActionRecommendation(
-                    event.alertType(), event.severity(), event.pr(), event.task());
+        itemsByAlert.forEach((alertId, item) -> complete(item, enrichments.get(alertId)));
+    }
 
+    private void complete(EnrichmentQueueItem item, AiEnrichment enrichment) {
+        if (enrichment == null || enrichment.isUnanswered()) {
+            log.debug("Model gave no usable enrichment for alert {}, retrying later", item.getAlertId());
+            queueService.fail(item, "no usable model answer");
+            return;
+        }
+        try {
+            AiActionRecommendation rec = enrichment.getAction();
             String actionJson = objectMapper.writeValueAsString(rec);
-            alertRepository.updateAiEnrichment(event.alertId(), suggestion, actionJson);
-            log.info("Alert {} enriched — action: {} (confidence: {})",
-                    event.alertId(), rec.getActionType(), rec.getConfidence());
+            queueService.complete(item, enrichment.getSuggestion(), actionJson, !enrichment.isFromModel());
+            if (!enrichment.isFromModel()) parkedSinceRelease.set(true);
+            log.info("Alert {} enriched{} — action: {} (confidence: {})", item.getAlertId(),
+                    enrichment.isFromModel() ? "" : " from template", rec.getActionType(), rec.getConfidence());
 
         } catch (JsonProcessingException e) {
-            log.warn("Failed to serialize action recommendation for alert {}", event.alertId());
+            log.warn("Failed to serialize action recommendation for alert {}", item.getAlertId());
+            queueService.fail(item, e.getMessage());
         } catch (Exception e) {
-            log.warn("AI enrichment failed for alert {}: {}", event.alertId(), e.getMessage());
+            log.warn("AI enrichment failed for alert {}: {}", item.getAlertId(), e.getMessage());
+            queueService.fail(item, e.getMessage());
         }
     }
+
+    private AiSuggestionService.EnrichmentRequest toRequest(EnrichmentQueueItem item) throws JsonProcessingException {
+        GitHubPullRequestDto pr = item.getPrPayload() != null
+                ? objectMapper.readValue(item.getPrPayload(), GitHubPullRequestDto.class) : null;
+        Task task = item.getTaskId() != null
+                ? taskRepository.findWithAssigneeById(item.getTaskId()).orElse(null) : null;
+        return new AiSuggestionService.EnrichmentRequest(item.getAlertId(), item.getAlertType(), item.getSeverity(), pr, task);
+    }
 }
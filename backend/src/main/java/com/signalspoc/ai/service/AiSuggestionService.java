@@ -1,9 +1,11 @@
 package com.signalspoc.ai.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.signalspoc.ai.client.OllamaClient;
 import com.signalspoc.ai.config.AiConfig;
 import com.signalspoc.ai.model.AiActionRecommendation;
+import com.signalspoc.ai.model.AiEnrichment;
 import com.signalspoc.domain.entity.SyncAlert;
 import com.signalspoc.domain.entity.Task;
 import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
@@ -13,6 +15,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -21,70 +28,283 @@ import java.util.Map;
 @Slf4j
 public class AiSuggestionService {
 
+    private static final Map<String, Object> ACTION_SCHEMA = Map.of(
+            "type", "object",
+            // targetPlatform / targetEntityId may be absent for NO_ACTION and MANUAL_REVIEW
+            "required", List.of("actionType", "parameters", "reasoning", "confidence"),
+            "properties", Map.of(
+                    "actionType", Map.of("type", "string", "enum", names(AiActionRecommendation.ActionType.values())),
+                    "targetPlatform", Map.of("type", "string", "enum", names(ConnectorType.values())),
+                    "targetEntityId", Map.of("type", "string"),
+                    "parameters", Map.of("type", "object", "additionalProperties", Map.of("type", "string")),
+                    "reasoning", Map.of("type", "string"),
+                    "confidence", Map.of("type", "number", "minimum", 0, "maximum", 1)));
+
+    // JSON schemas passed as Ollama's "format", so decoding can only produce these shapes
+    static final Map<String, Object> ENRICHMENT_SCHEMA = Map.of(
+            "type", "object",
+            "required", List.of("suggestion", "action"),
+            "properties", Map.of(
+                    "suggestion", Map.of("type", "string"),
+                    "action", ACTION_SCHEMA));
+
+    static final Map<String, Object> BATCH_ENRICHMENT_SCHEMA = Map.of(
+            "type", "object",
+            "required", List.of("enrichments"),
+            "properties", Map.of(
+                    "enrichments", Map.of(
+                            "type", "array",
+                            "items", Map.of(
+                                    "type", "object",
+                                    "required", List.of("alertId", "suggestion", "action"),
+                                    "properties", Map.of(
+                                            "alertId", Map.of("type", "integer"),
+                                            "suggestion", Map.of("type", "string"),
+                                            "action", ACTION_SCHEMA)))));
+
+    // Few-shot example shared by the single and batch prompts
+    private static final String EXAMPLE_ENRICHMENT =
+            "{\"suggestion\":\"PR #12 is merged but Asana task 98765 is still In Progress. "
+            + "Mark the task Complete so the board reflects the shipped work.\","
+            + "\"action\":{\"actionType\":\"COMPLETE_TASK\",\"targetPlatform\":\"ASANA\",\"targetEntityId\":\"98765\","
+            + "\"parameters\":{},\"reasoning\":\"PR merged; marking linked Asana task complete.\",\"confidence\":0.95}}";
+
+    /** One alert of a batch, with the context its prompt section is built from. */
+    public record EnrichmentRequest(Long alertId,
+                                    SyncAlert.AlertType alertType,
+                                    SyncAlert.AlertSeverity severity,
+                                    GitHubPullRequestDto pr,
+                                    Task task) {}
+
     private final OllamaClient ollamaClient;
     private final AiConfig aiConfig;
     private final ObjectMapper objectMapper;
+    private final EnrichmentResponseCache responseCache;
 
     private boolean isProductModel() {
         return aiConfig.getModel().startsWith("signals-poc");
     }
 
-    public String generateAlertSuggestion(SyncAlert.AlertType alertType,
+    /**
+     * One Ollama call for both halves of an enrichment. The request is constrained to
+     * {@link #ENRICHMENT_SCHEMA} and the reply is validated again here; an unusable suggestion
+     * comes back as null and an unusable action is replaced by the template recommendation, and
+     * either marks the result unanswered. While no Ollama endpoint is usable, the call is skipped
+     * and the template used directly.
+     */
+    public AiEnrichment generateEnrichment(SyncAlert.AlertType alertType,
                                            SyncAlert.AlertSeverity severity,
                                            GitHubPullRequestDto pr,
                                            Task task) {
-        String prompt = buildPrompt(alertType, severity, pr, task);
+        EnrichmentRequest request = new EnrichmentRequest(null, alertType, severity, pr, task);
+        if (!ollamaClient.hasUsableEndpoint()) {
+            log.debug("No usable Ollama endpoint, using template fallback");
+            return template(request);
+        }
+
+        String prompt = buildEnrichmentPrompt(alertType, severity, pr, task);
+        AiEnrichment enrichment = null;
 
         try {
-            String aiResponse = ollamaClient.generateSuggestion(prompt);
-            if (aiResponse != null && !aiResponse.isBlank()) {
-                log.debug("AI generated suggestion for {} alert", alertType);
-                return aiResponse.strip();
+            String jsonResponse = ollamaClient.generateStructuredResponse(
+                    prompt, aiConfig.getAnalysisMaxTokens(), ENRICHMENT_SCHEMA);
+            if (jsonResponse != null && !jsonResponse.isBlank()) {
+                enrichment = objectMapper.readValue(jsonResponse, AiEnrichment.class);
             }
         } catch (Exception e) {
-            log.warn("AI suggestion generation failed, using template fallback", e);
+            log.warn("AI enrichment failed, using template fallback", e);
         }
 
-        // Fallback to template-based suggestion
-        return null;
+        return accept(enrichment, request);
+    }
+
+    /**
+     * Enriches several alerts, in request order and keyed by alert ID.
+     *
+     * Alerts are grouped by context fingerprint first: a group already in the
+     * {@link EnrichmentResponseCache} needs no model call, and of the remaining groups only the first
+     * alert is sent to the model — the answer is re-targeted at the rest of its group. During an alert
+     * storm (one stale-PR sweep, one bulk merge) that turns dozens of identical prompts into one.
+     */
+    public Map<Long, AiEnrichment> generateEnrichments(List<EnrichmentRequest> requests) {
+        Map<Long, AiEnrichment> resolved = new HashMap<>();
+        Map<String, List<EnrichmentRequest>> missesByKey = new LinkedHashMap<>();
+        for (EnrichmentRequest request : requests) {
+            String key = responseCache.isEnabled() ? responseCache.keyOf(request) : "alert:" + request.alertId();
+            AiEnrichment cached = missesByKey.containsKey(key) ? null : responseCache.get(key, request);
+            if (cached != null) {
+                resolved.put(request.alertId(), cached);
+            } else {
+                missesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(request);
+            }
+        }
+
+        if (!missesByKey.isEmpty()) {
+            Map<Long, AiEnrichment> generated = generateUncached(
+                    missesByKey.values().stream().map(group -> group.get(0)).toList());
+            missesByKey.forEach((key, group) -> {
+                EnrichmentRequest first = group.get(0);
+                AiEnrichment answer = generated.get(first.alertId());
+                resolved.put(first.alertId(), answer);
+                if (answer.isFromModel()) responseCache.put(key, first, answer);
+                for (EnrichmentRequest other : group.subList(1, group.size())) {
+                    resolved.put(other.alertId(), answer.isFromModel() ? responseCache.transfer(answer, first, other)
+                            : answer.isUnanswered() ? accept(null, other) : template(other));
+                }
+            });
+        }
+
+        Map<Long, AiEnrichment> results = new LinkedHashMap<>();
+        requests.forEach(request -> results.put(request.alertId(), resolved.get(request.alertId())));
+        return results;
     }
 
-    public AiActionRecommendation generateActionRecommendation(SyncAlert.AlertType alertType,
-                                                                SyncAlert.AlertSeverity severity,
-                                                                GitHubPullRequestDto pr,
-                                                                Task task) {
-        String prompt = buildActionPrompt(alertType, severity, pr, task);
+    /**
+     * Enriches several alerts with one Ollama call: every alert gets its own numbered section in a
+     * single prompt, so the system prompt and action reference are prefilled once, and the reply is
+     * an array keyed by alert ID. Each entry is validated on its own — an alert the model skipped
+     * or answered badly comes back unanswered, with the per-item fallback action, without affecting
+     * the rest of the batch; the worker fails its queue item so it is retried on its own.
+     */
+    private Map<Long, AiEnrichment> generateUncached(List<EnrichmentRequest> requests) {
+        if (requests.size() == 1) {
+            EnrichmentRequest only = requests.get(0);
+            return Map.of(only.alertId(), generateEnrichment(only.alertType(), only.severity(), only.pr(), only.task())
+                    .toBuilder().alertId(only.alertId()).build());
+        }
+        if (!ollamaClient.hasUsableEndpoint()) {
+            log.debug("No usable Ollama endpoint, using template fallback for {} alert(s)", requests.size());
+            Map<Long, AiEnrichment> fallbacks = new HashMap<>();
+            requests.forEach(request -> fallbacks.put(request.alertId(), template(request)));
+            return fallbacks;
+        }
 
+        Map<Long, AiEnrichment> generated = new HashMap<>();
         try {
-            String jsonResponse = ollamaClient.generateStructuredResponse(prompt, aiConfig.getAnalysisMaxTokens());
+            int maxTokens = Math.max(aiConfig.getAnalysisMaxTokens(), aiConfig.getMaxTokens() * requests.size());
+            String jsonResponse = ollamaClient.generateStructuredResponse(
+                    buildBatchEnrichmentPrompt(requests), maxTokens, BATCH_ENRICHMENT_SCHEMA);
             if (jsonResponse != null && !jsonResponse.isBlank()) {
-                AiActionRecommendation rec = objectMapper.readValue(jsonResponse, AiActionRecommendation.class);
-                log.debug("AI generated action recommendation: {} (confidence: {})", rec.getActionType(), rec.getConfidence());
-                return rec;
+                for (JsonNode node : objectMapper.readTree(jsonResponse).path("enrichments")) {
+                    try {
+                        AiEnrichment enrichment = objectMapper.treeToValue(node, AiEnrichment.class);
+                        if (enrichment.getAlertId() != null) generated.putIfAbsent(enrichment.getAlertId(), enrichment);
+                    } catch (Exception e) {
+                        log.warn("Skipping unreadable batch enrichment entry: {}", e.getMessage());
+                    }
+                }
             }
         } catch (Exception e) {
-            log.warn("AI action recommendation failed, using template fallback", e);
+            log.warn("AI batch enrichment failed, using template fallback", e);
+        }
+
+        Map<Long, AiEnrichment> results = new LinkedHashMap<>();
+        for (EnrichmentRequest request : requests) {
+            results.put(request.alertId(), accept(generated.get(request.alertId()), request));
         }
+        log.debug("Batch enrichment: {} of {} alert(s) answered by the model", generated.size(), requests.size());
+        return results;
+    }
+
+    private AiEnrichment accept(AiEnrichment enrichment, EnrichmentRequest request) {
+        String suggestion = enrichment != null && enrichment.getSuggestion() != null
+                && !enrichment.getSuggestion().isBlank() ? enrichment.getSuggestion().strip() : null;
+        AiActionRecommendation action = enrichment != null ? enrichment.getAction() : null;
+        String problem = validate(action);
+        if (problem != null) {
+            if (enrichment != null) log.warn("AI action recommendation rejected ({}), using template fallback", problem);
+            action = buildTemplateFallback(request.alertType(), request.severity(), request.pr(), request.task());
+        } else {
+            log.debug("AI generated action recommendation: {} (confidence: {})", action.getActionType(), action.getConfidence());
+        }
+
+        boolean fromModel = suggestion != null && problem == null;
+        return AiEnrichment.builder().alertId(request.alertId()).suggestion(suggestion).action(action)
+                .fromModel(fromModel).unanswered(!fromModel).build();
+    }
 
-        return buildTemplateFallback(alertType, severity, pr, task);
+    // The fallback for an alert the model was not asked about because no endpoint was usable
+    private AiEnrichment template(EnrichmentRequest request) {
+        return AiEnrichment.builder().alertId(request.alertId())
+                .action(buildTemplateFallback(request.alertType(), request.severity(), request.pr(), request.task()))
+                .build();
     }
 
-    private String buildActionPrompt(SyncAlert.AlertType alertType,
-                                      SyncAlert.AlertSeverity severity,
-                                      GitHubPullRequestDto pr,
-                                      Task task) {
+    /**
+     * @return why the recommendation is unusable, or null when it is valid
+     */
+    static String validate(AiActionRecommendation action) {
+        if (action == null) return "missing";
+        if (action.getActionType() == null) return "no actionType";
+        if (action.getConfidence() < 0 || action.getConfidence() > 1) return "confidence out of range";
+        if (action.getActionType() != AiActionRecommendation.ActionType.NO_ACTION
+                && action.getActionType() != AiActionRecommendation.ActionType.MANUAL_REVIEW
+                && (action.getTargetPlatform() == null || action.getTargetEntityId() == null)) {
+            return "no target for " + action.getActionType();
+        }
+        if (action.getParameters() == null) action.setParameters(Map.of());
+        return null;
+    }
+
+    private String buildEnrichmentPrompt(SyncAlert.AlertType alertType,
+                                         SyncAlert.AlertSeverity severity,
+                                         GitHubPullRequestDto pr,
+                                         Task task) {
         StringBuilder prompt = new StringBuilder();
 
         // Discrepancy data
         prompt.append("Signals POC alert — type: ").append(alertType)
               .append(", severity: ").append(severity).append("\n\n");
+        appendContext(prompt, pr, task);
+        appendActionReference(prompt);
+
+        prompt.append("Reply with one JSON object: \"suggestion\" is 2-3 sentences for a human describing the exact ")
+              .append("action to take (which platform to update, what status to set, and why); ")
+              .append("\"action\" is the machine-readable recommendation.\n\n");
+
+        // Few-shot example
+        prompt.append("Example (PR_MERGED_TASK_OPEN on Asana task 98765):\n");
+        prompt.append(EXAMPLE_ENRICHMENT).append("\n\n");
+
+        prompt.append("Now output JSON only for the current alert:");
+
+        return prompt.toString();
+    }
+
+    private String buildBatchEnrichmentPrompt(List<EnrichmentRequest> requests) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("Signals POC has ").append(requests.size()).append(" alerts to enrich.\n");
 
+        for (EnrichmentRequest request : requests) {
+            prompt.append("\n### Alert ").append(request.alertId())
+                  .append(" — type: ").append(request.alertType())
+                  .append(", severity: ").append(request.severity()).append("\n");
+            appendContext(prompt, request.pr(), request.task());
+        }
+        appendActionReference(prompt);
+
+        prompt.append("Reply with {\"enrichments\": [...]} holding exactly one entry per alert above. Each entry has ")
+              .append("\"alertId\" (the number after \"Alert\"), \"suggestion\" (2-3 sentences for a human describing ")
+              .append("the exact action to take and why) and \"action\" (the machine-readable recommendation). ")
+              .append("Judge each alert only on its own section.\n\n");
+
+        // Few-shot example
+        prompt.append("Example entry (Alert 12, PR_MERGED_TASK_OPEN on Asana task 98765):\n");
+        prompt.append("{\"alertId\":12,").append(EXAMPLE_ENRICHMENT, 1, EXAMPLE_ENRICHMENT.length()).append("\n\n");
+
+        prompt.append("Now output JSON only for the alerts above:");
+
+        return prompt.toString();
+    }
+
+    private void appendContext(StringBuilder prompt, GitHubPullRequestDto pr, Task task) {
         if (pr != null) {
             prompt.append("GitHub PR #").append(pr.getNumber()).append(": \"").append(pr.getTitle()).append("\"\n");
             prompt.append("  state=").append(pr.getState());
             prompt.append(", draft=").append(pr.getDraft());
             prompt.append(", merged=").append(pr.getMerged());
             if (pr.getUser() != null) prompt.append(", author=").append(pr.getUser().getLogin());
+            if (pr.getHead() != null) prompt.append(", branch=").append(pr.getHead().getRef());
             prompt.append("\n");
         }
 
@@ -95,33 +315,25 @@ public class AiSuggestionService {
             if (task.getAssignee() != null) prompt.append(", assignee=").append(task.getAssignee().getName());
             prompt.append("\n");
         }
+    }
 
+    private void appendActionReference(StringBuilder prompt) {
         // Action reference — omit on signals-poc model since it's in the baked-in system prompt
-        if (!isProductModel()) {
-            prompt.append("\nChoose one action:\n");
-            prompt.append("  UPDATE_TASK_STATUS — move Asana/Linear task to a new status\n");
-            prompt.append("    Asana statuses: In Progress, In Review, Complete, Blocked\n");
-            prompt.append("    Linear statuses: In Progress, In Review, Done, Cancelled, Backlog\n");
-            prompt.append("    parameters: {\"status\": \"<new status>\", \"comment\": \"<PR URL or context>\"}\n");
-            prompt.append("  COMPLETE_TASK     — mark Asana/Linear task as done; parameters: {}\n");
-            prompt.append("  ADD_COMMENT       — add comment to Asana/Linear task; parameters: {\"comment\": \"<text>\"}\n");
-            prompt.append("  ADD_PR_COMMENT    — post comment on GitHub PR; parameters: {\"comment\": \"<text>\"}\n");
-            prompt.append("  UPDATE_PR_LABELS  — set GitHub PR labels; parameters: {\"labels\": \"<comma-separated>\"}\n");
-            prompt.append("  APPROVE_PR        — submit GitHub approved review (only if PR is ready and checks pass)\n");
-            prompt.append("                      parameters: {\"body\": \"<review message>\"}\n");
-            prompt.append("  NO_ACTION         — no automated action needed; parameters: {}\n");
-            prompt.append("  MANUAL_REVIEW     — human decision required; parameters: {}\n");
-            prompt.append("\n");
-        }
-
-        // Few-shot example
-        prompt.append("Example (PR_MERGED_TASK_OPEN on Asana task 98765):\n");
-        prompt.append("{\"actionType\":\"COMPLETE_TASK\",\"targetPlatform\":\"ASANA\",\"targetEntityId\":\"98765\",");
-        prompt.append("\"parameters\":{},\"reasoning\":\"PR merged; marking linked Asana task complete.\",\"confidence\":0.95}\n\n");
-
-        prompt.append("Now output JSON only for the current alert:");
-
-        return prompt.toString();
+        if (isProductModel()) return;
+        prompt.append("\nChoose one action:\n");
+        prompt.append("  UPDATE_TASK_STATUS — move Asana/Linear task to a new status\n");
+        prompt.append("    Asana statuses: In Progress, In Review, Complete, Blocked\n");
+        prompt.append("    Linear statuses: In Progress, In Review, Done, Cancelled, Backlog\n");
+        prompt.append("    parameters: {\"status\": \"<new status>\", \"comment\": \"<PR URL or context>\"}\n");
+        prompt.append("  COMPLETE_TASK     — mark Asana/Linear task as done; parameters: {}\n");
+        prompt.append("  ADD_COMMENT       — add comment to Asana/Linear task; parameters: {\"comment\": \"<text>\"}\n");
+        prompt.append("  ADD_PR_COMMENT    — post comment on GitHub PR; parameters: {\"comment\": \"<text>\"}\n");
+        prompt.append("  UPDATE_PR_LABELS  — set GitHub PR labels; parameters: {\"labels\": \"<comma-separated>\"}\n");
+        prompt.append("  APPROVE_PR        — submit GitHub approved review (only if PR is ready and checks pass)\n");
+        prompt.append("                      parameters: {\"body\": \"<review message>\"}\n");
+        prompt.append("  NO_ACTION         — no automated action needed; parameters: {}\n");
+        prompt.append("  MANUAL_REVIEW     — human decision required; parameters: {}\n");
+        prompt.append("\n");
     }
 
     private AiActionRecommendation buildTemplateFallback(SyncAlert.AlertType alertType,
@@ -170,33 +382,7 @@ public class AiSuggestionService {
         };
     }
 
-    private String buildPrompt(SyncAlert.AlertType alertType,
-                                SyncAlert.AlertSeverity severity,
-                                GitHubPullRequestDto pr,
-                                Task task) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("Signals POC detected a ").append(severity).append("-severity sync discrepancy: ").append(alertType).append(".\n\n");
-
-        if (pr != null) {
-            prompt.append("GitHub PR #").append(pr.getNumber()).append(": \"").append(pr.getTitle()).append("\"\n");
-            prompt.append("  state=").append(pr.getState());
-            prompt.append(", draft=").append(pr.getDraft());
-            prompt.append(", merged=").append(pr.getMerged());
-            if (pr.getUser() != null) prompt.append(", author=").append(pr.getUser().getLogin());
-            if (pr.getHead() != null) prompt.append(", branch=").append(pr.getHead().getRef());
-            prompt.append("\n");
-        }
-
-        if (task != null) {
-            prompt.append("Linked ").append(task.getSourceSystem()).append(" task: \"").append(task.getTitle()).append("\"\n");
-            prompt.append("  status=").append(task.getStatus());
-            if (task.getAssignee() != null) prompt.append(", assignee=").append(task.getAssignee().getName());
-            prompt.append("\n");
-        }
-
-        prompt.append("\nIn 2-3 sentences, describe the exact action to take: which platform to update, ")
-              .append("what status to set, and why. Be specific.");
-
-        return prompt.toString();
+    private static List<String> names(Enum<?>[] values) {
+        return Arrays.stream(values).map(Enum::name).toList();
     }
 }
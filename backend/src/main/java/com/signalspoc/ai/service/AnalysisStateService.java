@@ -0,0 +1,69 @@
+package com.signalspoc.ai.service;
+
+import com.signalspoc.ai.model.AnalysisState;
+import com.signalspoc.ai.repository.AnalysisStateRepository;
+import com.signalspoc.shared.hash.ContentFingerprint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records which content fingerprint each entity was last analyzed at.
+ *
+ * The stored rows are loaded, updated and joined by the new ones in a single transaction, so they
+ * stay managed: Hibernate dirty-checks them into JDBC-batched UPDATEs at commit instead of merging
+ * detached copies, which would re-select every row first.
+ */
+@Service
+@ConditionalOnProperty(name = "ai.ollama.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AnalysisStateService {
+
+    private final AnalysisStateRepository analysisStateRepository;
+
+    /**
+     * Sets the fingerprint and analysis time of every entity, inserting the ones never analyzed
+     * before. A concurrent writer inserting the same entity fails the whole call with a
+     * DataIntegrityViolationException at commit.
+     */
+    @Transactional
+    public void recordAnalyzed(String entityType, Collection<AnalyzedEntity> analyzed) {
+        if (analyzed.isEmpty()) return;
+
+        Map<String, AnalyzedEntity> byEntityId = new HashMap<>();
+        analyzed.forEach(entity -> byEntityId.put(entity.entityId(), entity));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (AnalysisState state : analysisStateRepository.findByEntityTypeAndEntityIdIn(entityType, byEntityId.keySet())) {
+            apply(state, byEntityId.remove(state.getEntityId()).fingerprint(), now);
+        }
+
+        List<AnalysisState> created = new ArrayList<>(byEntityId.size());
+        for (AnalyzedEntity entity : byEntityId.values()) {
+            AnalysisState state = AnalysisState.builder()
+                    .entityType(entityType)
+                    .entityId(entity.entityId())
+                    .sourceSystem(entity.sourceSystem())
+                    .build();
+            apply(state, entity.fingerprint(), now);
+            created.add(state);
+        }
+        analysisStateRepository.saveAll(created);
+    }
+
+    private static void apply(AnalysisState state, ContentFingerprint fingerprint, LocalDateTime analyzedAt) {
+        state.setContentHashHigh(fingerprint.high());
+        state.setContentHashLow(fingerprint.low());
+        state.setLastAnalyzedAt(analyzedAt);
+    }
+
+    public record AnalyzedEntity(String entityId, String sourceSystem, ContentFingerprint fingerprint) {}
+}
@@ -0,0 +1,136 @@
+package com.signalspoc.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.ai.config.AiConfig;
+import com.signalspoc.ai.event.AlertEnrichmentEvent;
+import com.signalspoc.ai.model.EnrichmentQueueItem;
+import com.signalspoc.ai.repository.EnrichmentQueueRepository;
+import com.signalspoc.domain.repository.SyncAlertRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Durable, severity-ordered queue of alerts awaiting AI enrichment.
+ *
+ * Claims lock rows with FOR UPDATE SKIP LOCKED and commit immediately after pushing availableAt out
+ * by the lease, so concurrent workers never share an item and no lock is held during the Ollama call.
+ * Completion writes the suggestion and deletes the item in one transaction; template enrichments
+ * park it instead, until the worker sees Ollama come back.
+ */
+@Service
+@ConditionalOnProperty(name = "ai.ollama.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class EnrichmentQueueService {
+
+    private final EnrichmentQueueRepository queueRepository;
+    private final SyncAlertRepository alertRepository;
+    private final AiConfig aiConfig;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Adds the alert to the queue. An alert that is already queued is left as it is.
+     * Not transactional on purpose: a duplicate-key race must not roll back the caller.
+     */
+    public void enqueue(AlertEnrichmentEvent event) {
+        if (queueRepository.existsByAlertId(event.alertId())) return;
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            queueRepository.saveAndFlush(EnrichmentQueueItem.builder()
+                    .alertId(event.alertId())
+                    .priority(EnrichmentQueueItem.priorityOf(event.severity()))
+                    .alertType(event.alertType())
+                    .severity(event.severity())
+                    .prPayload(serialize(event))
+                    .taskId(event.task() != null ? event.task().getId() : null)
+                    .enqueuedAt(now)
+                    .availableAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Enqueued concurrently by another thread or instance
+            log.debug("Alert {} already queued for enrichment", event.alertId());
+        }
+    }
+
+    /**
+     * Claims up to {@code limit} available items, most severe first.
+     */
+    @Transactional
+    public List<EnrichmentQueueItem> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EnrichmentQueueItem> items = queueRepository.lockAvailable(now, limit);
+        for (EnrichmentQueueItem item : items) {
+            item.setAttempts(item.getAttempts() + 1);
+            item.setAvailableAt(now.plusSeconds(aiConfig.getEnrichmentQueue().getLeaseSeconds()));
+        }
+        return queueRepository.saveAll(items);
+    }
+
+    /**
+     * Writes the enrichment to the alert. A model enrichment finishes the item; a template one
+     * marks the alert and parks the item, prompt context and all, for {@link #releaseParked()}.
+     * Only pass templates used because Ollama was unavailable; an alert the model left unanswered
+     * goes through {@link #fail} so it is retried while Ollama is up.
+     */
+    @Transactional
+    public void complete(EnrichmentQueueItem item, String suggestion, String actionJson, boolean templated) {
+        alertRepository.updateAiEnrichment(item.getAlertId(), suggestion, actionJson, templated);
+        if (!templated) {
+            queueRepository.deleteById(item.getId());
+            return;
+        }
+        item.setParked(true);
+        item.setLastError("template fallback");
+        queueRepository.save(item);
+    }
+
+    /**
+     * Makes every parked item claimable again, so template-enriched alerts get a model enrichment.
+     * Items of alerts resolved in the meantime are dropped instead.
+     *
+     * @return the number of items released
+     */
+    @Transactional
+    public int releaseParked() {
+        queueRepository.deleteParkedOfResolvedAlerts();
+        return queueRepository.releaseParked(LocalDateTime.now());
+    }
+
+    /**
+     * Schedules a retry with linear backoff, or drops the item once maxAttempts is reached —
+     * the alert keeps a null suggestion and reconciliation re-queues it on its next run.
+     */
+    @Transactional
+    public void fail(EnrichmentQueueItem item, String error) {
+        AiConfig.EnrichmentQueueConfig queueConfig = aiConfig.getEnrichmentQueue();
+        if (item.getAttempts() >= queueConfig.getMaxAttempts()) {
+            log.warn("Giving up on enrichment of alert {} after {} attempt(s): {}",
+                    item.getAlertId(), item.getAttempts(), error);
+            queueRepository.deleteById(item.getId());
+            return;
+        }
+        item.setLastError(error);
+        item.setAvailableAt(LocalDateTime.now()
+                .plusSeconds((long) item.getAttempts() * queueConfig.getRetryBackoffSeconds()));
+        queueRepository.save(item);
+    }
+
+    private String serialize(AlertEnrichmentEvent event) {
+        if (event.pr() == null) return null;
+        try {
+            return objectMapper.writeValueAsString(event.pr());
+        } catch (JsonProcessingException e) {
+            // Still worth enriching — the prompt just lacks PR context
+            log.warn("Failed to serialize PR for alert {}: {}", event.alertId(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.signalspoc.ai.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.ai.config.AiConfig;
+import com.signalspoc.ai.model.AiActionRecommendation;
+import com.signalspoc.ai.model.AiEnrichment;
+import com.signalspoc.ai.util.AnalysisChecksumUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU + TTL cache of model-generated enrichments, keyed by the alert's context fingerprint
+ * ({@link AnalysisChecksumUtil#computeContextFingerprint}) rather than the raw prompt: prompts carry
+ * titles and IDs, so two alerts of the same shape would never share an entry.
+ *
+ * Entries are stored as templates — the originating alert's task ID, PR number, URLs, titles and
+ * names are replaced by placeholders — and filled in with the requesting alert's values on a hit,
+ * so a reused recommendation always targets the right entity.
+ *
+ * With {@code persist-path} set, the cache is loaded at startup and written back on shutdown.
+ *
+ * Metrics: {@code signals.ai.cache} (result=hit|miss), {@code signals.ai.cache.evictions}
+ * and the {@code signals.ai.cache.size} gauge.
+ */
+@Component
+@ConditionalOnProperty(name = "ai.ollama.enabled", havingValue = "true")
+@Slf4j
+public class EnrichmentResponseCache {
+
+    record Entry(AiEnrichment template, long storedAtMillis) {}
+
+    private static final String TASK_ID = "{{TASK_ID}}";
+    private static final String TASK_TITLE = "{{TASK_TITLE}}";
+    private static final String ASSIGNEE = "{{ASSIGNEE}}";
+    private static final String PR_NUMBER = "{{PR_NUMBER}}";
+    private static final String PR_TITLE = "{{PR_TITLE}}";
+    private static final String PR_URL = "{{PR_URL}}";
+    private static final String PR_AUTHOR = "{{PR_AUTHOR}}";
+
+    // Shorter values (e.g. a one-word assignee) would match inside unrelated words
+    private static final int MIN_TEMPLATED_LENGTH = 3;
+
+    private final AiConfig aiConfig;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    Clock clock = Clock.systemUTC();
+
+    public EnrichmentResponseCache(AiConfig aiConfig, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.aiConfig = aiConfig;
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > Math.max(0, aiConfig.getResponseCache().getMaxEntries())) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = meterRegistry.counter("signals.ai.cache", "result", "hit");
+        this.misses = meterRegistry.counter("signals.ai.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("signals.ai.cache.evictions");
+        // Through size(), which holds the lock: the map is access-ordered, so a scrape must not race a get
+        meterRegistry.gauge("signals.ai.cache.size", Tags.empty(), this, EnrichmentResponseCache::size);
+    }
+
+    public boolean isEnabled() {
+        return aiConfig.getResponseCache().isEnabled();
+    }
+
+    public String keyOf(AiSuggestionService.EnrichmentRequest request) {
+        return AnalysisChecksumUtil.computeContextFingerprint(aiConfig.getModel(),
+                request.alertType(), request.severity(), request.pr(), request.task());
+    }
+
+    /**
+     * @return the cached enrichment filled in for {@code request}, or null on a miss or expired entry
+     */
+    public AiEnrichment get(String key, AiSuggestionService.EnrichmentRequest request) {
+        if (!isEnabled()) return null;
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return fill(entry.template(), request);
+    }
+
+    /**
+     * Stores a model-generated enrichment for {@code source} as a template under {@code key}.
+     */
+    public void put(String key, AiSuggestionService.EnrichmentRequest source, AiEnrichment enrichment) {
+        if (!isEnabled() || aiConfig.getResponseCache().getMaxEntries() <= 0) return;
+        Entry entry = new Entry(templateOf(enrichment, source), clock.millis());
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Rewrites an enrichment generated for {@code source} so it refers to {@code target} instead.
+     */
+    public AiEnrichment transfer(AiEnrichment enrichment,
+                                 AiSuggestionService.EnrichmentRequest source,
+                                 AiSuggestionService.EnrichmentRequest target) {
+        return fill(templateOf(enrichment, source), target);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // ─── Persistence ──────────────────────────────────────────────────────────
+
+    @PostConstruct
+    void load() {
+        Path path = persistPath();
+        if (path == null || !isEnabled() || !Files.exists(path)) return;
+        try {
+            Map<String, Entry> stored = objectMapper.readValue(path.toFile(), new TypeReference<LinkedHashMap<String, Entry>>() {});
+            synchronized (this) {
+                stored.forEach((key, entry) -> {
+                    if (!isExpired(entry)) entries.put(key, entry);
+                });
+            }
+            log.info("Loaded {} cached AI enrichment(s) from {}", size(), path);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable AI response cache at {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void save() {
+        Path path = persistPath();
+        if (path == null || !isEnabled()) return;
+        Map<String, Entry> snapshot;
+        synchronized (this) {
+            snapshot = new LinkedHashMap<>(entries);
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} cached AI enrichment(s) to {}", snapshot.size(), path);
+        } catch (IOException e) {
+            log.warn("Failed to save AI response cache to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Path persistPath() {
+        String configured = aiConfig.getResponseCache().getPersistPath();
+        return configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+
+    private boolean isExpired(Entry entry) {
+        long ttlMillis = Duration.ofMinutes(aiConfig.getResponseCache().getTtlMinutes()).toMillis();
+        return clock.millis() - entry.storedAtMillis() >= ttlMillis;
+    }
+
+    // ─── Templating ───────────────────────────────────────────────────────────
+
+    static AiEnrichment templateOf(AiEnrichment enrichment, AiSuggestionService.EnrichmentRequest source) {
+        Map<String, String> values = placeholderValues(source);
+        List<Map.Entry<String, String>> replacements = new ArrayList<>();
+        values.forEach((placeholder, value) -> {
+            if (value != null && value.length() >= MIN_TEMPLATED_LENGTH && !placeholder.equals(PR_NUMBER)) {
+                replacements.add(Map.entry(value, placeholder));
+            }
+        });
+        // Longest first, so a URL is replaced whole before any ID inside it
+        replacements.sort(Comparator.comparingInt((Map.Entry<String, String> r) -> r.getKey().length()).reversed());
+        // A bare PR number is too likely to be some other number in the text
+        String prNumber = values.get(PR_NUMBER);
+        if (prNumber != null) replacements.add(Map.entry("#" + prNumber, "#" + PR_NUMBER));
+
+        AiActionRecommendation action = enrichment.getAction();
+        String targetId = action.getTargetEntityId();
+        if (targetId != null && targetId.equals(values.get(TASK_ID))) targetId = TASK_ID;
+        else if (targetId != null && targetId.equals(prNumber)) targetId = PR_NUMBER;
+
+        return rewrite(enrichment, targetId, replacements);
+    }
+
+    static AiEnrichment fill(AiEnrichment template, AiSuggestionService.EnrichmentRequest target) {
+        List<Map.Entry<String, String>> replacements = new ArrayList<>();
+        placeholderValues(target).forEach((placeholder, value) ->
+                replacements.add(Map.entry(placeholder, value != null ? value : "")));
+
+        String targetId = template.getAction().getTargetEntityId();
+        return rewrite(template, targetId != null ? replace(targetId, replacements) : null, replacements)
+                .toBuilder().alertId(target.alertId()).build();
+    }
+
+    private static Map<String, String> placeholderValues(AiSuggestionService.EnrichmentRequest request) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (request.task() != null) {
+            values.put(TASK_ID, request.task().getExternalId());
+            values.put(TASK_TITLE, request.task().getTitle());
+            values.put(ASSIGNEE, request.task().getAssignee() != null ? request.task().getAssignee().getName() : null);
+        }
+        if (request.pr() != null) {
+            values.put(PR_NUMBER, request.pr().getNumber() != null ? String.valueOf(request.pr().getNumber()) : null);
+            values.put(PR_TITLE, request.pr().getTitle());
+            values.put(PR_URL, request.pr().getHtmlUrl());
+            values.put(PR_AUTHOR, request.pr().getUser() != null ? request.pr().getUser().getLogin() : null);
+        }
+        return values;
+    }
+
+    private static AiEnrichment rewrite(AiEnrichment enrichment, String targetEntityId,
+                                        List<Map.Entry<String, String>> replacements) {
+        AiActionRecommendation action = enrichment.getAction();
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (action.getParameters() != null) {
+            action.getParameters().forEach((name, value) -> parameters.put(name, replace(value, replacements)));
+        }
+        return AiEnrichment.builder()
+                .alertId(enrichment.getAlertId())
+                .suggestion(replace(enrichment.getSuggestion(), replacements))
+                .action(action.toBuilder()
+                        .targetEntityId(targetEntityId)
+                        .parameters(parameters)
+                        .reasoning(replace(action.getReasoning(), replacements))
+                        .build())
+                .fromModel(enrichment.isFromModel())
+                .build();
+    }
+
+    private static String replace(String text, List<Map.Entry<String, String>> replacements) {
+        if (text == null) return null;
+        for (Map.Entry<String, String> r : replacements) {
+            text = text.replace(r.getKey(), r.getValue());
+        }
+        return text;
+    }
+}
@@ -1,37 +1,68 @@
 package com.signalspoc.ai.util;
 
+import com.signalspoc.domain.entity.SyncAlert;
 import com.signalspoc.domain.entity.Task;
 import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import com.signalspoc.shared.hash.ContentFingerprint;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
 
 public final class AnalysisChecksumUtil {
 
     private AnalysisChecksumUtil() {}
 
-    public static String computeChecksum(GitHubPullRequestDto pr, Task task) {
-        StringBuilder sb = new StringBuilder();
+    /** Change-detection fingerprint of a PR-task pair: whatever the semantic analysis looks at. */
+    public static ContentFingerprint computeChecksum(GitHubPullRequestDto pr, Task task) {
+        ContentFingerprint.Hasher hasher = ContentFingerprint.hasher();
 
+        hasher.putBoolean(pr != null);
         if (pr != null) {
-            sb.append(pr.getTitle()).append('|');
-            sb.append(pr.getState()).append('|');
-            sb.append(pr.getMerged()).append('|');
-            sb.append(pr.getDraft()).append('|');
-            sb.append(pr.getUpdatedAt()).append('|');
+            hasher.putString(pr.getTitle())
+                    .putString(pr.getState())
+                    .putBoolean(pr.getMerged())
+                    .putBoolean(pr.getDraft())
+                    .putTimestamp(pr.getUpdatedAt());
         }
 
+        hasher.putBoolean(task != null);
         if (task != null) {
-            sb.append(task.getTitle()).append('|');
-            sb.append(task.getStatus()).append('|');
-            sb.append(task.getExternalModifiedAt()).append('|');
-            if (task.getAssignee() != null) {
-                sb.append(task.getAssignee().getName());
-            }
+            hasher.putString(task.getTitle())
+                    .putString(task.getStatus())
+                    .putTimestamp(task.getExternalModifiedAt())
+                    .putString(task.getAssignee() != null ? task.getAssignee().getName() : null);
         }
 
-        return sha256(sb.toString());
+        return hasher.hash();
+    }
+
+    /**
+     * Fingerprint of an alert's shape rather than its identity: alert type, severity, PR state and
+     * task status, but no titles, IDs or timestamps. Alerts that would get the same advice share it.
+     */
+    public static String computeContextFingerprint(String model, SyncAlert.AlertType alertType,
+                                                   SyncAlert.AlertSeverity severity,
+                                                   GitHubPullRequestDto pr, Task task) {
+        ContentFingerprint.Hasher hasher = ContentFingerprint.hasher()
+                .putString(model)
+                .putEnum(alertType)
+                .putEnum(severity);
+
+        hasher.putBoolean(pr != null);
+        if (pr != null) {
+            hasher.putString(pr.getState())
+                    .putBoolean(Boolean.TRUE.equals(pr.getMerged()))
+                    .putBoolean(Boolean.TRUE.equals(pr.getDraft()))
+                    .putString(pr.getMergeableState());
+        }
+
+        hasher.putBoolean(task != null);
+        if (task != null) {
+            hasher.putEnum(task.getSourceSystem())
+                    .putString(task.getStatus() != null ? task.getStatus().trim().toLowerCase(Locale.ROOT) : null)
+                    .putBoolean(task.getAssignee() != null);
+        }
+
+        return hasher.hash().toHex();
     }
 
     public static String buildEntityId(GitHubPullRequestDto pr, Task task) {
@@ -39,20 +70,4 @@ public final class AnalysisChecksumUtil {
         String taskPart = task != null ? "TASK:" + task.getExternalId() : "TASK:?";
         return prPart + "|" + taskPart;
     }
-
-    private static String sha256(String input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 not available", e);
-        }
-    }
 }
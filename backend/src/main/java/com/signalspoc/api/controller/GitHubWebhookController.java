@@ -0,0 +1,43 @@
+package com.signalspoc.api.controller;
+
+import com.signalspoc.connector.github.webhook.GitHubWebhookService;
+import com.signalspoc.connector.github.webhook.GitHubWebhookService.Receipt;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/webhooks")
+@ConditionalOnProperty(name = {"connectors.github.enabled", "connectors.github.webhook.enabled"}, havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Webhooks", description = "Inbound webhook deliveries")
+public class GitHubWebhookController {
+
+    private final GitHubWebhookService webhookService;
+
+    @PostMapping("/github")
+    @Operation(summary = "Receive a GitHub pull_request / pull_request_review webhook delivery")
+    public ResponseEntity<Map<String, Object>> receive(
+            @RequestHeader("X-GitHub-Event") String event,
+            @RequestHeader(value = "X-GitHub-Delivery", required = false) String deliveryId,
+            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+            @RequestBody byte[] body) {
+
+        if (!webhookService.verifySignature(body, signature)) {
+            log.warn("Rejected GitHub webhook delivery {} ({}): bad signature", deliveryId, event);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid signature"));
+        }
+
+        Receipt receipt = webhookService.receive(event, deliveryId, body);
+        HttpStatus status = receipt == Receipt.ACCEPTED ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(Map.of("delivery", String.valueOf(deliveryId), "result", receipt));
+    }
+}
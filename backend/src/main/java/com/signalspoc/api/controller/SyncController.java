@@ -1,7 +1,9 @@
 package com.signalspoc.api.controller;
 
+import com.signalspoc.api.dto.response.CombinedSyncResponse;
 import com.signalspoc.api.dto.response.SyncLogResponse;
 import com.signalspoc.api.dto.response.SyncResponse;
+import com.signalspoc.connector.model.CombinedSyncResult;
 import com.signalspoc.connector.model.SyncResult;
 import com.signalspoc.domain.entity.SyncLog;
 import com.signalspoc.domain.service.SyncOrchestrator;
@@ -27,6 +29,13 @@ public class SyncController {
 
     private final SyncOrchestrator syncOrchestrator;
 
+    @PostMapping("/all")
+    @Operation(summary = "Sync all data from every PM connector")
+    public ResponseEntity<CombinedSyncResponse> syncAllConnectors() {
+        CombinedSyncResult result = syncOrchestrator.syncAllConnectors();
+        return ResponseEntity.ok(CombinedSyncResponse.from(result));
+    }
+
     @PostMapping("/{connector}/all")
     @Operation(summary = "Sync all data from a connector")
     public ResponseEntity<SyncResponse> syncAll(@PathVariable String connector) {
@@ -35,6 +44,14 @@ public class SyncController {
         return ResponseEntity.ok(SyncResponse.from(result));
     }
 
+    @PostMapping("/{connector}/incremental")
+    @Operation(summary = "Sync only data modified since the connector's last successful sync")
+    public ResponseEntity<SyncResponse> syncIncremental(@PathVariable String connector) {
+        ConnectorType type = parsePmConnectorType(connector);
+        SyncResult result = syncOrchestrator.syncIncremental(type);
+        return ResponseEntity.ok(SyncResponse.from(result));
+    }
+
     @PostMapping("/{connector}/projects")
     @Operation(summary = "Sync projects from a connector")
     public ResponseEntity<SyncResponse> syncProjects(@PathVariable String connector) {
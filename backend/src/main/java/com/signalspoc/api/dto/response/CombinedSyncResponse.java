@@ -0,0 +1,39 @@
+package com.signalspoc.api.dto.response;
+
+import com.signalspoc.connector.model.CombinedSyncResult;
+import com.signalspoc.connector.model.SyncResult;
+import com.signalspoc.shared.model.Enums.SyncStatus;
+import lombok.Builder;
+import lombok.Data;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class CombinedSyncResponse {
+
+    private SyncStatus status;
+    private SyncResponse.SyncStatistics totals;
+    private List<SyncResponse> connectors;
+    private LocalDateTime syncStartTime;
+    private LocalDateTime syncEndTime;
+    private Long durationSeconds;
+
+    public static CombinedSyncResponse from(CombinedSyncResult result) {
+        Long duration = null;
+        if (result.getSyncStartTime() != null && result.getSyncEndTime() != null) {
+            duration = Duration.between(result.getSyncStartTime(), result.getSyncEndTime()).getSeconds();
+        }
+
+        SyncResult totals = result.totals();
+        return CombinedSyncResponse.builder()
+                .status(result.getStatus())
+                .totals(SyncResponse.from(totals).getStatistics())
+                .connectors(result.getResults().stream().map(SyncResponse::from).toList())
+                .syncStartTime(result.getSyncStartTime())
+                .syncEndTime(result.getSyncEndTime())
+                .durationSeconds(duration)
+                .build();
+    }
+}
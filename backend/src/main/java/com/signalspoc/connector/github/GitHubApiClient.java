@@ -1,40 +1,107 @@
 package com.signalspoc.connector.github;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.connector.github.dto.GitHubGraphQlPullRequestDto;
 import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
 import com.signalspoc.connector.github.dto.GitHubRepositoryDto;
 import com.signalspoc.connector.github.dto.GitHubUserDto;
 import com.signalspoc.shared.exception.Exceptions.ConnectorException;
+import com.signalspoc.shared.http.ConditionalResponseCache;
+import com.signalspoc.shared.http.ConnectorHttpTransportFactory;
+import com.signalspoc.shared.http.JsonPageReader;
+import com.signalspoc.shared.http.OutboundHttpInterceptorFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 @Component
 @ConditionalOnProperty(name = "connectors.github.enabled", havingValue = "true")
 @Slf4j
 public class GitHubApiClient {
 
+    private static final String OPEN_PULL_REQUESTS_QUERY = """
+        query($owner: String!, $name: String!, $cursor: String) {
+            repository(owner: $owner, name: $name) {
+                pullRequests(states: OPEN, first: 50, after: $cursor, orderBy: {field: UPDATED_AT, direction: DESC}) {
+                    nodes {
+                        databaseId
+                        number
+                        title
+                        body
+                        url
+                        state
+                        isDraft
+                        merged
+                        mergeable
+                        mergeStateStatus
+                        reviewDecision
+                        createdAt
+                        updatedAt
+                        mergedAt
+                        closedAt
+                        headRefName
+                        headRefOid
+                        headRepository { databaseId name nameWithOwner }
+                        baseRefName
+                        baseRefOid
+                        baseRepository { databaseId name nameWithOwner }
+                        author { login url ... on User { databaseId } }
+                        assignees(first: 10) { nodes { databaseId login url } }
+                        labels(first: 20) { nodes { name color description } }
+                    }
+                    pageInfo {
+                        hasNextPage
+                        endCursor
+                    }
+                }
+            }
+        }
+        """;
+
     private final GitHubConfig config;
     private final RestTemplate restTemplate;
-
-    public GitHubApiClient(GitHubConfig config, RestTemplateBuilder restTemplateBuilder) {
+    private final JsonPageReader pageReader;
+    // PR list pages and single PRs are revalidated with ETags; 304s are free against the rate limit.
+    // The page cache only serves the REST list, so it stores nothing while GraphQL lists open PRs.
+    private final ConditionalResponseCache<List<GitHubPullRequestDto>> pullRequestPageCache;
+    private final ConditionalResponseCache<GitHubPullRequestDto> pullRequestCache;
+
+    public GitHubApiClient(GitHubConfig config, RestTemplateBuilder restTemplateBuilder,
+                           OutboundHttpInterceptorFactory interceptorFactory,
+                           ConnectorHttpTransportFactory transportFactory, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
         this.config = config;
-        this.restTemplate = createRestTemplate(restTemplateBuilder);
+        this.pageReader = new JsonPageReader(objectMapper);
+        this.restTemplate = createRestTemplate(restTemplateBuilder, interceptorFactory, transportFactory);
+        this.pullRequestPageCache = new ConditionalResponseCache<>("github", "pull-request-pages",
+                config.isGraphqlEnabled() ? 0 : config.getCacheMaxEntries(), meterRegistry);
+        this.pullRequestCache = new ConditionalResponseCache<>("github", "pull-requests",
+                config.getCacheMaxEntries(), meterRegistry);
     }
 
-    private RestTemplate createRestTemplate(RestTemplateBuilder builder) {
+    private RestTemplate createRestTemplate(RestTemplateBuilder builder, OutboundHttpInterceptorFactory interceptorFactory,
+                                            ConnectorHttpTransportFactory transportFactory) {
+        ClientHttpRequestFactory requestFactory = transportFactory.create("github", config.getTimeoutSeconds());
         return builder
-                .setConnectTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
-                .setReadTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(interceptorFactory.create("github",
+                        config.getRateLimit().getRequestsPerMinute(), config.getRetryAttempts(), false))
                 .build();
     }
 
@@ -84,6 +151,16 @@ public class GitHubApiClient {
 
     public List<GitHubPullRequestDto> getPullRequests(String owner, String repo, String state) {
         List<GitHubPullRequestDto> allPRs = new ArrayList<>();
+        forEachPullRequest(owner, repo, state, allPRs::add);
+        return allPRs;
+    }
+
+    /**
+     * Walks the repository's pull requests page by page. Each page is a conditional request:
+     * an unchanged page comes back as 304 and its cached DTOs are replayed instead of re-parsed.
+     * Memory stays bounded by one page plus the cache.
+     */
+    public void forEachPullRequest(String owner, String repo, String state, Consumer<GitHubPullRequestDto> consumer) {
         int page = 1;
         int perPage = 100;
 
@@ -92,23 +169,10 @@ public class GitHubApiClient {
                 String url = String.format("%s/repos/%s/%s/pulls?state=%s&page=%d&per_page=%d",
                         config.getApiUrl(), owner, repo, state, page, perPage);
 
-                HttpEntity<Void> entity = new HttpEntity<>(createHeaders());
-
-                ResponseEntity<List<GitHubPullRequestDto>> response = restTemplate.exchange(
-                        url,
-                        HttpMethod.GET,
-                        entity,
-                        new ParameterizedTypeReference<>() {}
-                );
-
-                List<GitHubPullRequestDto> prs = response.getBody();
-                if (prs == null || prs.isEmpty()) {
-                    break;
-                }
-
-                allPRs.addAll(prs);
+                List<GitHubPullRequestDto> items = fetchPullRequestPage(url);
+                items.forEach(consumer);
 
-                if (prs.size() < perPage) {
+                if (items.size() < perPage) {
                     break;
                 }
                 page++;
@@ -118,8 +182,86 @@ public class GitHubApiClient {
                 throw new ConnectorException("GITHUB", "Failed to fetch pull requests", e);
             }
         }
+    }
 
-        return allPRs;
+    private List<GitHubPullRequestDto> fetchPullRequestPage(String url) {
+        ConditionalResponseCache.Entry<List<GitHubPullRequestDto>> cached = pullRequestPageCache.get(url);
+        HttpHeaders headers = createHeaders();
+        pullRequestPageCache.addConditionalHeaders(headers, cached);
+
+        List<GitHubPullRequestDto> items = restTemplate.execute(url, HttpMethod.GET,
+                restTemplate.httpEntityCallback(new HttpEntity<>(headers)),
+                response -> {
+                    if (pullRequestPageCache.isNotModified(response.getStatusCode(), cached)) {
+                        return pullRequestPageCache.hit(cached);
+                    }
+                    List<GitHubPullRequestDto> page = new ArrayList<>();
+                    pageReader.read(response.getBody(), List.of(), GitHubPullRequestDto.class, page::add);
+                    return pullRequestPageCache.store(url, response.getHeaders(), List.copyOf(page));
+                });
+        return items != null ? items : List.of();
+    }
+
+    /**
+     * Open PRs for one repository. With GraphQL enabled this is one paginated query that already
+     * carries merge state and review decision; otherwise it falls back to the REST list endpoint,
+     * which leaves {@code merged} and {@code mergeable_state} unset.
+     *
+     * GraphQL has no conditional requests, so every poll re-downloads the open PRs and is charged
+     * against the GraphQL rate limit, where unchanged REST pages would come back as free 304s. The
+     * detector's ready-to-merge rule needs mergeable_state, which the REST list never carries.
+     */
+    public List<GitHubPullRequestDto> getOpenPullRequests(String owner, String repo) {
+        if (!config.isGraphqlEnabled()) {
+            return getPullRequests(owner, repo, "open");
+        }
+        List<GitHubPullRequestDto> prs = new ArrayList<>();
+        forEachOpenPullRequestGraphQl(owner, repo, prs::add);
+        return prs;
+    }
+
+    /**
+     * Pages through the repository's open PRs with the GraphQL API, streaming
+     * {@code data.repository.pullRequests.nodes} so each PR is converted and handed over as it is read.
+     */
+    public void forEachOpenPullRequestGraphQl(String owner, String repo, Consumer<GitHubPullRequestDto> consumer) {
+        List<String> nodesPath = List.of("data", "repository", "pullRequests", "nodes");
+        String cursor = null;
+
+        do {
+            try {
+                Map<String, Object> variables = new HashMap<>();
+                variables.put("owner", owner);
+                variables.put("name", repo);
+                if (cursor != null) {
+                    variables.put("cursor", cursor);
+                }
+                HttpEntity<Map<String, Object>> request = new HttpEntity<>(
+                        Map.of("query", OPEN_PULL_REQUESTS_QUERY, "variables", variables), createHeaders());
+
+                JsonPageReader.Page page = restTemplate.execute(config.getGraphqlUrl(), HttpMethod.POST,
+                        restTemplate.httpEntityCallback(request),
+                        response -> pageReader.read(response.getBody(), nodesPath, GitHubGraphQlPullRequestDto.class,
+                                node -> consumer.accept(node.toPullRequestDto())));
+                if (page == null) {
+                    break;
+                }
+
+                JsonNode errors = page.envelope().path("errors");
+                if (errors.isArray() && !errors.isEmpty()) {
+                    throw new ConnectorException("GITHUB", "GraphQL error: " + errors.get(0).path("message").asText());
+                }
+
+                JsonNode pageInfo = page.envelope().path("data").path("repository").path("pullRequests").path("pageInfo");
+                cursor = pageInfo.path("hasNextPage").asBoolean(false) ? pageInfo.path("endCursor").textValue() : null;
+
+            } catch (ConnectorException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error fetching PRs for {}/{} via GraphQL", owner, repo, e);
+                throw new ConnectorException("GITHUB", "Failed to fetch pull requests", e);
+            }
+        } while (cursor != null);
     }
 
     public List<GitHubPullRequestDto> getAllOpenPullRequests() {
@@ -132,7 +274,7 @@ public class GitHubApiClient {
         for (String repoFullName : config.getRepositories()) {
             String[] parts = repoFullName.split("/");
             if (parts.length == 2) {
-                List<GitHubPullRequestDto> prs = getPullRequests(parts[0], parts[1], "open");
+                List<GitHubPullRequestDto> prs = getOpenPullRequests(parts[0], parts[1]);
                 allPRs.addAll(prs);
             }
         }
@@ -140,21 +282,53 @@ public class GitHubApiClient {
         return allPRs;
     }
 
+    /**
+     * Fetches every configured repository's open PRs concurrently on the given executor.
+     * Results keep the configured repository order. A repository whose fetch fails is logged
+     * and skipped so one broken repo doesn't blank out detection for all the others.
+     */
+    public List<GitHubPullRequestDto> getAllOpenPullRequests(Executor executor) {
+        if (config.getRepositories() == null) {
+            return new ArrayList<>();
+        }
+
+        List<CompletableFuture<List<GitHubPullRequestDto>>> futures = new ArrayList<>();
+        for (String repoFullName : config.getRepositories()) {
+            String[] parts = repoFullName.split("/");
+            if (parts.length == 2) {
+                futures.add(CompletableFuture.supplyAsync(() -> getOpenPullRequests(parts[0], parts[1]), executor)
+                        .exceptionally(e -> {
+                            log.error("Skipping {} in this pass: {}", repoFullName, e.getMessage());
+                            return List.of();
+                        }));
+            }
+        }
+
+        List<GitHubPullRequestDto> allPRs = new ArrayList<>();
+        futures.forEach(f -> allPRs.addAll(f.join()));
+        return allPRs;
+    }
+
     public GitHubPullRequestDto getPullRequest(String owner, String repo, int prNumber) {
         try {
             String url = String.format("%s/repos/%s/%s/pulls/%d",
                     config.getApiUrl(), owner, repo, prNumber);
 
-            HttpEntity<Void> entity = new HttpEntity<>(createHeaders());
+            ConditionalResponseCache.Entry<GitHubPullRequestDto> cached = pullRequestCache.get(url);
+            HttpHeaders headers = createHeaders();
+            pullRequestCache.addConditionalHeaders(headers, cached);
 
             ResponseEntity<GitHubPullRequestDto> response = restTemplate.exchange(
                     url,
                     HttpMethod.GET,
-                    entity,
+                    new HttpEntity<>(headers),
                     GitHubPullRequestDto.class
             );
 
-            return response.getBody();
+            if (pullRequestCache.isNotModified(response.getStatusCode(), cached)) {
+                return pullRequestCache.hit(cached);
+            }
+            return pullRequestCache.store(url, response.getHeaders(), response.getBody());
         } catch (RestClientException e) {
             log.error("Error fetching PR #{} for {}/{}", prNumber, owner, repo, e);
             throw new ConnectorException("GITHUB", "Failed to fetch pull request", e);
@@ -277,21 +451,4 @@ public class GitHubApiClient {
             return new ArrayList<>();
         }
     }
-
-    public List<String> extractLinkedIssues(GitHubPullRequestDto pr) {
-        List<String> linkedIssues = new ArrayList<>();
-
-        String textToSearch = (pr.getTitle() != null ? pr.getTitle() : "") + " " +
-                              (pr.getBody() != null ? pr.getBody() : "");
-
-        java.util.regex.Pattern linearPattern = java.util.regex.Pattern.compile(
-                "([A-Z]{2,10}-\\d+)", java.util.regex.Pattern.CASE_INSENSITIVE
-        );
-        java.util.regex.Matcher matcher = linearPattern.matcher(textToSearch);
-        while (matcher.find()) {
-            linkedIssues.add(matcher.group(1).toUpperCase());
-        }
-
-        return linkedIssues;
-    }
 }
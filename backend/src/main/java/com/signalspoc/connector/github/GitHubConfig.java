@@ -13,11 +13,41 @@ public class GitHubConfig {
 
     private boolean enabled = false;
     private String apiUrl = "https://api.github.com";
+    private String graphqlUrl = "https://api.github.com/graphql";
+    // Open PRs come from one paginated GraphQL query per repo (includes merge state and reviews);
+    // false falls back to the REST list endpoint, which lacks merged / mergeable_state but is
+    // revalidated with ETags. The PR list-page cache is only used (and sized) when this is false.
+    private boolean graphqlEnabled = true;
     private String token;
     private int timeoutSeconds = 30;
+    private int retryAttempts = 3;
+    private RateLimitConfig rateLimit = new RateLimitConfig();
     private List<String> repositories;
+    // Max URLs (PR list pages and single PRs, per cache) kept for ETag revalidation; 0 disables caching
+    private int cacheMaxEntries = 1000;
+    private WebhookConfig webhook = new WebhookConfig();
 
     public boolean isConfigured() {
         return enabled && token != null && !token.isEmpty();
     }
+
+    @Data
+    public static class WebhookConfig {
+        private boolean enabled = false;
+        // Shared secret configured on the GitHub webhook; deliveries are rejected when unset
+        private String secret;
+        // Quiet period after a PR's last event before it is re-checked
+        private int debounceSeconds = 15;
+        // Longest a PR that keeps receiving events waits, counted from its first pending delivery
+        private int maxWaitSeconds = 120;
+        private int maxAttempts = 5;
+        // Processed deliveries are kept this long so GitHub redeliveries are still recognised, then purged
+        private int retentionDays = 7;
+    }
+
+    @Data
+    public static class RateLimitConfig {
+        // GitHub allows 5,000 requests/hour per token
+        private int requestsPerMinute = 80;
+    }
 }
@@ -0,0 +1,149 @@
+package com.signalspoc.connector.github.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A pull request node from the GitHub GraphQL API. {@link #toPullRequestDto()} converts it to the
+ * REST shape the rest of the application works with, so callers don't care which API was used.
+ *
+ * Not filled in, because the query does not fetch them: user fields beyond id, login and URL
+ * (name, email, avatar, type), label ids, and the repository ids of a head fork that was deleted
+ * (head.repo and head.label are then null, as REST reports them).
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitHubGraphQlPullRequestDto {
+
+    private Long databaseId;
+    private Integer number;
+    private String title;
+    private String body;
+    private String url;
+    // OPEN, CLOSED, MERGED
+    private String state;
+    private Boolean isDraft;
+    private Boolean merged;
+    // MERGEABLE, CONFLICTING, UNKNOWN
+    private String mergeable;
+    // CLEAN, UNSTABLE, DIRTY, BLOCKED, BEHIND, DRAFT, HAS_HOOKS, UNKNOWN — same values as REST mergeable_state
+    private String mergeStateStatus;
+    private String reviewDecision;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+    private OffsetDateTime mergedAt;
+    private OffsetDateTime closedAt;
+    private String headRefName;
+    private String headRefOid;
+    private Repository headRepository;
+    private String baseRefName;
+    private String baseRefOid;
+    private Repository baseRepository;
+    private Actor author;
+    private Connection<Actor> assignees;
+    private Connection<Label> labels;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Actor {
+        // Only set for users; bots and mannequins have no REST user id
+        private Long databaseId;
+        private String login;
+        private String url;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Repository {
+        private Long databaseId;
+        private String name;
+        // owner/name
+        private String nameWithOwner;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Label {
+        private String name;
+        private String color;
+        private String description;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Connection<T> {
+        private List<T> nodes;
+    }
+
+    public GitHubPullRequestDto toPullRequestDto() {
+        GitHubPullRequestDto pr = new GitHubPullRequestDto();
+        pr.setId(databaseId);
+        pr.setNumber(number);
+        pr.setTitle(title);
+        pr.setBody(body);
+        pr.setHtmlUrl(url);
+        pr.setDiffUrl(url != null ? url + ".diff" : null);
+        pr.setState("OPEN".equals(state) ? "open" : "closed");
+        pr.setDraft(isDraft);
+        pr.setMerged(merged != null ? merged : "MERGED".equals(state));
+        pr.setMergeable("MERGEABLE".equals(mergeable) ? Boolean.TRUE
+                : "CONFLICTING".equals(mergeable) ? Boolean.FALSE : null);
+        pr.setMergeableState(mergeStateStatus != null ? mergeStateStatus.toLowerCase(Locale.ROOT) : null);
+        pr.setReviewDecision(reviewDecision);
+        pr.setCreatedAt(createdAt);
+        pr.setUpdatedAt(updatedAt);
+        pr.setMergedAt(mergedAt);
+        pr.setClosedAt(closedAt);
+
+        pr.setUser(user(author));
+        if (assignees != null && assignees.getNodes() != null) {
+            pr.setAssignees(assignees.getNodes().stream().map(GitHubGraphQlPullRequestDto::user).toList());
+            pr.setAssignee(pr.getAssignees().isEmpty() ? null : pr.getAssignees().get(0));
+        }
+        if (labels != null && labels.getNodes() != null) {
+            pr.setLabels(labels.getNodes().stream().map(l -> {
+                GitHubPullRequestDto.GitHubLabelDto label = new GitHubPullRequestDto.GitHubLabelDto();
+                label.setName(l.getName());
+                label.setColor(l.getColor());
+                label.setDescription(l.getDescription());
+                return label;
+            }).toList());
+        }
+        pr.setHead(branchRef(headRefName, headRefOid, headRepository));
+        pr.setBase(branchRef(baseRefName, baseRefOid, baseRepository));
+        return pr;
+    }
+
+    private static GitHubUserDto user(Actor actor) {
+        if (actor == null) return null;
+        GitHubUserDto user = new GitHubUserDto();
+        user.setId(actor.getDatabaseId());
+        user.setLogin(actor.getLogin());
+        user.setHtmlUrl(actor.getUrl());
+        return user;
+    }
+
+    private static GitHubPullRequestDto.GitHubBranchRef branchRef(String name, String sha, Repository repository) {
+        if (name == null) return null;
+        GitHubPullRequestDto.GitHubBranchRef ref = new GitHubPullRequestDto.GitHubBranchRef();
+        ref.setRef(name);
+        ref.setSha(sha);
+        if (repository != null) {
+            GitHubPullRequestDto.GitHubRepoRef repo = new GitHubPullRequestDto.GitHubRepoRef();
+            repo.setId(repository.getDatabaseId());
+            repo.setName(repository.getName());
+            repo.setFullName(repository.getNameWithOwner());
+            ref.setRepo(repo);
+            // REST labels a ref owner:branch
+            String nameWithOwner = repository.getNameWithOwner();
+            if (nameWithOwner != null && nameWithOwner.contains("/")) {
+                ref.setLabel(nameWithOwner.substring(0, nameWithOwner.indexOf('/')) + ":" + name);
+            }
+        }
+        return ref;
+    }
+}
@@ -49,6 +49,12 @@ public class GitHubPullRequestDto {
     @JsonProperty("mergeable_state")
     private String mergeableState;
 
+    private Boolean mergeable;
+
+    // GraphQL only (APPROVED, CHANGES_REQUESTED, REVIEW_REQUIRED); null from the REST API
+    @JsonProperty("review_decision")
+    private String reviewDecision;
+
     @JsonProperty("linked_issues")
     private List<String> linkedIssues;
 
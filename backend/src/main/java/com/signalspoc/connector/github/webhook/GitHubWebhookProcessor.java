@@ -0,0 +1,98 @@
+package com.signalspoc.connector.github.webhook;
+
+import com.signalspoc.connector.github.GitHubApiClient;
+import com.signalspoc.connector.github.GitHubConfig;
+import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import com.signalspoc.domain.entity.GitHubWebhookDelivery;
+import com.signalspoc.domain.repository.GitHubWebhookDeliveryRepository;
+import com.signalspoc.domain.service.SyncDiscrepancyDetector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the webhook inbox: every PR whose debounce window has passed is fetched once and run
+ * through SyncDiscrepancyDetector.checkPRDiscrepancies. Failures back off and are retried up to
+ * maxAttempts; after that the deliveries are closed with the error and the periodic full poll
+ * picks the PR up. Concurrent drains on several instances are safe — alert writes are deduplicated.
+ * Processed deliveries are purged once they are older than retention-days.
+ */
+@Component
+@ConditionalOnProperty(name = {"connectors.github.enabled", "connectors.github.webhook.enabled"}, havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GitHubWebhookProcessor {
+
+    private static final int DRAIN_BATCH_SIZE = 100;
+
+    private final GitHubWebhookDeliveryRepository deliveryRepository;
+    private final GitHubApiClient gitHubApiClient;
+    private final SyncDiscrepancyDetector detector;
+    private final GitHubConfig config;
+
+    @Scheduled(fixedDelayString = "${connectors.github.webhook.poll-interval-ms:2000}", initialDelay = 10000)
+    public void processDue() {
+        List<GitHubWebhookDelivery> due = deliveryRepository
+                .findByProcessedAtIsNullAndProcessAfterLessThanEqualOrderByReceivedAtAsc(
+                        LocalDateTime.now(), PageRequest.of(0, DRAIN_BATCH_SIZE));
+        if (due.isEmpty()) return;
+
+        Map<PrKey, List<GitHubWebhookDelivery>> byPr = due.stream()
+                .collect(Collectors.groupingBy(d -> new PrKey(d.getRepository(), d.getPrNumber()),
+                        LinkedHashMap::new, Collectors.toList()));
+        log.debug("Processing {} webhook delivery(ies) for {} PR(s)", due.size(), byPr.size());
+
+        byPr.forEach(this::process);
+    }
+
+    @Scheduled(fixedDelayString = "${connectors.github.webhook.purge-interval-ms:3600000}", initialDelay = 60000)
+    @Transactional
+    public void purgeProcessed() {
+        int purged = deliveryRepository.deleteProcessedBefore(
+                LocalDateTime.now().minusDays(Math.max(1, config.getWebhook().getRetentionDays())));
+        if (purged > 0) {
+            log.info("Purged {} processed webhook delivery(ies)", purged);
+        }
+    }
+
+    private void process(PrKey key, List<GitHubWebhookDelivery> deliveries) {
+        try {
+            String[] parts = key.repository().split("/");
+            GitHubPullRequestDto pr = gitHubApiClient.getPullRequest(parts[0], parts[1], key.prNumber());
+            if (pr != null) {
+                detector.checkPRDiscrepancies(pr);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            deliveries.forEach(d -> d.setProcessedAt(now));
+        } catch (Exception e) {
+            log.warn("Webhook re-check failed for {}#{}: {}", key.repository(), key.prNumber(), e.getMessage());
+            deliveries.forEach(d -> recordFailure(d, e));
+        }
+        deliveryRepository.saveAll(deliveries);
+    }
+
+    private void recordFailure(GitHubWebhookDelivery delivery, Exception e) {
+        int attempts = delivery.getAttempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        delivery.setAttempts(attempts);
+        delivery.setLastError(e.getMessage());
+        if (attempts >= config.getWebhook().getMaxAttempts()) {
+            delivery.setProcessedAt(now);
+        } else {
+            // Linear backoff in debounce-sized steps
+            delivery.setProcessAfter(now.plusSeconds((long) attempts * Math.max(1, config.getWebhook().getDebounceSeconds())));
+        }
+    }
+
+    private record PrKey(String repository, Integer prNumber) {}
+}
@@ -0,0 +1,136 @@
+package com.signalspoc.connector.github.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.connector.github.GitHubConfig;
+import com.signalspoc.domain.entity.GitHubWebhookDelivery;
+import com.signalspoc.domain.repository.GitHubWebhookDeliveryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Verifies and records GitHub webhook deliveries. Only the inbox write happens on the request
+ * thread; GitHubWebhookProcessor re-checks the PR once its debounce window has passed.
+ */
+@Service
+@ConditionalOnProperty(name = {"connectors.github.enabled", "connectors.github.webhook.enabled"}, havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GitHubWebhookService {
+
+    static final Set<String> PR_EVENTS = Set.of("pull_request", "pull_request_review");
+    private static final String SIGNATURE_PREFIX = "sha256=";
+
+    private final GitHubConfig config;
+    private final GitHubWebhookDeliveryRepository deliveryRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Receipt { ACCEPTED, DUPLICATE, IGNORED }
+
+    /**
+     * Checks X-Hub-Signature-256 against an HMAC-SHA256 of the raw body. Fails closed when no
+     * secret is configured.
+     */
+    public boolean verifySignature(byte[] body, String signatureHeader) {
+        String secret = config.getWebhook().getSecret();
+        if (secret == null || secret.isBlank()) {
+            log.warn("GitHub webhook delivery rejected: connectors.github.webhook.secret is not set");
+            return false;
+        }
+        if (signatureHeader == null || !signatureHeader.startsWith(SIGNATURE_PREFIX)) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] expected = mac.doFinal(body);
+            byte[] actual = HexFormat.of().parseHex(signatureHeader.substring(SIGNATURE_PREFIX.length()));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false; // not hex
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    /**
+     * Records a verified delivery for its PR and pushes the PR's pending deliveries out to the
+     * end of the new debounce window, but never past max-wait-seconds after the PR's first pending
+     * delivery, so a PR under a steady stream of events is still re-checked.
+     * Not transactional on purpose: a redelivery racing this one past the existsByDeliveryId check
+     * fails the insert on the delivery_id key, and must come back as DUPLICATE rather than a
+     * rolled-back transaction and a 500 that GitHub would retry.
+     */
+    public Receipt receive(String eventType, String deliveryId, byte[] body) {
+        if (!PR_EVENTS.contains(eventType)) {
+            return Receipt.IGNORED;
+        }
+        if (deliveryId == null || deliveryId.isBlank()) {
+            throw new IllegalArgumentException("Missing X-GitHub-Delivery header");
+        }
+        if (deliveryRepository.existsByDeliveryId(deliveryId)) {
+            return Receipt.DUPLICATE;
+        }
+
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed webhook payload", e);
+        }
+        String repository = payload.path("repository").path("full_name").asText(null);
+        int prNumber = payload.path("pull_request").path("number").asInt(0);
+        if (repository == null || prNumber <= 0) {
+            throw new IllegalArgumentException("Webhook payload has no repository or pull_request number");
+        }
+        if (!isConfiguredRepository(repository)) {
+            log.debug("Ignoring {} for unconfigured repository {}", eventType, repository);
+            return Receipt.IGNORED;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime processAfter = now.plusSeconds(Math.max(0, config.getWebhook().getDebounceSeconds()));
+        LocalDateTime firstPending = deliveryRepository.findFirstPendingReceivedAt(repository, prNumber);
+        LocalDateTime deadline = (firstPending != null ? firstPending : now)
+                .plusSeconds(Math.max(0, config.getWebhook().getMaxWaitSeconds()));
+        if (processAfter.isAfter(deadline)) {
+            processAfter = deadline.isAfter(now) ? deadline : now;
+        }
+        try {
+            deliveryRepository.saveAndFlush(GitHubWebhookDelivery.builder()
+                    .deliveryId(deliveryId)
+                    .eventType(eventType)
+                    .action(payload.path("action").asText(null))
+                    .repository(repository)
+                    .prNumber(prNumber)
+                    .receivedAt(now)
+                    .processAfter(processAfter)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("GitHub delivery {} already recorded by a concurrent request", deliveryId);
+            return Receipt.DUPLICATE;
+        }
+        deliveryRepository.postponePending(repository, prNumber, processAfter);
+
+        log.debug("Queued {} {} for {}#{}", eventType, deliveryId, repository, prNumber);
+        return Receipt.ACCEPTED;
+    }
+
+    private boolean isConfiguredRepository(String repository) {
+        return config.getRepositories() != null && config.getRepositories().stream()
+                .anyMatch(r -> r.trim().equalsIgnoreCase(repository));
+    }
+}
@@ -0,0 +1,35 @@
+package com.signalspoc.connector.model;
+
+import com.signalspoc.shared.model.Enums.SyncStatus;
+import lombok.Builder;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregated outcome of a multi-connector "sync everything" run: one SyncResult per PM connector.
+ */
+@Data
+@Builder
+public class CombinedSyncResult {
+
+    private SyncStatus status;
+    @Builder.Default
+    private List<SyncResult> results = new ArrayList<>();
+    private LocalDateTime syncStartTime;
+    private LocalDateTime syncEndTime;
+
+    /** Sums created/updated counts across all connectors (connectorType is left null). */
+    public SyncResult totals() {
+        SyncResult totals = SyncResult.builder().status(status).build();
+        results.forEach(totals::merge);
+        return totals;
+    }
+
+    public static SyncStatus combinedStatus(List<SyncResult> results) {
+        return results.stream().allMatch(r -> r.getStatus() == SyncStatus.SUCCESS)
+                ? SyncStatus.SUCCESS
+                : SyncStatus.FAILED;
+    }
+}
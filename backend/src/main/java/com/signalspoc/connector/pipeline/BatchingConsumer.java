@@ -0,0 +1,40 @@
+package com.signalspoc.connector.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Buffers streamed items and hands them to the sink in batches of at most {@code batchSize}, so a
+ * streamed fetch can be written while it is still being read. Call {@link #flush()} once the
+ * stream ends to write the final partial batch.
+ */
+public final class BatchingConsumer<T> implements Consumer<T> {
+
+    private final int batchSize;
+    private final Consumer<List<T>> sink;
+    private List<T> buffer;
+
+    public BatchingConsumer(int batchSize, Consumer<List<T>> sink) {
+        this.batchSize = Math.max(1, batchSize);
+        this.sink = sink;
+        this.buffer = new ArrayList<>(this.batchSize);
+    }
+
+    @Override
+    public void accept(T item) {
+        buffer.add(item);
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<T> batch = buffer;
+        buffer = new ArrayList<>(batchSize);
+        sink.accept(batch);
+    }
+}
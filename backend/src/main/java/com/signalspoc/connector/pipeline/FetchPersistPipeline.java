@@ -0,0 +1,122 @@
+package com.signalspoc.connector.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Producer/consumer pipeline that overlaps connector API fetches with database writes.
+ *
+ * Fetcher threads call {@code fetcher} for each source (e.g. an Asana project) in parallel and
+ * hand the fetched chunk to a bounded queue. The calling thread is the single persist stage: it
+ * drains chunks into {@code persister}, so writes stay on the caller's transaction. When the
+ * queue is full, fetchers block (backpressure) instead of buffering the whole workspace in memory.
+ */
+@Slf4j
+public final class FetchPersistPipeline<S, T> {
+
+    private final String name;
+    private final int fetchThreads;
+    private final int queueCapacity;
+
+    public FetchPersistPipeline(String name, int fetchThreads, int queueCapacity) {
+        this.name = name;
+        this.fetchThreads = Math.max(1, fetchThreads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    public PipelineStats run(List<S> sources, Function<S, List<T>> fetcher, Consumer<List<T>> persister) {
+        long startNanos = System.nanoTime();
+        if (sources.isEmpty()) {
+            return new PipelineStats(0, 0, 0, 0, 0, 0);
+        }
+
+        BlockingQueue<Chunk<T>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicLong producerStallNanos = new AtomicLong();
+        AtomicInteger maxQueueDepth = new AtomicInteger();
+        ExecutorService fetchPool = Executors.newFixedThreadPool(
+                Math.min(fetchThreads, sources.size()), namedThreads(name + "-fetch-"));
+
+        try {
+            for (S source : sources) {
+                fetchPool.execute(() -> {
+                    Chunk<T> chunk;
+                    try {
+                        chunk = new Chunk<>(fetcher.apply(source), null);
+                    } catch (Exception e) {
+                        chunk = new Chunk<>(null, e);
+                    }
+                    try {
+                        long putStart = System.nanoTime();
+                        queue.put(chunk);
+                        producerStallNanos.addAndGet(System.nanoTime() - putStart);
+                        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            // Every source yields exactly one chunk (data or error), so the persist stage
+            // knows when it is done without a poison pill.
+            long consumerStallNanos = 0;
+            long persistNanos = 0;
+            int items = 0;
+            for (int i = 0; i < sources.size(); i++) {
+                long takeStart = System.nanoTime();
+                Chunk<T> chunk = queue.take();
+                consumerStallNanos += System.nanoTime() - takeStart;
+
+                if (chunk.error() != null) {
+                    throw chunk.error() instanceof RuntimeException re ? re : new RuntimeException(chunk.error());
+                }
+                long persistStart = System.nanoTime();
+                persister.accept(chunk.items());
+                persistNanos += System.nanoTime() - persistStart;
+                items += chunk.items().size();
+            }
+
+            PipelineStats stats = new PipelineStats(items, maxQueueDepth.get(),
+                    producerStallNanos.get() / 1_000_000, consumerStallNanos / 1_000_000,
+                    persistNanos / 1_000_000, (System.nanoTime() - startNanos) / 1_000_000);
+            log.info("{} pipeline: {} item(s) from {} source(s) in {} ms (persist {} ms, max queue depth {}/{}, " +
+                            "fetcher stall {} ms, persist stall {} ms)",
+                    name, stats.items(), sources.size(), stats.totalMillis(), stats.persistMillis(),
+                    stats.maxQueueDepth(), queueCapacity, stats.producerStallMillis(), stats.consumerStallMillis());
+            return stats;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " pipeline interrupted", e);
+        } finally {
+            fetchPool.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Chunk<T>(List<T> items, Exception error) {}
+
+    /**
+     * Backpressure metrics for one run. A high producer stall means the database is the bottleneck;
+     * a high consumer stall means the API is.
+     */
+    public record PipelineStats(int items, int maxQueueDepth, long producerStallMillis,
+                                long consumerStallMillis, long persistMillis, long totalMillis) {}
+}
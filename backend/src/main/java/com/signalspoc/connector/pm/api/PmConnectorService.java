@@ -3,6 +3,8 @@ package com.signalspoc.connector.pm.api;
 import com.signalspoc.connector.api.ConnectorService;
 import com.signalspoc.connector.model.SyncResult;
 
+import java.time.OffsetDateTime;
+
 /**
  * Interface for PM tool connectors (Asana, Linear, and future tools like Jira).
  * Extends the base identity/test interface with full sync and write-back capabilities.
@@ -11,6 +13,14 @@ public interface PmConnectorService extends ConnectorService {
 
     SyncResult syncAll();
 
+    /**
+     * Delta sync: pulls only entities the provider reports as modified after {@code modifiedSince}.
+     * Connectors without a provider-side change filter fall back to a full sync.
+     */
+    default SyncResult syncIncremental(OffsetDateTime modifiedSince) {
+        return syncAll();
+    }
+
     SyncResult syncProjects();
 
     SyncResult syncTasks();
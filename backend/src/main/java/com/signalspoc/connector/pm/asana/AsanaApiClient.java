@@ -1,42 +1,60 @@
 package com.signalspoc.connector.pm.asana;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.signalspoc.connector.pm.asana.dto.*;
 import com.signalspoc.shared.exception.Exceptions.ConnectorException;
+import com.signalspoc.shared.http.ConnectorHttpTransportFactory;
+import com.signalspoc.shared.http.JsonPageReader;
+import com.signalspoc.shared.http.OutboundHttpInterceptorFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
-import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Component
 @ConditionalOnProperty(name = "connectors.asana.enabled", havingValue = "true")
 @Slf4j
 public class AsanaApiClient {
 
+    private static final List<String> DATA_PATH = List.of("data");
+
     private final AsanaConfig config;
     private final RestTemplate restTemplate;
+    private final JsonPageReader pageReader;
 
-    public AsanaApiClient(AsanaConfig config, RestTemplateBuilder restTemplateBuilder) {
+    public AsanaApiClient(AsanaConfig config, RestTemplateBuilder restTemplateBuilder,
+                          OutboundHttpInterceptorFactory interceptorFactory,
+                          ConnectorHttpTransportFactory transportFactory, ObjectMapper objectMapper) {
         this.config = config;
-        this.restTemplate = createRestTemplate(restTemplateBuilder);
+        this.pageReader = new JsonPageReader(objectMapper);
+        this.restTemplate = createRestTemplate(restTemplateBuilder, interceptorFactory, transportFactory);
     }
 
-    private RestTemplate createRestTemplate(RestTemplateBuilder builder) {
+    private RestTemplate createRestTemplate(RestTemplateBuilder builder, OutboundHttpInterceptorFactory interceptorFactory,
+                                            ConnectorHttpTransportFactory transportFactory) {
+        ClientHttpRequestFactory requestFactory = transportFactory.create("asana", config.getTimeoutSeconds());
         return builder
-                .setConnectTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
-                .setReadTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
+                .requestFactory(() -> requestFactory)
                 .additionalInterceptors((request, body, execution) -> {
                     request.getHeaders().set("Authorization", "Bearer " + config.getApiKey());
                     request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
                     return execution.execute(request, body);
                 })
+                // One bucket for the whole client, shared by the parallel story fetchers
+                .additionalInterceptors(interceptorFactory.create("asana",
+                        config.getRateLimit().getRequestsPerMinute(), config.getRetryAttempts(), false))
                 .build();
     }
 
@@ -58,12 +76,12 @@ public class AsanaApiClient {
 
     public List<AsanaWorkspaceDto> getWorkspaces() {
         String url = config.getApiUrl() + "/workspaces?limit=100";
-        return fetchAllPages(url, new ParameterizedTypeReference<>() {});
+        return fetchAllPages(url, AsanaWorkspaceDto.class);
     }
 
     public List<AsanaProjectDto> getProjects(String workspaceGid) {
         String url = config.getApiUrl() + "/workspaces/" + workspaceGid + "/projects?opt_fields=name,owner,created_at,modified_at,current_status&limit=100";
-        return fetchAllPages(url, new ParameterizedTypeReference<>() {});
+        return fetchAllPages(url, AsanaProjectDto.class);
     }
 
     public List<AsanaProjectDto> getAllProjects() {
@@ -84,8 +102,30 @@ public class AsanaApiClient {
     }
 
     public List<AsanaTaskDto> getTasksForProject(String projectGid) {
+        List<AsanaTaskDto> tasks = new ArrayList<>();
+        forEachTaskInProject(projectGid, tasks::add);
+        return tasks;
+    }
+
+    public void forEachTaskInProject(String projectGid, Consumer<AsanaTaskDto> consumer) {
         String url = config.getApiUrl() + "/projects/" + projectGid + "/tasks?opt_fields=name,notes,assignee,due_on,completed,created_at,modified_at&limit=100";
-        return fetchAllPages(url, new ParameterizedTypeReference<>() {});
+        streamAllPages(url, AsanaTaskDto.class, consumer);
+    }
+
+    /**
+     * Tasks in the project modified after {@code modifiedSince}; Asana also returns tasks whose
+     * stories (comments) changed, so this doubles as the comment delta.
+     */
+    public List<AsanaTaskDto> getTasksForProject(String projectGid, OffsetDateTime modifiedSince) {
+        List<AsanaTaskDto> tasks = new ArrayList<>();
+        forEachTaskInProject(projectGid, modifiedSince, tasks::add);
+        return tasks;
+    }
+
+    public void forEachTaskInProject(String projectGid, OffsetDateTime modifiedSince, Consumer<AsanaTaskDto> consumer) {
+        String url = config.getApiUrl() + "/projects/" + projectGid + "/tasks?opt_fields=name,notes,assignee,due_on,completed,created_at,modified_at&limit=100"
+                + "&modified_since=" + modifiedSince.withOffsetSameInstant(ZoneOffset.UTC).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        streamAllPages(url, AsanaTaskDto.class, consumer);
     }
 
     public AsanaTaskDto getTask(String taskGid) {
@@ -100,7 +140,7 @@ public class AsanaApiClient {
 
     public List<AsanaUserDto> getUsers(String workspaceGid) {
         String url = config.getApiUrl() + "/users?workspace=" + workspaceGid + "&opt_fields=name,email&limit=100";
-        return fetchAllPages(url, new ParameterizedTypeReference<>() {});
+        return fetchAllPages(url, AsanaUserDto.class);
     }
 
     public List<AsanaUserDto> getAllUsers() {
@@ -116,8 +156,14 @@ public class AsanaApiClient {
     }
 
     public List<AsanaStoryDto> getStoriesForTask(String taskGid) {
+        List<AsanaStoryDto> stories = new ArrayList<>();
+        forEachStory(taskGid, stories::add);
+        return stories;
+    }
+
+    public void forEachStory(String taskGid, Consumer<AsanaStoryDto> consumer) {
         String url = config.getApiUrl() + "/tasks/" + taskGid + "/stories?opt_fields=text,created_by,created_at,type&limit=100";
-        return fetchAllPages(url, new ParameterizedTypeReference<>() {});
+        streamAllPages(url, AsanaStoryDto.class, consumer);
     }
 
     public void updateTask(String taskGid, Map<String, Object> fields) {
@@ -151,41 +197,33 @@ public class AsanaApiClient {
         log.info("Marked Asana task {} as complete", taskGid);
     }
 
-    private <T> List<T> fetchAllPages(String url, ParameterizedTypeReference<AsanaResponse<List<T>>> typeRef) {
+    private <T> List<T> fetchAllPages(String url, Class<T> itemType) {
         List<T> allData = new ArrayList<>();
+        streamAllPages(url, itemType, allData::add);
+        return allData;
+    }
+
+    /**
+     * Streams every item of a paged endpoint to the consumer, parsing each page's {@code data}
+     * array incrementally so at most one item is held in memory, not the whole page or result.
+     */
+    private <T> void streamAllPages(String url, Class<T> itemType, Consumer<T> consumer) {
         String nextUrl = url;
         String baseDomain = config.getApiUrl().replaceAll("/api/1\\.0$", "");
 
         while (nextUrl != null) {
             try {
-                ResponseEntity<AsanaResponse<List<T>>> response = restTemplate.exchange(
-                        nextUrl,
-                        HttpMethod.GET,
-                        null,
-                        typeRef
-                );
-
-                AsanaResponse<List<T>> body = response.getBody();
-                if (body != null && body.getData() != null) {
-                    allData.addAll(body.getData());
-
-                    if (body.getNextPage() != null && body.getNextPage().getUri() != null) {
-                        String uri = body.getNextPage().getUri();
-                        nextUrl = uri.startsWith("http") ? uri : baseDomain + uri;
-                    } else {
-                        nextUrl = null;
-                    }
-                } else {
-                    nextUrl = null;
-                }
+                JsonPageReader.Page page = restTemplate.execute(nextUrl, HttpMethod.GET, null,
+                        response -> pageReader.read(response.getBody(), DATA_PATH, itemType, consumer));
+
+                String uri = page != null ? page.envelope().path("next_page").path("uri").textValue() : null;
+                nextUrl = uri == null ? null : uri.startsWith("http") ? uri : baseDomain + uri;
 
             } catch (RestClientException e) {
                 log.error("Error fetching from Asana API: {}", url, e);
                 throw new ConnectorException("ASANA", "Failed to fetch data: " + e.getMessage(), e);
             }
         }
-
-        return allData;
     }
 
     private <T> T fetchSingle(String url, ParameterizedTypeReference<AsanaResponse<T>> typeRef) {
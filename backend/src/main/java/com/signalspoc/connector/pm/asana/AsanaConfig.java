@@ -21,7 +21,9 @@ public class AsanaConfig {
 
     private int retryAttempts = 3;
 
-    private RateLimitConfig rateLimit;
+    private RateLimitConfig rateLimit = new RateLimitConfig();
+
+    private PipelineConfig pipeline = new PipelineConfig();
 
     public boolean isConfigured() {
         return enabled && apiKey != null && !apiKey.isBlank();
@@ -31,4 +33,12 @@ public class AsanaConfig {
     public static class RateLimitConfig {
         private int requestsPerMinute = 150;
     }
+
+    @Data
+    public static class PipelineConfig {
+        // Projects fetched concurrently while the previous chunks are written
+        private int fetchThreads = 4;
+        // Fetched project task lists buffered ahead of the persist stage
+        private int queueCapacity = 8;
+    }
 }
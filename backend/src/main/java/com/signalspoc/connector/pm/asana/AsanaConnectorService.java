@@ -3,15 +3,22 @@ package com.signalspoc.connector.pm.asana;
 import com.signalspoc.connector.pm.asana.dto.*;
 import com.signalspoc.connector.pm.api.PmConnectorService;
 import com.signalspoc.connector.model.*;
+import com.signalspoc.connector.pipeline.FetchPersistPipeline;
 import com.signalspoc.domain.service.*;
 import com.signalspoc.shared.model.Enums.ConnectorType;
 import com.signalspoc.shared.model.Enums.SyncStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,11 +28,13 @@ import java.util.stream.Collectors;
 public class AsanaConnectorService implements PmConnectorService {
 
     private final AsanaApiClient apiClient;
+    private final AsanaConfig config;
     private final AsanaMapper mapper;
     private final UserService userService;
     private final ProjectService projectService;
     private final TaskService taskService;
     private final CommentService commentService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public ConnectorType getConnectorType() {
@@ -39,14 +48,22 @@ public class AsanaConnectorService implements PmConnectorService {
         result.setSyncStartTime(startTime);
 
         try {
-            // Sync in order: Users -> Projects -> Tasks -> Comments
-            result.merge(syncUsers());
-            result.merge(syncProjects());
-            result.merge(syncTasks());
-            result.merge(syncComments());
+            // One snapshot per run: the project list and each project's tasks are fetched once
+            // and shared by all four phases instead of being re-listed by every phase
+            AsanaSyncSnapshot snapshot = new AsanaSyncSnapshot(apiClient);
+            UserFetches users = new UserFetches();
+
+            // Sync in order: Users -> Projects -> Tasks -> Comments. Only project owners are written
+            // up front; task assignees are fetched by the task pipeline together with the tasks that
+            // reference them and written just before those tasks, so task fetches still overlap writes.
+            result.merge(writeUsers(users.unwritten(users.fetch(ownerGids(snapshot.projects())))));
+            result.merge(syncProjects(snapshot));
+            result.merge(syncTasks(snapshot, users));
+            result.merge(syncComments(snapshot));
 
             result.setStatus(SyncStatus.SUCCESS);
             result.setSyncEndTime(LocalDateTime.now());
+            log.info("Asana sync snapshot: {} list call(s), {} reused", snapshot.apiCalls(), snapshot.hits());
 
         } catch (Exception e) {
             log.error("Error during Asana sync", e);
@@ -58,41 +75,123 @@ public class AsanaConnectorService implements PmConnectorService {
         return result;
     }
 
+    /**
+     * Delta sync: projects are listed once and re-upserted (a single paged call per workspace),
+     * then only tasks Asana reports as modified since {@code modifiedSince} are fetched. Users are
+     * resolved for those tasks alone and stories are pulled only for the changed tasks, since a new
+     * comment also bumps its task's modified_at.
+     */
+    @Override
+    public SyncResult syncIncremental(OffsetDateTime modifiedSince) {
+        LocalDateTime startTime = LocalDateTime.now();
+        SyncResult result = SyncResult.empty(ConnectorType.ASANA);
+        result.setSyncStartTime(startTime);
+
+        try {
+            log.info("Starting Asana delta sync (modified since {})", modifiedSince);
+            List<AsanaProjectDto> projects = apiClient.getAllProjects();
+
+            Map<String, List<AsanaTaskDto>> changedTasksByProject = new LinkedHashMap<>();
+            for (AsanaProjectDto project : projects) {
+                List<AsanaTaskDto> changed = apiClient.getTasksForProject(project.getGid(), modifiedSince);
+                if (!changed.isEmpty()) {
+                    changedTasksByProject.put(project.getGid(), changed);
+                }
+            }
+
+            Set<String> userGids = new HashSet<>();
+            changedTasksByProject.values().forEach(tasks -> tasks.stream()
+                    .filter(t -> t.getAssignee() != null && t.getAssignee().getGid() != null)
+                    .forEach(t -> userGids.add(t.getAssignee().getGid())));
+
+            // Same dependency order as a full sync: Users -> Projects -> Tasks -> Comments
+            result.merge(upsertUsers(userGids));
+            result.merge(upsertProjects(projects));
+            for (Map.Entry<String, List<AsanaTaskDto>> entry : changedTasksByProject.entrySet()) {
+                result.merge(upsertTasks(entry.getKey(), entry.getValue()));
+            }
+            Map<String, AsanaSyncSnapshot.TaskRef> changedTasks = new LinkedHashMap<>();
+            changedTasksByProject.values().forEach(tasks -> tasks.forEach(task ->
+                    changedTasks.putIfAbsent(task.getGid(), new AsanaSyncSnapshot.TaskRef(task.getGid(), task.getModifiedAt()))));
+            result.merge(syncStories(changedTasks.values()));
+
+            result.setStatus(SyncStatus.SUCCESS);
+            result.setSyncEndTime(LocalDateTime.now());
+            log.info("Asana delta sync touched {} changed task(s) across {} project(s)",
+                    changedTasksByProject.values().stream().mapToInt(List::size).sum(), changedTasksByProject.size());
+
+        } catch (Exception e) {
+            log.error("Error during Asana delta sync", e);
+            result.setStatus(SyncStatus.FAILED);
+            result.setErrorMessage(e.getMessage());
+            result.setSyncEndTime(LocalDateTime.now());
+        }
+
+        return result;
+    }
+
     @Override
     public SyncResult syncUsers() {
+        return syncUsers(new AsanaSyncSnapshot(apiClient));
+    }
+
+    private SyncResult syncUsers(AsanaSyncSnapshot snapshot) {
         log.info("Syncing users from Asana (extracting from projects and tasks)");
-        SyncResult result = SyncResult.empty(ConnectorType.ASANA);
 
         // Instead of fetching ALL workspace users (can be thousands in large orgs),
         // only sync users referenced by tasks and projects we care about.
-        Set<String> userGids = new HashSet<>();
-        List<AsanaProjectDto> projects = apiClient.getAllProjects();
+        List<AsanaProjectDto> projects = snapshot.projects();
+        Set<String> userGids = ownerGids(projects);
+
+        for (AsanaProjectDto project : projects) {
+            userGids.addAll(assigneeGids(snapshot.fetchTasks(project.getGid())));
+        }
+
+        return upsertUsers(userGids);
+    }
 
+    private static Set<String> ownerGids(List<AsanaProjectDto> projects) {
+        Set<String> gids = new HashSet<>();
         for (AsanaProjectDto project : projects) {
             if (project.getOwner() != null && project.getOwner().getGid() != null) {
-                userGids.add(project.getOwner().getGid());
+                gids.add(project.getOwner().getGid());
             }
-            List<AsanaTaskDto> tasks = apiClient.getTasksForProject(project.getGid());
-            for (AsanaTaskDto task : tasks) {
-                if (task.getAssignee() != null && task.getAssignee().getGid() != null) {
-                    userGids.add(task.getAssignee().getGid());
-                }
+        }
+        return gids;
+    }
+
+    private static Set<String> assigneeGids(List<AsanaTaskDto> tasks) {
+        Set<String> gids = new HashSet<>();
+        for (AsanaTaskDto task : tasks) {
+            if (task.getAssignee() != null && task.getAssignee().getGid() != null) {
+                gids.add(task.getAssignee().getGid());
             }
         }
+        return gids;
+    }
 
+    private SyncResult upsertUsers(Set<String> userGids) {
         // Fetch full user details for each referenced user
         List<ConnectorUser> connectorUsers = userGids.stream()
-                .map(gid -> {
-                    try {
-                        AsanaUserDto user = apiClient.getUser(gid);
-                        return user != null ? mapper.toConnectorUser(user) : null;
-                    } catch (Exception e) {
-                        log.warn("Failed to fetch Asana user {}: {}", gid, e.getMessage());
-                        return null;
-                    }
-                })
+                .map(this::fetchUser)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return writeUsers(connectorUsers);
+    }
+
+    private ConnectorUser fetchUser(String gid) {
+        try {
+            AsanaUserDto user = apiClient.getUser(gid);
+            return user != null ? mapper.toConnectorUser(user) : null;
+        } catch (Exception e) {
+            log.warn("Failed to fetch Asana user {}: {}", gid, e.getMessage());
+            return null;
+        }
+    }
+
+    private SyncResult writeUsers(List<ConnectorUser> connectorUsers) {
+        SyncResult result = SyncResult.empty(ConnectorType.ASANA);
+        if (connectorUsers.isEmpty()) return result;
 
         List<UserService.UpsertResult<com.signalspoc.domain.entity.User>> results =
                 userService.upsertAll(connectorUsers);
@@ -108,10 +207,17 @@ public class AsanaConnectorService implements PmConnectorService {
 
     @Override
     public SyncResult syncProjects() {
+        return syncProjects(new AsanaSyncSnapshot(apiClient));
+    }
+
+    private SyncResult syncProjects(AsanaSyncSnapshot snapshot) {
         log.info("Syncing projects from Asana");
+        return upsertProjects(snapshot.projects());
+    }
+
+    private SyncResult upsertProjects(List<AsanaProjectDto> projects) {
         SyncResult result = SyncResult.empty(ConnectorType.ASANA);
 
-        List<AsanaProjectDto> projects = apiClient.getAllProjects();
         List<ConnectorProject> connectorProjects = projects.stream()
                 .map(mapper::toConnectorProject)
                 .toList();
@@ -128,72 +234,179 @@ public class AsanaConnectorService implements PmConnectorService {
         return result;
     }
 
+    /**
+     * Fetches project task lists on parallel fetcher threads while this thread upserts the chunks
+     * already fetched, so total time tends towards max(fetch, write) rather than their sum.
+     */
     @Override
     public SyncResult syncTasks() {
+        return syncTasks(new AsanaSyncSnapshot(apiClient), null);
+    }
+
+    /**
+     * @param users when non-null, each project's assignees are fetched on the fetcher thread along
+     *              with its tasks and written just before them
+     */
+    private SyncResult syncTasks(AsanaSyncSnapshot snapshot, UserFetches users) {
         log.info("Syncing tasks from Asana");
         SyncResult result = SyncResult.empty(ConnectorType.ASANA);
 
-        List<AsanaProjectDto> projects = apiClient.getAllProjects();
-        int totalCreated = 0;
-        int totalUpdated = 0;
+        List<AsanaProjectDto> projects = snapshot.projects();
+        int[] totals = new int[2];
+
+        FetchPersistPipeline<AsanaProjectDto, ProjectTasks> pipeline = new FetchPersistPipeline<>(
+                "asana-tasks", config.getPipeline().getFetchThreads(), config.getPipeline().getQueueCapacity());
+        FetchPersistPipeline.PipelineStats stats = pipeline.run(projects,
+                project -> {
+                    List<AsanaTaskDto> tasks = snapshot.fetchTasks(project.getGid());
+                    return List.of(new ProjectTasks(
+                            users != null ? users.fetch(assigneeGids(tasks)) : List.of(),
+                            tasks.stream().map(t -> mapper.toConnectorTask(t, project.getGid())).toList()));
+                },
+                fetched -> fetched.forEach(projectTasks -> {
+                    if (users != null) {
+                        result.merge(writeUsers(users.unwritten(projectTasks.assignees())));
+                    }
+                    List<UserService.UpsertResult<com.signalspoc.domain.entity.Task>> results =
+                            taskService.upsertAll(projectTasks.tasks());
+                    totals[0] += (int) results.stream().filter(UserService.UpsertResult::created).count();
+                    totals[1] += (int) results.stream().filter(r -> !r.created()).count();
+                }));
+        recordPipelineMetrics("tasks", stats);
 
-        for (AsanaProjectDto project : projects) {
-            List<AsanaTaskDto> tasks = apiClient.getTasksForProject(project.getGid());
-            List<ConnectorTask> connectorTasks = tasks.stream()
-                    .map(t -> mapper.toConnectorTask(t, project.getGid()))
-                    .toList();
+        result.setTasksCreated(totals[0]);
+        result.setTasksUpdated(totals[1]);
+
+        log.info("Synced {} tasks from Asana ({} created, {} updated)",
+                totals[0] + totals[1], totals[0], totals[1]);
 
-            List<UserService.UpsertResult<com.signalspoc.domain.entity.Task>> results =
-                    taskService.upsertAll(connectorTasks);
+        return result;
+    }
 
-            totalCreated += (int) results.stream().filter(UserService.UpsertResult::created).count();
-            totalUpdated += (int) results.stream().filter(r -> !r.created()).count();
+    private record ProjectTasks(List<ConnectorUser> assignees, List<ConnectorTask> tasks) {}
+
+    /**
+     * The Asana users one full sync references. Each is fetched once, by whichever fetcher thread
+     * needs it first (others wait for that fetch), and written once, by the persist thread.
+     */
+    private final class UserFetches {
+        private final Map<String, CompletableFuture<ConnectorUser>> fetches = new ConcurrentHashMap<>();
+        // Persist thread only
+        private final Set<String> written = new HashSet<>();
+
+        List<ConnectorUser> fetch(Collection<String> gids) {
+            List<ConnectorUser> users = new ArrayList<>(gids.size());
+            for (String gid : gids) {
+                CompletableFuture<ConnectorUser> mine = new CompletableFuture<>();
+                CompletableFuture<ConnectorUser> existing = fetches.putIfAbsent(gid, mine);
+                if (existing == null) {
+                    mine.complete(fetchUser(gid));
+                }
+                ConnectorUser user = (existing != null ? existing : mine).join();
+                if (user != null) users.add(user);
+            }
+            return users;
         }
 
-        result.setTasksCreated(totalCreated);
-        result.setTasksUpdated(totalUpdated);
+        List<ConnectorUser> unwritten(List<ConnectorUser> users) {
+            return users.stream().filter(u -> written.add(u.getExternalId())).toList();
+        }
+    }
 
-        log.info("Synced {} tasks from Asana ({} created, {} updated)",
-                totalCreated + totalUpdated, totalCreated, totalUpdated);
+    private SyncResult upsertTasks(String projectGid, List<AsanaTaskDto> tasks) {
+        SyncResult result = SyncResult.empty(ConnectorType.ASANA);
+
+        List<UserService.UpsertResult<com.signalspoc.domain.entity.Task>> results =
+                taskService.upsertAll(tasks.stream().map(t -> mapper.toConnectorTask(t, projectGid)).toList());
 
+        result.setTasksCreated((int) results.stream().filter(UserService.UpsertResult::created).count());
+        result.setTasksUpdated((int) results.stream().filter(r -> !r.created()).count());
         return result;
     }
 
+    private void recordPipelineMetrics(String phase, FetchPersistPipeline.PipelineStats stats) {
+        Tags tags = Tags.of("connector", "asana", "phase", phase);
+        meterRegistry.summary("signals.sync.pipeline.queue.depth.max", tags).record(stats.maxQueueDepth());
+        meterRegistry.timer("signals.sync.pipeline.stall", tags.and("stage", "fetch"))
+                .record(Duration.ofMillis(stats.producerStallMillis()));
+        meterRegistry.timer("signals.sync.pipeline.stall", tags.and("stage", "persist"))
+                .record(Duration.ofMillis(stats.consumerStallMillis()));
+    }
+
     @Override
     public SyncResult syncComments() {
+        return syncComments(new AsanaSyncSnapshot(apiClient));
+    }
+
+    private SyncResult syncComments(AsanaSyncSnapshot snapshot) {
         log.info("Syncing comments from Asana");
+
+        // Multi-homed tasks appear under several projects; their stories are fetched once
+        Map<String, AsanaSyncSnapshot.TaskRef> tasks = new LinkedHashMap<>();
+        for (AsanaProjectDto project : snapshot.projects()) {
+            snapshot.taskRefs(project.getGid()).forEach(task -> tasks.putIfAbsent(task.gid(), task));
+        }
+        return syncStories(tasks.values());
+    }
+
+    /**
+     * Fetches stories on the pipeline's fetcher threads (all requests share the client's rate
+     * limiter) while this thread upserts the comments. Tasks whose modified_at still matches the
+     * value recorded at their last comment fetch are skipped: a new comment bumps modified_at.
+     */
+    private SyncResult syncStories(Collection<AsanaSyncSnapshot.TaskRef> tasks) {
         SyncResult result = SyncResult.empty(ConnectorType.ASANA);
 
-        List<AsanaProjectDto> projects = apiClient.getAllProjects();
-        int totalCreated = 0;
-        int totalUpdated = 0;
+        Map<String, LocalDateTime> markers = taskService.findCommentSyncMarkers(ConnectorType.ASANA,
+                tasks.stream().map(AsanaSyncSnapshot.TaskRef::gid).toList());
+        List<AsanaSyncSnapshot.TaskRef> changed = tasks.stream()
+                .filter(t -> t.modifiedAt() == null || !t.modifiedAt().equals(markers.get(t.gid())))
+                .toList();
 
-        for (AsanaProjectDto project : projects) {
-            List<AsanaTaskDto> tasks = apiClient.getTasksForProject(project.getGid());
+        Map<String, LocalDateTime> fetchedAt = new HashMap<>();
+        int[] totals = new int[2];
+
+        FetchPersistPipeline<AsanaSyncSnapshot.TaskRef, TaskStories> pipeline = new FetchPersistPipeline<>(
+                "asana-stories", config.getPipeline().getFetchThreads(), config.getPipeline().getQueueCapacity());
+        FetchPersistPipeline.PipelineStats stats = pipeline.run(changed,
+                task -> List.of(new TaskStories(task, apiClient.getStoriesForTask(task.gid()))),
+                fetched -> fetched.forEach(taskStories -> {
+                    AsanaSyncSnapshot.TaskRef task = taskStories.task();
+                    SyncResult taskResult = upsertComments(task.gid(), taskStories.stories());
+                    totals[0] += taskResult.getCommentsCreated();
+                    totals[1] += taskResult.getCommentsUpdated();
+                    if (task.modifiedAt() != null) {
+                        fetchedAt.put(task.gid(), task.modifiedAt());
+                    }
+                }));
+        recordPipelineMetrics("comments", stats);
+        taskService.markCommentsSynced(ConnectorType.ASANA, fetchedAt);
 
-            for (AsanaTaskDto task : tasks) {
-                List<AsanaStoryDto> stories = apiClient.getStoriesForTask(task.getGid());
+        result.setCommentsCreated(totals[0]);
+        result.setCommentsUpdated(totals[1]);
 
-                // Filter only comment stories
-                List<ConnectorComment> connectorComments = stories.stream()
-                        .filter(s -> "comment".equals(s.getType()))
-                        .map(s -> mapper.toConnectorComment(s, task.getGid()))
-                        .toList();
+        log.info("Synced {} comments from Asana ({} created, {} updated); {} of {} task(s) unchanged since last fetch",
+                totals[0] + totals[1], totals[0], totals[1], tasks.size() - changed.size(), tasks.size());
+
+        return result;
+    }
 
-                List<UserService.UpsertResult<com.signalspoc.domain.entity.Comment>> results =
-                        commentService.upsertAll(connectorComments);
+    private record TaskStories(AsanaSyncSnapshot.TaskRef task, List<AsanaStoryDto> stories) {}
 
-                totalCreated += (int) results.stream().filter(UserService.UpsertResult::created).count();
-                totalUpdated += (int) results.stream().filter(r -> !r.created()).count();
-            }
-        }
+    private SyncResult upsertComments(String taskGid, List<AsanaStoryDto> stories) {
+        SyncResult result = SyncResult.empty(ConnectorType.ASANA);
 
-        result.setCommentsCreated(totalCreated);
-        result.setCommentsUpdated(totalUpdated);
+        // Filter only comment stories
+        List<ConnectorComment> connectorComments = stories.stream()
+                .filter(s -> "comment".equals(s.getType()))
+                .map(s -> mapper.toConnectorComment(s, taskGid))
+                .toList();
 
-        log.info("Synced {} comments from Asana ({} created, {} updated)",
-                totalCreated + totalUpdated, totalCreated, totalUpdated);
+        List<UserService.UpsertResult<com.signalspoc.domain.entity.Comment>> results =
+                commentService.upsertAll(connectorComments);
 
+        result.setCommentsCreated((int) results.stream().filter(UserService.UpsertResult::created).count());
+        result.setCommentsUpdated((int) results.stream().filter(r -> !r.created()).count());
         return result;
     }
 
@@ -0,0 +1,80 @@
+package com.signalspoc.connector.pm.asana;
+
+import com.signalspoc.connector.pm.asana.dto.AsanaProjectDto;
+import com.signalspoc.connector.pm.asana.dto.AsanaTaskDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sync-scoped view of the workspace → project → task graph. The project list and each project's
+ * task list are fetched from Asana at most once per snapshot and then shared by every sync phase.
+ * Full task DTOs are handed to the caller and not kept: the snapshot only remembers each task's
+ * gid and modified_at, which is all the comment phase needs. Not a cache: a new snapshot is
+ * created per run so nothing outlives the sync that loaded it.
+ */
+class AsanaSyncSnapshot {
+
+    record TaskRef(String gid, LocalDateTime modifiedAt) {}
+
+    private final AsanaApiClient apiClient;
+    private final Map<String, List<TaskRef>> taskRefsByProject = new ConcurrentHashMap<>();
+    private final AtomicInteger apiCalls = new AtomicInteger();
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile List<AsanaProjectDto> projects;
+
+    AsanaSyncSnapshot(AsanaApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    List<AsanaProjectDto> projects() {
+        List<AsanaProjectDto> loaded = projects;
+        if (loaded != null) {
+            hits.incrementAndGet();
+            return loaded;
+        }
+        synchronized (this) {
+            if (projects == null) {
+                apiCalls.incrementAndGet();
+                projects = List.copyOf(apiClient.getAllProjects());
+            } else {
+                hits.incrementAndGet();
+            }
+            return projects;
+        }
+    }
+
+    /**
+     * Fetches a project's tasks and records their refs. Safe to call from the pipeline's fetcher
+     * threads; the returned list is the caller's to drop once written.
+     */
+    List<AsanaTaskDto> fetchTasks(String projectGid) {
+        apiCalls.incrementAndGet();
+        List<AsanaTaskDto> fetched = apiClient.getTasksForProject(projectGid);
+        taskRefsByProject.putIfAbsent(projectGid,
+                fetched.stream().map(t -> new TaskRef(t.getGid(), t.getModifiedAt())).toList());
+        return fetched;
+    }
+
+    /** The refs recorded by {@link #fetchTasks}, fetching the project's tasks if that has not run. */
+    List<TaskRef> taskRefs(String projectGid) {
+        List<TaskRef> refs = taskRefsByProject.get(projectGid);
+        if (refs != null) {
+            hits.incrementAndGet();
+            return refs;
+        }
+        fetchTasks(projectGid);
+        return taskRefsByProject.get(projectGid);
+    }
+
+    int apiCalls() {
+        return apiCalls.get();
+    }
+
+    int hits() {
+        return hits.get();
+    }
+}
@@ -1,20 +1,29 @@
 package com.signalspoc.connector.pm.linear;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.signalspoc.connector.pm.linear.dto.*;
 import com.signalspoc.shared.exception.Exceptions.ConnectorException;
+import com.signalspoc.shared.http.ConnectorHttpTransportFactory;
+import com.signalspoc.shared.http.JsonPageReader;
+import com.signalspoc.shared.http.OutboundHttpInterceptorFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Component
 @ConditionalOnProperty(name = "connectors.linear.enabled", havingValue = "true")
@@ -23,16 +32,24 @@ public class LinearApiClient {
 
     private final LinearConfig config;
     private final RestTemplate restTemplate;
+    private final JsonPageReader pageReader;
 
-    public LinearApiClient(LinearConfig config, RestTemplateBuilder restTemplateBuilder) {
+    public LinearApiClient(LinearConfig config, RestTemplateBuilder restTemplateBuilder,
+                           OutboundHttpInterceptorFactory interceptorFactory,
+                           ConnectorHttpTransportFactory transportFactory, ObjectMapper objectMapper) {
         this.config = config;
-        this.restTemplate = createRestTemplate(restTemplateBuilder);
+        this.pageReader = new JsonPageReader(objectMapper);
+        this.restTemplate = createRestTemplate(restTemplateBuilder, interceptorFactory, transportFactory);
     }
 
-    private RestTemplate createRestTemplate(RestTemplateBuilder builder) {
+    private RestTemplate createRestTemplate(RestTemplateBuilder builder, OutboundHttpInterceptorFactory interceptorFactory,
+                                            ConnectorHttpTransportFactory transportFactory) {
+        ClientHttpRequestFactory requestFactory = transportFactory.create("linear", config.getTimeoutSeconds());
         return builder
-                .setConnectTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
-                .setReadTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
+                .requestFactory(() -> requestFactory)
+                // GraphQL mutations share POST with queries, so 5xx is not retried
+                .additionalInterceptors(interceptorFactory.create("linear",
+                        config.getRateLimit().getRequestsPerMinute(), config.getRetryAttempts(), false))
                 .build();
     }
 
@@ -75,7 +92,7 @@ public class LinearApiClient {
                 }
             }
             """;
-        return fetchAllPages(query, "users", new ParameterizedTypeReference<>() {});
+        return fetchAllPages(query, "users", LinearUserDto.class);
     }
 
     public List<LinearProjectDto> getAllProjects() {
@@ -104,13 +121,27 @@ public class LinearApiClient {
                 }
             }
             """;
-        return fetchAllPages(query, "projects", new ParameterizedTypeReference<>() {});
+        return fetchAllPages(query, "projects", LinearProjectDto.class);
     }
 
     public List<LinearIssueDto> getAllIssues() {
+        return getAllIssues(null);
+    }
+
+    public List<LinearIssueDto> getAllIssues(OffsetDateTime updatedAfter) {
+        List<LinearIssueDto> issues = new ArrayList<>();
+        forEachIssue(updatedAfter, issues::add);
+        return issues;
+    }
+
+    /**
+     * Streams issues updated strictly after {@code updatedAfter} (a null bound streams every issue)
+     * to the consumer as each page is parsed, without collecting them.
+     */
+    public void forEachIssue(OffsetDateTime updatedAfter, Consumer<LinearIssueDto> consumer) {
         String query = """
-            query($cursor: String) {
-                issues(first: 100, after: $cursor) {
+            query($cursor: String%s) {
+                issues(first: 100, after: $cursor%s) {
                     nodes {
                         id
                         identifier
@@ -148,8 +179,8 @@ public class LinearApiClient {
                     }
                 }
             }
-            """;
-        return fetchAllPages(query, "issues", new ParameterizedTypeReference<>() {});
+            """.formatted(updatedAfterParam(updatedAfter), updatedAfterFilter(updatedAfter));
+        streamAllPages(query, "issues", updatedAfterVariables(updatedAfter), LinearIssueDto.class, consumer);
     }
 
     public List<LinearCommentDto> getCommentsForIssue(String issueId) {
@@ -237,9 +268,23 @@ public class LinearApiClient {
     }
 
     public List<LinearCommentDto> getAllComments() {
+        return getAllComments(null);
+    }
+
+    public List<LinearCommentDto> getAllComments(OffsetDateTime updatedAfter) {
+        List<LinearCommentDto> comments = new ArrayList<>();
+        forEachComment(updatedAfter, comments::add);
+        return comments;
+    }
+
+    /**
+     * Streams comments updated strictly after {@code updatedAfter} (a null bound streams every
+     * comment) to the consumer as each page is parsed.
+     */
+    public void forEachComment(OffsetDateTime updatedAfter, Consumer<LinearCommentDto> consumer) {
         String query = """
-            query($cursor: String) {
-                comments(first: 100, after: $cursor) {
+            query($cursor: String%s) {
+                comments(first: 100, after: $cursor%s) {
                     nodes {
                         id
                         body
@@ -260,50 +305,95 @@ public class LinearApiClient {
                     }
                 }
             }
-            """;
-        return fetchAllPages(query, "comments", new ParameterizedTypeReference<>() {});
+            """.formatted(updatedAfterParam(updatedAfter), updatedAfterFilter(updatedAfter));
+        streamAllPages(query, "comments", updatedAfterVariables(updatedAfter), LinearCommentDto.class, consumer);
+    }
+
+    // Delta sync: the updatedAt comparator is only added to the query when a bound is given
+    private static String updatedAfterParam(OffsetDateTime updatedAfter) {
+        return updatedAfter != null ? ", $updatedAfter: DateTimeOrDuration" : "";
+    }
+
+    private static String updatedAfterFilter(OffsetDateTime updatedAfter) {
+        return updatedAfter != null ? ", filter: { updatedAt: { gt: $updatedAfter } }" : "";
+    }
+
+    private static Map<String, Object> updatedAfterVariables(OffsetDateTime updatedAfter) {
+        return updatedAfter != null
+                ? Map.of("updatedAfter", updatedAfter.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME))
+                : Map.of();
     }
 
-    private <T> List<T> fetchAllPages(String query, String dataField, ParameterizedTypeReference<LinearGraphQLResponse<T>> typeRef) {
+    private <T> List<T> fetchAllPages(String query, String dataField, Class<T> nodeType) {
         List<T> allData = new ArrayList<>();
+        streamAllPages(query, dataField, Map.of(), nodeType, allData::add);
+        return allData;
+    }
+
+    /**
+     * Pages through a connection query, parsing {@code data.<dataField>.nodes} incrementally so
+     * each node is handed to the consumer as soon as it is read; pageInfo and errors come back in
+     * the small remainder of the response. Exceptions thrown by the consumer (a failed batch write,
+     * say) propagate unwrapped rather than being reported as a failed fetch.
+     */
+    private <T> void streamAllPages(String query, String dataField, Map<String, Object> baseVariables,
+                                    Class<T> nodeType, Consumer<T> consumer) {
+        List<String> nodesPath = List.of("data", dataField, "nodes");
+        Consumer<T> guarded = node -> {
+            try {
+                consumer.accept(node);
+            } catch (RuntimeException e) {
+                throw new ConsumerFailure(e);
+            }
+        };
         String cursor = null;
 
         do {
             try {
-                Map<String, Object> variables = cursor != null ? Map.of("cursor", cursor) : Map.of();
-                LinearGraphQLResponse<T> response = executeGraphQL(query, variables, typeRef);
-
-                if (response == null || response.getData() == null) {
-                    break;
+                Map<String, Object> variables = new HashMap<>(baseVariables);
+                if (cursor != null) {
+                    variables.put("cursor", cursor);
                 }
+                HttpEntity<Map<String, Object>> request =
+                        new HttpEntity<>(Map.of("query", query, "variables", variables), createHeaders());
 
-                LinearGraphQLResponse.NodesWrapper<T> wrapper = switch (dataField) {
-                    case "users" -> (LinearGraphQLResponse.NodesWrapper<T>) response.getData().getUsers();
-                    case "projects" -> (LinearGraphQLResponse.NodesWrapper<T>) response.getData().getProjects();
-                    case "issues" -> (LinearGraphQLResponse.NodesWrapper<T>) response.getData().getIssues();
-                    case "comments" -> (LinearGraphQLResponse.NodesWrapper<T>) response.getData().getComments();
-                    default -> null;
-                };
-
-                if (wrapper == null || wrapper.getNodes() == null) {
+                JsonPageReader.Page page = restTemplate.execute(config.getApiUrl(), HttpMethod.POST,
+                        restTemplate.httpEntityCallback(request),
+                        response -> pageReader.read(response.getBody(), nodesPath, nodeType, guarded));
+                if (page == null) {
                     break;
                 }
 
-                allData.addAll(wrapper.getNodes());
-
-                if (wrapper.getPageInfo() != null && wrapper.getPageInfo().isHasNextPage()) {
-                    cursor = wrapper.getPageInfo().getEndCursor();
-                } else {
-                    cursor = null;
+                JsonNode errors = page.envelope().path("errors");
+                if (errors.isArray() && !errors.isEmpty()) {
+                    throw new ConnectorException("LINEAR", "GraphQL error: " + errors.get(0).path("message").asText());
                 }
 
+                JsonNode pageInfo = page.envelope().path("data").path(dataField).path("pageInfo");
+                cursor = pageInfo.path("hasNextPage").asBoolean(false) ? pageInfo.path("endCursor").textValue() : null;
+
+            } catch (ConsumerFailure e) {
+                throw e.getCause();
+            } catch (ConnectorException e) {
+                throw e;
             } catch (Exception e) {
                 log.error("Error fetching {} from Linear", dataField, e);
                 throw new ConnectorException("LINEAR", "Failed to fetch " + dataField, e);
             }
         } while (cursor != null);
+    }
 
-        return allData;
+    /** Carries a consumer's exception out of the response callback so it is not taken for a fetch error. */
+    private static final class ConsumerFailure extends RuntimeException {
+
+        ConsumerFailure(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
     }
 
     private <T> LinearGraphQLResponse<T> executeGraphQL(String query, ParameterizedTypeReference<LinearGraphQLResponse<T>> typeRef) {
@@ -14,8 +14,15 @@ public class LinearConfig {
     private String apiKey;
     private int timeoutSeconds = 30;
     private int retryAttempts = 3;
+    private RateLimitConfig rateLimit = new RateLimitConfig();
 
     public boolean isConfigured() {
         return enabled && apiKey != null && !apiKey.isEmpty();
     }
+
+    @Data
+    public static class RateLimitConfig {
+        // Linear allows 1,500 requests/hour per API key
+        private int requestsPerMinute = 25;
+    }
 }
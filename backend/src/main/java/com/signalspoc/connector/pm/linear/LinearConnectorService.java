@@ -6,6 +6,7 @@ import com.signalspoc.connector.model.ConnectorProject;
 import com.signalspoc.connector.model.ConnectorTask;
 import com.signalspoc.connector.model.ConnectorUser;
 import com.signalspoc.connector.model.SyncResult;
+import com.signalspoc.connector.pipeline.BatchingConsumer;
 import com.signalspoc.domain.service.CommentService;
 import com.signalspoc.domain.service.ProjectService;
 import com.signalspoc.domain.service.TaskService;
@@ -14,6 +15,7 @@ import com.signalspoc.connector.pm.linear.dto.LinearCommentDto;
 import com.signalspoc.connector.pm.linear.dto.LinearIssueDto;
 import com.signalspoc.connector.pm.linear.dto.LinearProjectDto;
 import com.signalspoc.connector.pm.linear.dto.LinearUserDto;
+import com.signalspoc.shared.config.SyncConfig;
 import com.signalspoc.shared.model.Enums.ConnectorType;
 import com.signalspoc.shared.model.Enums.SyncStatus;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Service
@@ -36,6 +39,7 @@ public class LinearConnectorService implements PmConnectorService {
     private final ProjectService projectService;
     private final TaskService taskService;
     private final CommentService commentService;
+    private final SyncConfig syncConfig;
 
     @Override
     public ConnectorType getConnectorType() {
@@ -72,6 +76,36 @@ public class LinearConnectorService implements PmConnectorService {
         return result;
     }
 
+    /**
+     * Users and projects are small and re-synced in full so delta issues always resolve their
+     * assignee and project; issues and comments are filtered server-side on updatedAt.
+     */
+    @Override
+    public SyncResult syncIncremental(OffsetDateTime modifiedSince) {
+        LocalDateTime startTime = LocalDateTime.now();
+        SyncResult result = SyncResult.empty(ConnectorType.LINEAR);
+        result.setSyncStartTime(startTime);
+
+        try {
+            log.info("Starting Linear delta sync (updated after {})", modifiedSince);
+            result.merge(syncUsers());
+            result.merge(syncProjects());
+            result.merge(streamIssues(modifiedSince));
+            result.merge(streamComments(modifiedSince));
+
+            result.setStatus(SyncStatus.SUCCESS);
+            result.setSyncEndTime(LocalDateTime.now());
+
+        } catch (Exception e) {
+            log.error("Error during Linear delta sync", e);
+            result.setStatus(SyncStatus.FAILED);
+            result.setErrorMessage(e.getMessage());
+            result.setSyncEndTime(LocalDateTime.now());
+        }
+
+        return result;
+    }
+
     @Override
     public SyncResult syncUsers() {
         log.info("Syncing users from Linear");
@@ -119,9 +153,30 @@ public class LinearConnectorService implements PmConnectorService {
     @Override
     public SyncResult syncTasks() {
         log.info("Syncing issues from Linear");
+        return streamIssues(null);
+    }
+
+    /**
+     * Issues are upserted in batches while their pages are still being parsed. This usually runs
+     * inside the caller's sync transaction, so it is TaskService.upsertAll flushing and detaching
+     * each chunk's tasks that keeps memory to one batch of issues (descriptions included) however
+     * large the workspace is.
+     */
+    private SyncResult streamIssues(OffsetDateTime updatedAfter) {
+        SyncResult result = SyncResult.empty(ConnectorType.LINEAR);
+        BatchingConsumer<LinearIssueDto> batches = new BatchingConsumer<>(syncConfig.getBatchSize(),
+                issues -> result.merge(upsertIssues(issues)));
+        apiClient.forEachIssue(updatedAfter, batches);
+        batches.flush();
+
+        log.info("Synced {} issues from Linear ({} created, {} updated)",
+                result.getTasksCreated() + result.getTasksUpdated(), result.getTasksCreated(), result.getTasksUpdated());
+        return result;
+    }
+
+    private SyncResult upsertIssues(List<LinearIssueDto> issues) {
         SyncResult result = SyncResult.empty(ConnectorType.LINEAR);
 
-        List<LinearIssueDto> issues = apiClient.getAllIssues();
         List<ConnectorTask> connectorTasks = issues.stream()
                 .map(mapper::toConnectorTask)
                 .toList();
@@ -131,19 +186,31 @@ public class LinearConnectorService implements PmConnectorService {
 
         result.setTasksCreated((int) results.stream().filter(UserService.UpsertResult::created).count());
         result.setTasksUpdated((int) results.stream().filter(r -> !r.created()).count());
-
-        log.info("Synced {} issues from Linear ({} created, {} updated)",
-                results.size(), result.getTasksCreated(), result.getTasksUpdated());
-
         return result;
     }
 
     @Override
     public SyncResult syncComments() {
         log.info("Syncing comments from Linear");
+        return streamComments(null);
+    }
+
+    private SyncResult streamComments(OffsetDateTime updatedAfter) {
+        SyncResult result = SyncResult.empty(ConnectorType.LINEAR);
+        BatchingConsumer<LinearCommentDto> batches = new BatchingConsumer<>(syncConfig.getBatchSize(),
+                comments -> result.merge(upsertComments(comments)));
+        apiClient.forEachComment(updatedAfter, batches);
+        batches.flush();
+
+        log.info("Synced {} comments from Linear ({} created, {} updated)",
+                result.getCommentsCreated() + result.getCommentsUpdated(),
+                result.getCommentsCreated(), result.getCommentsUpdated());
+        return result;
+    }
+
+    private SyncResult upsertComments(List<LinearCommentDto> comments) {
         SyncResult result = SyncResult.empty(ConnectorType.LINEAR);
 
-        List<LinearCommentDto> comments = apiClient.getAllComments();
         List<ConnectorComment> connectorComments = comments.stream()
                 .map(c -> mapper.toConnectorComment(c, c.getIssueId()))
                 .toList();
@@ -153,10 +220,6 @@ public class LinearConnectorService implements PmConnectorService {
 
         result.setCommentsCreated((int) results.stream().filter(UserService.UpsertResult::created).count());
         result.setCommentsUpdated((int) results.stream().filter(r -> !r.created()).count());
-
-        log.info("Synced {} comments from Linear ({} created, {} updated)",
-                results.size(), result.getCommentsCreated(), result.getCommentsUpdated());
-
         return result;
     }
 
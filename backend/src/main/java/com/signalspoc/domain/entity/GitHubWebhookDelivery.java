@@ -0,0 +1,55 @@
+package com.signalspoc.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * One GitHub webhook delivery in the durable inbox. Deliveries for the same PR share a
+ * processAfter that moves forward with every new event, so a burst is handled once.
+ */
+@Entity
+@Table(name = "github_webhook_inbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GitHubWebhookDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // X-GitHub-Delivery; GitHub redelivers with the same ID, so it doubles as the idempotency key
+    @Column(name = "delivery_id", nullable = false, unique = true, length = 100)
+    private String deliveryId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(length = 50)
+    private String action;
+
+    // owner/repo
+    @Column(nullable = false, length = 255)
+    private String repository;
+
+    @Column(name = "pr_number", nullable = false)
+    private Integer prNumber;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "process_after", nullable = false)
+    private LocalDateTime processAfter;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
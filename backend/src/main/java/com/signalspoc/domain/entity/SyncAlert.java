@@ -15,8 +15,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class SyncAlert {
 
+    // Sequence ids (allocated in blocks, see V4 migration) so bulk inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_alerts_id_seq")
+    @SequenceGenerator(name = "sync_alerts_id_seq", sequenceName = "sync_alerts_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -39,6 +41,11 @@ public class SyncAlert {
     @Column(name = "ai_action_json", columnDefinition = "TEXT")
     private String aiActionJson;
 
+    // True while the suggestion/action come from the template fallback rather than the model
+    @Column(name = "ai_templated", nullable = false)
+    @Builder.Default
+    private Boolean aiTemplated = false;
+
     // Source platform info
     @Enumerated(EnumType.STRING)
     @Column(name = "source_system", length = 50)
@@ -0,0 +1,36 @@
+package com.signalspoc.domain.entity;
+
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sync_cursors")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncCursor {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "connector_type", length = 50)
+    private ConnectorType connectorType;
+
+    // Start time of the last successful sync; the next delta pulls everything modified after it
+    @Column(name = "high_water_mark")
+    private LocalDateTime highWaterMark;
+
+    @Column(name = "last_full_sync_at")
+    private LocalDateTime lastFullSyncAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -21,8 +21,10 @@ import java.util.Set;
 @ToString(exclude = {"project", "assignee", "comments"})
 public class Task {
 
+    // Sequence ids (allocated in blocks, see V10 migration) so bulk inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "external_id", nullable = false, length = 255)
@@ -66,6 +68,10 @@ public class Task {
     @Column(name = "external_modified_at")
     private LocalDateTime externalModifiedAt;
 
+    // externalModifiedAt as of the last comment fetch; comments are re-fetched only when it moves
+    @Column(name = "comments_synced_modified_at")
+    private LocalDateTime commentsSyncedModifiedAt;
+
     @CreationTimestamp
     @Column(name = "synced_at", nullable = false, updatable = false)
     private LocalDateTime syncedAt;
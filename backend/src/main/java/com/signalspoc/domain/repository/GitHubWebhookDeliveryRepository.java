@@ -0,0 +1,37 @@
+package com.signalspoc.domain.repository;
+
+import com.signalspoc.domain.entity.GitHubWebhookDelivery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface GitHubWebhookDeliveryRepository extends JpaRepository<GitHubWebhookDelivery, Long> {
+
+    boolean existsByDeliveryId(String deliveryId);
+
+    // Trailing-edge debounce: every pending delivery for the PR waits for the latest event's quiet period
+    // (capped at max-wait-seconds after the first pending one, see GitHubWebhookService.receive)
+    @Modifying
+    @Transactional
+    @Query("UPDATE GitHubWebhookDelivery d SET d.processAfter = :processAfter " +
+            "WHERE d.repository = :repository AND d.prNumber = :prNumber AND d.processedAt IS NULL")
+    int postponePending(String repository, Integer prNumber, LocalDateTime processAfter);
+
+    @Query("SELECT MIN(d.receivedAt) FROM GitHubWebhookDelivery d " +
+            "WHERE d.repository = :repository AND d.prNumber = :prNumber AND d.processedAt IS NULL")
+    LocalDateTime findFirstPendingReceivedAt(String repository, Integer prNumber);
+
+    List<GitHubWebhookDelivery> findByProcessedAtIsNullAndProcessAfterLessThanEqualOrderByReceivedAtAsc(
+            LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM GitHubWebhookDelivery d WHERE d.processedAt < :cutoff")
+    int deleteProcessedBefore(LocalDateTime cutoff);
+}
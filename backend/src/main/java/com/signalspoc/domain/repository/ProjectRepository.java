@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,8 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     Optional<Project> findByExternalIdAndSourceSystem(String externalId, ConnectorType sourceSystem);
 
+    List<Project> findByExternalIdInAndSourceSystem(Collection<String> externalIds, ConnectorType sourceSystem);
+
     List<Project> findBySourceSystem(ConnectorType sourceSystem);
 
     Page<Project> findBySourceSystem(ConnectorType sourceSystem, Pageable pageable);
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +29,10 @@ public interface SyncAlertRepository extends JpaRepository<SyncAlert, Long> {
             ConnectorType targetSystem, String targetId,
             SyncAlert.AlertType alertType);
 
+    // Open alerts for a set of sources — SyncAlertService.createAlerts dedups a whole pass against these
+    List<SyncAlert> findBySourceSystemAndSourceIdInAndIsResolvedFalse(
+            ConnectorType sourceSystem, Collection<String> sourceIds);
+
     long countByIsReadFalseAndIsResolvedFalse();
 
     @Modifying
@@ -40,8 +45,9 @@ public interface SyncAlertRepository extends JpaRepository<SyncAlert, Long> {
 
     // Used by AiEnrichmentWorker to patch an alert after async Ollama call
     @Modifying
-    @Query("UPDATE SyncAlert a SET a.aiSuggestion = :suggestion, a.aiActionJson = :actionJson WHERE a.id = :id")
-    void updateAiEnrichment(Long id, String suggestion, String actionJson);
+    @Query("UPDATE SyncAlert a SET a.aiSuggestion = :suggestion, a.aiActionJson = :actionJson, " +
+            "a.aiTemplated = :templated WHERE a.id = :id")
+    void updateAiEnrichment(Long id, String suggestion, String actionJson, boolean templated);
 
     // Used by AiAnalysisScheduler reconciliation to find alerts missed by the event worker
     List<SyncAlert> findByAiSuggestionIsNullAndIsResolvedFalseOrderByCreatedAtAsc();
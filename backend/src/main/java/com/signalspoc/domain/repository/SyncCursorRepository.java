@@ -0,0 +1,10 @@
+package com.signalspoc.domain.repository;
+
+import com.signalspoc.domain.entity.SyncCursor;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncCursorRepository extends JpaRepository<SyncCursor, ConnectorType> {
+}
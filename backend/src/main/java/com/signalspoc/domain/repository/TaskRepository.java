@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,8 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     Optional<Task> findByExternalIdAndSourceSystem(String externalId, ConnectorType sourceSystem);
 
+    List<Task> findByExternalIdInAndSourceSystem(Collection<String> externalIds, ConnectorType sourceSystem);
+
     List<Task> findBySourceSystem(ConnectorType sourceSystem);
 
     Page<Task> findBySourceSystem(ConnectorType sourceSystem, Pageable pageable);
@@ -41,7 +44,18 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     boolean existsByExternalIdAndSourceSystem(String externalId, ConnectorType sourceSystem);
 
-    List<Task> findByTitleContaining(String titlePart);
+    // Prompt building reads the assignee outside a session
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.assignee WHERE t.id = :id")
+    Optional<Task> findWithAssigneeById(Long id);
+
+    @Query("SELECT t.id AS id, t.sourceSystem AS sourceSystem, t.title AS title, t.externalId AS externalId FROM Task t")
+    List<TaskIdentifierSource> findAllIdentifierSources();
 
-    Optional<Task> findByExternalId(String externalId);
+    /** Columns TaskIdentifierIndex needs to build its identifier keys. */
+    interface TaskIdentifierSource {
+        Long getId();
+        ConnectorType getSourceSystem();
+        String getTitle();
+        String getExternalId();
+    }
 }
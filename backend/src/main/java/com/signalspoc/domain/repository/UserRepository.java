@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByExternalIdAndSourceSystem(String externalId, ConnectorType sourceSystem);
 
+    List<User> findByExternalIdInAndSourceSystem(Collection<String> externalIds, ConnectorType sourceSystem);
+
     List<User> findBySourceSystem(ConnectorType sourceSystem);
 
     Page<User> findBySourceSystem(ConnectorType sourceSystem, Pageable pageable);
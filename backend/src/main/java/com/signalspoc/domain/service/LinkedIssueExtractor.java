@@ -0,0 +1,162 @@
+package com.signalspoc.domain.service;
+
+import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the task references in a PR's title, body and head branch name.
+ *
+ * Only two kinds of token count: {@code <TEAM>-<number>} where TEAM is a Linear team key seen in
+ * synced tasks, and digit runs of at least {@value #MIN_GID_LENGTH} characters that are a synced
+ * Asana GID. Anything else that merely looks like an identifier ("UTF-8", "SHA-256") is ignored,
+ * so it never reaches the task lookups. Matches must sit on word boundaries and are case-insensitive;
+ * results are upper-cased, deduplicated and kept in order of first appearance.
+ *
+ * The text is scanned in place, one character at a time, against a trie of the team keys. The trie
+ * is rebuilt only when TaskIdentifierIndex reports a new version.
+ */
+@Component
+@RequiredArgsConstructor
+public class LinkedIssueExtractor {
+
+    static final int MIN_GID_LENGTH = 10;
+
+    private final TaskIdentifierIndex identifierIndex;
+
+    private volatile KeyTrie trie = new KeyTrie(List.of());
+    private volatile long trieVersion = -1;
+
+    public List<String> extract(GitHubPullRequestDto pr) {
+        KeyTrie keys = currentTrie();
+        Set<String> found = new LinkedHashSet<>();
+        scan(pr.getTitle(), keys, found);
+        scan(pr.getBody(), keys, found);
+        if (pr.getHead() != null) {
+            scan(pr.getHead().getRef(), keys, found);
+        }
+        return List.copyOf(found);
+    }
+
+    private KeyTrie currentTrie() {
+        long version = identifierIndex.version();
+        if (version != trieVersion) {
+            synchronized (this) {
+                if (version != trieVersion) {
+                    trie = new KeyTrie(identifierIndex.teamKeys());
+                    trieVersion = version;
+                }
+            }
+        }
+        return trie;
+    }
+
+    private void scan(CharSequence text, KeyTrie keys, Set<String> found) {
+        if (text == null) return;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (i > 0 && isWordChar(text.charAt(i - 1))) {
+                i++;
+                continue;
+            }
+            char c = text.charAt(i);
+            int end = isDigit(c) ? matchGid(text, i) : keys.matchIdentifier(text, i);
+            if (end > i) {
+                found.add(upperCase(text, i, end));
+                i = end;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private int matchGid(CharSequence text, int start) {
+        int end = digitsEnd(text, start);
+        if (end - start < MIN_GID_LENGTH || !isBoundary(text, end)) return -1;
+        return identifierIndex.containsKey(text.subSequence(start, end).toString()) ? end : -1;
+    }
+
+    private static String upperCase(CharSequence text, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = toUpper(text.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    static int digitsEnd(CharSequence text, int start) {
+        int i = start;
+        while (i < text.length() && isDigit(text.charAt(i))) i++;
+        return i;
+    }
+
+    static boolean isBoundary(CharSequence text, int index) {
+        return index >= text.length() || !isWordChar(text.charAt(index));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static char toUpper(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    /**
+     * Trie over the ASCII letters of the team keys. {@link #matchIdentifier} walks it from a start
+     * offset and, at a key's end, accepts "-" followed by digits up to a word boundary.
+     */
+    static final class KeyTrie {
+
+        private static final class Node {
+            final Node[] next = new Node[26];
+            boolean terminal;
+        }
+
+        private final Node root = new Node();
+
+        KeyTrie(Collection<String> keys) {
+            for (String key : keys) {
+                Node node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    int slot = toUpper(key.charAt(i)) - 'A';
+                    if (slot < 0 || slot >= 26) {
+                        node = null;
+                        break;
+                    }
+                    if (node.next[slot] == null) node.next[slot] = new Node();
+                    node = node.next[slot];
+                }
+                if (node != null && node != root) node.terminal = true;
+            }
+        }
+
+        /**
+         * @return the end offset of a {@code KEY-123} match starting at {@code start}, or -1
+         */
+        int matchIdentifier(CharSequence text, int start) {
+            Node node = root;
+            int i = start;
+            while (i < text.length()) {
+                int slot = toUpper(text.charAt(i)) - 'A';
+                if (slot < 0 || slot >= 26) break;
+                node = node.next[slot];
+                if (node == null) return -1;
+                i++;
+            }
+            if (!node.terminal || i >= text.length() || text.charAt(i) != '-') return -1;
+            int end = digitsEnd(text, i + 1);
+            return end > i + 1 && isBoundary(text, end) ? end : -1;
+        }
+    }
+}
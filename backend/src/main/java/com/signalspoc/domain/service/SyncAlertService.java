@@ -2,6 +2,7 @@ package com.signalspoc.domain.service;
 
 import com.signalspoc.domain.entity.SyncAlert;
 import com.signalspoc.domain.repository.SyncAlertRepository;
+import com.signalspoc.shared.config.SyncConfig;
 import com.signalspoc.shared.model.Enums.ConnectorType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +12,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +27,7 @@ import java.util.Optional;
 public class SyncAlertService {
 
     private final SyncAlertRepository alertRepository;
+    private final SyncConfig syncConfig;
 
     @Transactional
     public SyncAlert createAlert(SyncAlert alert) {
@@ -39,6 +48,64 @@ public class SyncAlertService {
         return alertRepository.save(alert);
     }
 
+    /**
+     * Batch form of createAlert for a whole detection pass. Open alerts for the candidates' sources
+     * are loaded with one IN query per source system and chunk, candidates are deduplicated against
+     * them (and against each other) in memory, and only new alerts are inserted with saveAll.
+     *
+     * @return for each candidate, in order, either the existing open alert or the newly saved one
+     */
+    @Transactional
+    public List<SyncAlert> createAlerts(List<SyncAlert> candidates) {
+        if (candidates.isEmpty()) return List.of();
+
+        Map<AlertKey, SyncAlert> byKey = findOpenAlerts(candidates);
+        int existing = byKey.size();
+        List<SyncAlert> toInsert = new ArrayList<>();
+        List<SyncAlert> results = new ArrayList<>(candidates.size());
+        for (SyncAlert candidate : candidates) {
+            SyncAlert alert = byKey.computeIfAbsent(AlertKey.of(candidate), k -> {
+                toInsert.add(candidate);
+                return candidate;
+            });
+            results.add(alert);
+        }
+
+        if (!toInsert.isEmpty()) {
+            alertRepository.saveAll(toInsert);
+            log.info("Created {} new sync alert(s) from {} candidate(s) ({} already open)",
+                    toInsert.size(), candidates.size(), existing);
+        }
+        return results;
+    }
+
+    private Map<AlertKey, SyncAlert> findOpenAlerts(List<SyncAlert> candidates) {
+        Map<ConnectorType, Set<String>> sourceIds = candidates.stream()
+                .filter(a -> a.getSourceSystem() != null && a.getSourceId() != null)
+                .collect(Collectors.groupingBy(SyncAlert::getSourceSystem,
+                        Collectors.mapping(SyncAlert::getSourceId, Collectors.toCollection(LinkedHashSet::new))));
+
+        Map<AlertKey, SyncAlert> open = new HashMap<>();
+        int chunkSize = Math.max(1, syncConfig.getBatchSize());
+        sourceIds.forEach((sourceSystem, ids) -> {
+            List<String> all = new ArrayList<>(ids);
+            for (int i = 0; i < all.size(); i += chunkSize) {
+                alertRepository.findBySourceSystemAndSourceIdInAndIsResolvedFalse(
+                                sourceSystem, all.subList(i, Math.min(i + chunkSize, all.size())))
+                        .forEach(a -> open.putIfAbsent(AlertKey.of(a), a));
+            }
+        });
+        return open;
+    }
+
+    /** The columns an open alert is unique on (see uq_sync_alerts_open_key). */
+    private record AlertKey(ConnectorType sourceSystem, String sourceId,
+                            ConnectorType targetSystem, String targetId, SyncAlert.AlertType alertType) {
+        static AlertKey of(SyncAlert a) {
+            return new AlertKey(a.getSourceSystem(), a.getSourceId(), a.getTargetSystem(), a.getTargetId(), a.getAlertType());
+        }
+    }
+
     @Transactional(readOnly = true)
     public Page<SyncAlert> getUnresolvedAlerts(Pageable pageable) {
         return alertRepository.findByIsResolvedFalseOrderByCreatedAtDesc(pageable);
@@ -0,0 +1,68 @@
+package com.signalspoc.domain.service;
+
+import com.signalspoc.domain.entity.SyncCursor;
+import com.signalspoc.domain.repository.SyncCursorRepository;
+import com.signalspoc.shared.config.SyncConfig;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncCursorService {
+
+    private final SyncCursorRepository cursorRepository;
+    private final SyncConfig syncConfig;
+
+    /**
+     * Returns the modified-since bound for a delta sync, or empty when the connector has never
+     * completed a sync or its periodic full reconcile is due. The bound is pulled back by the
+     * configured overlap so clock skew and in-flight writes at the previous run are not missed.
+     *
+     * The full reconcile refreshes every entity but is not deletion handling: neither it nor a
+     * delta removes local rows for entities deleted upstream, since no sync path prunes.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OffsetDateTime> deltaStart(ConnectorType connectorType) {
+        Optional<SyncCursor> cursor = cursorRepository.findById(connectorType);
+        if (cursor.isEmpty() || cursor.get().getHighWaterMark() == null) {
+            return Optional.empty();
+        }
+
+        LocalDateTime lastFull = cursor.get().getLastFullSyncAt();
+        LocalDateTime reconcileDue = LocalDateTime.now().minusHours(syncConfig.getFullReconcileIntervalHours());
+        if (lastFull == null || lastFull.isBefore(reconcileDue)) {
+            log.info("Full reconcile due for {} (last full sync: {})", connectorType, lastFull);
+            return Optional.empty();
+        }
+
+        return Optional.of(cursor.get().getHighWaterMark()
+                .minusSeconds(syncConfig.getCursorOverlapSeconds())
+                .atZone(ZoneId.systemDefault())
+                .toOffsetDateTime());
+    }
+
+    /**
+     * Moves the high-water mark to the start time of a sync that completed successfully.
+     */
+    @Transactional
+    public void advance(ConnectorType connectorType, LocalDateTime syncStartTime, boolean fullSync) {
+        SyncCursor cursor = cursorRepository.findById(connectorType)
+                .orElseGet(() -> SyncCursor.builder().connectorType(connectorType).build());
+
+        cursor.setHighWaterMark(syncStartTime);
+        if (fullSync) {
+            cursor.setLastFullSyncAt(syncStartTime);
+        }
+        cursorRepository.save(cursor);
+        log.debug("Advanced {} sync cursor to {} (full: {})", connectorType, syncStartTime, fullSync);
+    }
+}
@@ -3,60 +3,102 @@ package com.signalspoc.domain.service;
 import com.signalspoc.ai.event.AlertEnrichmentEvent;
 import com.signalspoc.domain.entity.SyncAlert;
 import com.signalspoc.domain.entity.Task;
-import com.signalspoc.domain.repository.TaskRepository;
 import com.signalspoc.connector.github.GitHubApiClient;
 import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
 import com.signalspoc.shared.model.Enums.ConnectorType;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 /**
  * Detects sync discrepancies between GitHub PRs and Asana/Linear tasks.
  *
- * Detection is purely rule-based and runs every 5 minutes — no AI calls.
+ * Detection is purely rule-based — no AI calls. The full poll over every open PR runs every
+ * 5 minutes by default; with webhooks enabled, GitHubWebhookProcessor re-checks individual PRs
+ * within seconds of a change and the poll can drop to an hourly safety net.
  * When a new alert is created, an AlertEnrichmentEvent is published and
  * AiEnrichmentWorker handles the Ollama call on a separate thread.
  */
 @Service
 @ConditionalOnProperty(name = "connectors.github.enabled", havingValue = "true")
-@RequiredArgsConstructor
 @Slf4j
 public class SyncDiscrepancyDetector {
 
     private final GitHubApiClient gitHubApiClient;
-    private final TaskRepository taskRepository;
+    private final TaskIdentifierIndex identifierIndex;
+    private final LinkedIssueExtractor linkedIssueExtractor;
     private final SyncAlertService alertService;
     private final ApplicationEventPublisher eventPublisher;
+    private final Executor detectionExecutor;
+
+    public SyncDiscrepancyDetector(GitHubApiClient gitHubApiClient,
+                                   TaskIdentifierIndex identifierIndex,
+                                   LinkedIssueExtractor linkedIssueExtractor,
+                                   SyncAlertService alertService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Qualifier("detectionExecutor") Executor detectionExecutor) {
+        this.gitHubApiClient = gitHubApiClient;
+        this.identifierIndex = identifierIndex;
+        this.linkedIssueExtractor = linkedIssueExtractor;
+        this.alertService = alertService;
+        this.eventPublisher = eventPublisher;
+        this.detectionExecutor = detectionExecutor;
+    }
 
-    @Scheduled(fixedDelay = 300000, initialDelay = 60000)
+    @Scheduled(fixedDelayString = "${connectors.github.detection-interval-ms:300000}", initialDelay = 60000)
     public void detectDiscrepancies() {
         log.info("Starting sync discrepancy detection...");
+        long start = System.currentTimeMillis();
         try {
-            List<GitHubPullRequestDto> openPRs = gitHubApiClient.getAllOpenPullRequests();
+            List<GitHubPullRequestDto> openPRs = gitHubApiClient.getAllOpenPullRequests(detectionExecutor);
             log.info("Checking {} open PRs for discrepancies", openPRs.size());
-            for (GitHubPullRequestDto pr : openPRs) {
-                checkPRDiscrepancies(pr);
-            }
-            log.info("Sync discrepancy detection completed");
+            saveAndEnqueue(evaluate(openPRs));
+            log.info("Sync discrepancy detection completed in {}ms", System.currentTimeMillis() - start);
         } catch (Exception e) {
             log.error("Error during discrepancy detection", e);
         }
     }
 
     public void checkPRDiscrepancies(GitHubPullRequestDto pr) {
-        List<String> linkedIssues = gitHubApiClient.extractLinkedIssues(pr);
+        saveAndEnqueue(evaluate(List.of(pr)));
+    }
+
+    /**
+     * Resolves every PR's linked issues against one immutable task snapshot, then evaluates the
+     * rules for all PRs in parallel. The rules only read the PR and the snapshot, so they are
+     * safe to fan out; candidates keep PR order so the alert batch is deterministic.
+     */
+    private List<AlertCandidate> evaluate(List<GitHubPullRequestDto> prs) {
+        List<PrLinks> links = prs.stream()
+                .map(pr -> new PrLinks(pr, linkedIssueExtractor.extract(pr)))
+                .toList();
+        Map<String, List<Task>> tasksByIdentifier = identifierIndex.snapshot(links.stream()
+                .flatMap(l -> l.linkedIssues().stream())
+                .collect(Collectors.toSet()));
+
+        return links.parallelStream()
+                .flatMap(l -> collectPRDiscrepancies(l.pr(), l.linkedIssues(), tasksByIdentifier).stream())
+                .toList();
+    }
+
+    private List<AlertCandidate> collectPRDiscrepancies(GitHubPullRequestDto pr, List<String> linkedIssues,
+                                                        Map<String, List<Task>> tasksByIdentifier) {
+        List<AlertCandidate> out = new ArrayList<>();
 
         if (linkedIssues.isEmpty()) {
-            enqueueIfNew(alertService.createAlert(SyncAlert.builder()
+            out.add(new AlertCandidate(SyncAlert.builder()
                     .alertType(SyncAlert.AlertType.MISSING_LINK)
                     .severity(SyncAlert.AlertSeverity.INFO)
                     .title("PR missing task link")
@@ -67,18 +109,18 @@ public class SyncDiscrepancyDetector {
                     .sourceSystem(ConnectorType.GITHUB)
                     .sourceId(String.valueOf(pr.getId()))
                     .sourceUrl(pr.getHtmlUrl())
-                    .build()), pr, null);
-            return;
+                    .build(), pr, null));
+            return out;
         }
 
         for (String issueIdentifier : linkedIssues) {
-            for (Task task : findAllTasksByIdentifier(issueIdentifier)) {
-                checkPRTaskSync(pr, task);
+            for (Task task : tasksByIdentifier.getOrDefault(issueIdentifier, List.of())) {
+                checkPRTaskSync(pr, task, out);
             }
         }
 
         if (isPRStale(pr)) {
-            enqueueIfNew(alertService.createAlert(SyncAlert.builder()
+            out.add(new AlertCandidate(SyncAlert.builder()
                     .alertType(SyncAlert.AlertType.STALE_PR)
                     .severity(SyncAlert.AlertSeverity.WARNING)
                     .title("Stale PR detected")
@@ -91,11 +133,12 @@ public class SyncDiscrepancyDetector {
                     .sourceUrl(pr.getHtmlUrl())
                     .targetSystem(ConnectorType.GITHUB)
                     .targetId(String.valueOf(pr.getId()))
-                    .build()), pr, null);
+                    .build(), pr, null));
         }
+        return out;
     }
 
-    private void checkPRTaskSync(GitHubPullRequestDto pr, Task task) {
+    private void checkPRTaskSync(GitHubPullRequestDto pr, Task task, List<AlertCandidate> out) {
         boolean prIsReady  = isPRReadyToMerge(pr);
         boolean prIsMerged = Boolean.TRUE.equals(pr.getMerged());
         boolean prIsOpen   = "open".equals(pr.getState()) && !Boolean.TRUE.equals(pr.getDraft());
@@ -105,7 +148,7 @@ public class SyncDiscrepancyDetector {
 
         // Case 0: PR opened (not yet ready to merge) but task not yet in review
         if (prIsOpen && !prIsReady && !inReview) {
-            enqueueIfNew(alertService.createAlert(SyncAlert.builder()
+            out.add(new AlertCandidate(SyncAlert.builder()
                     .alertType(SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED)
                     .severity(SyncAlert.AlertSeverity.WARNING)
                     .title("PR opened but task not updated")
@@ -114,12 +157,12 @@ public class SyncDiscrepancyDetector {
                             pr.getNumber(), pr.getTitle(), task.getSourceSystem(), task.getTitle(), task.getStatus()))
                     .sourceSystem(ConnectorType.GITHUB).sourceId(String.valueOf(pr.getId())).sourceUrl(pr.getHtmlUrl())
                     .targetSystem(task.getSourceSystem()).targetId(task.getExternalId())
-                    .build()), pr, task);
+                    .build(), pr, task));
         }
 
         // Case 1: PR ready to merge but task not in review
         if (prIsReady && !inReview && !done) {
-            enqueueIfNew(alertService.createAlert(SyncAlert.builder()
+            out.add(new AlertCandidate(SyncAlert.builder()
                     .alertType(SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED)
                     .severity(SyncAlert.AlertSeverity.WARNING)
                     .title("PR ready but task not updated")
@@ -128,12 +171,12 @@ public class SyncDiscrepancyDetector {
                             pr.getNumber(), pr.getTitle(), task.getSourceSystem(), task.getTitle(), task.getStatus()))
                     .sourceSystem(ConnectorType.GITHUB).sourceId(String.valueOf(pr.getId())).sourceUrl(pr.getHtmlUrl())
                     .targetSystem(task.getSourceSystem()).targetId(task.getExternalId())
-                    .build()), pr, task);
+                    .build(), pr, task));
         }
 
         // Case 2: PR merged but task still open
         if (prIsMerged && !done) {
-            enqueueIfNew(alertService.createAlert(SyncAlert.builder()
+            out.add(new AlertCandidate(SyncAlert.builder()
                     .alertType(SyncAlert.AlertType.PR_MERGED_TASK_OPEN)
                     .severity(SyncAlert.AlertSeverity.CRITICAL)
                     .title("PR merged but task still open")
@@ -142,7 +185,28 @@ public class SyncDiscrepancyDetector {
                             pr.getNumber(), task.getSourceSystem(), task.getTitle(), task.getStatus()))
                     .sourceSystem(ConnectorType.GITHUB).sourceId(String.valueOf(pr.getId())).sourceUrl(pr.getHtmlUrl())
                     .targetSystem(task.getSourceSystem()).targetId(task.getExternalId())
-                    .build()), pr, task);
+                    .build(), pr, task));
+        }
+    }
+
+    /**
+     * Dedups and inserts a pass's candidate alerts in one batch, then publishes enrichment events.
+     * A unique-key conflict means another writer inserted one of the alerts concurrently; the
+     * batch is retried once so it dedups against the now-visible row.
+     */
+    private void saveAndEnqueue(List<AlertCandidate> candidates) {
+        if (candidates.isEmpty()) return;
+        List<SyncAlert> alerts = candidates.stream().map(AlertCandidate::alert).toList();
+        List<SyncAlert> saved;
+        try {
+            saved = alertService.createAlerts(alerts);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Open alert inserted concurrently, retrying alert batch: {}", e.getMostSpecificCause().getMessage());
+            alerts.forEach(a -> a.setId(null)); // ids allocated by the rolled-back attempt
+            saved = alertService.createAlerts(alerts);
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            enqueueIfNew(saved.get(i), candidates.get(i).pr(), candidates.get(i).task());
         }
     }
 
@@ -168,12 +232,7 @@ public class SyncDiscrepancyDetector {
         return ChronoUnit.DAYS.between(pr.getCreatedAt().toLocalDateTime(), LocalDateTime.now()) > 7;
     }
 
-    private List<Task> findAllTasksByIdentifier(String identifier) {
-        List<Task> tasks = new java.util.ArrayList<>(taskRepository.findByTitleContaining(identifier));
-        Optional<Task> byExternalId = taskRepository.findByExternalId(identifier);
-        if (byExternalId.isPresent() && tasks.stream().noneMatch(t -> t.getId().equals(byExternalId.get().getId()))) {
-            tasks.add(byExternalId.get());
-        }
-        return tasks;
-    }
+    private record PrLinks(GitHubPullRequestDto pr, List<String> linkedIssues) {}
+
+    private record AlertCandidate(SyncAlert alert, GitHubPullRequestDto pr, Task task) {}
 }
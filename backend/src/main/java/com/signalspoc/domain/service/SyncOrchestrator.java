@@ -1,38 +1,80 @@
 package com.signalspoc.domain.service;
 
 import com.signalspoc.connector.api.ConnectorService;
+import com.signalspoc.connector.model.CombinedSyncResult;
 import com.signalspoc.connector.model.SyncResult;
 import com.signalspoc.connector.pm.api.PmConnectorService;
 import com.signalspoc.domain.entity.SyncLog;
 import com.signalspoc.domain.repository.SyncLogRepository;
+import com.signalspoc.shared.config.SyncConfig;
 import com.signalspoc.shared.exception.Exceptions.SyncException;
 import com.signalspoc.shared.model.Enums.ConnectorType;
 import com.signalspoc.shared.model.Enums.SyncStatus;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SyncOrchestrator {
 
     private final List<ConnectorService> allConnectorServices;
     private final List<PmConnectorService> pmConnectorServices;
     private final SyncLogRepository syncLogRepository;
+    private final AsyncTaskExecutor syncExecutor;
+    private final TransactionTemplate connectorTransaction;
+    private final SyncConfig syncConfig;
+    private final SyncCursorService cursorService;
+
+    // Connectors whose last syncAllConnectors run has not returned yet, timed out or not
+    private final Set<ConnectorType> runningConnectors = ConcurrentHashMap.newKeySet();
 
     private Map<ConnectorType, ConnectorService> connectorMap;
     private Map<ConnectorType, PmConnectorService> pmConnectorMap;
 
+    public SyncOrchestrator(List<ConnectorService> allConnectorServices,
+                            List<PmConnectorService> pmConnectorServices,
+                            SyncLogRepository syncLogRepository,
+                            @Qualifier("syncExecutor") AsyncTaskExecutor syncExecutor,
+                            PlatformTransactionManager transactionManager,
+                            SyncConfig syncConfig,
+                            SyncCursorService cursorService) {
+        this.allConnectorServices = allConnectorServices;
+        this.pmConnectorServices = pmConnectorServices;
+        this.syncLogRepository = syncLogRepository;
+        this.syncExecutor = syncExecutor;
+        this.syncConfig = syncConfig;
+        this.cursorService = cursorService;
+        // Each connector in a multi-connector run commits independently of the others
+        this.connectorTransaction = new TransactionTemplate(transactionManager);
+        this.connectorTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     @PostConstruct
     void initConnectorMaps() {
         this.connectorMap = allConnectorServices.stream()
@@ -71,6 +113,9 @@ public class SyncOrchestrator {
             SyncResult result = connector.syncAll();
 
             completeSyncLog(syncLog, result);
+            if (result.getStatus() == SyncStatus.SUCCESS) {
+                cursorService.advance(connectorType, syncLog.getStartTime(), true);
+            }
             log.info("Completed full sync for connector: {} - Projects: {}, Tasks: {}, Users: {}, Comments: {}",
                     connectorType,
                     result.getProjectsCreated() + result.getProjectsUpdated(),
@@ -87,6 +132,210 @@ public class SyncOrchestrator {
         }
     }
 
+    /**
+     * Delta sync for one connector: pulls only entities modified since the connector's cursor,
+     * falling back to a full sync when there is no cursor yet or the periodic full reconcile is due.
+     */
+    @Transactional
+    public SyncResult syncIncremental(ConnectorType connectorType) {
+        log.info("Starting incremental sync for connector: {}", connectorType);
+
+        SyncLog syncLog = createSyncLog(connectorType);
+
+        try {
+            SyncResult result = runCursorSync(getPmConnector(connectorType), syncLog.getStartTime());
+            completeSyncLog(syncLog, result);
+            return result;
+
+        } catch (Exception e) {
+            log.error("Incremental sync failed for connector: {}", connectorType, e);
+            failSyncLog(syncLog, e.getMessage());
+            throw new SyncException("Incremental sync failed for " + connectorType, e);
+        }
+    }
+
+    /**
+     * Syncs every registered PM connector. With signals.sync.parallel-enabled the connectors run
+     * concurrently on the bounded syncExecutor, otherwise one after another. Each connector gets its
+     * own transaction, SyncLog row and signals.sync.connector-timeout-seconds budget, so one slow or
+     * failing workspace never holds back or rolls back the others. With signals.sync.incremental-enabled
+     * each connector runs a delta sync against its cursor instead of a full sync.
+     *
+     * A connector that times out is reported as failed, but its worker cannot be stopped mid-request
+     * and keeps running; it alone writes the SyncLog, marking it failed when it finishes. Until it
+     * does, later runs skip that connector rather than syncing it twice at once.
+     */
+    public CombinedSyncResult syncAllConnectors() {
+        LocalDateTime startTime = LocalDateTime.now();
+        log.info("Starting multi-connector sync for {} PM connector(s) (parallel: {})",
+                pmConnectorServices.size(), syncConfig.isParallelEnabled());
+
+        List<SyncResult> results = new ArrayList<>();
+        if (syncConfig.isParallelEnabled()) {
+            Map<PmConnectorService, ConnectorRun> runs = new LinkedHashMap<>();
+            for (PmConnectorService connector : pmConnectorServices) {
+                runs.put(connector, startConnectorSync(connector));
+            }
+            // All connectors start together, so they share one deadline
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(syncConfig.getConnectorTimeoutSeconds());
+            runs.forEach((connector, run) ->
+                    results.add(awaitConnectorSync(connector, run, deadline - System.nanoTime())));
+        } else {
+            for (PmConnectorService connector : pmConnectorServices) {
+                results.add(awaitConnectorSync(connector, startConnectorSync(connector),
+                        TimeUnit.SECONDS.toNanos(syncConfig.getConnectorTimeoutSeconds())));
+            }
+        }
+
+        CombinedSyncResult combined = CombinedSyncResult.builder()
+                .status(CombinedSyncResult.combinedStatus(results))
+                .results(results)
+                .syncStartTime(startTime)
+                .syncEndTime(LocalDateTime.now())
+                .build();
+        log.info("Completed multi-connector sync - status: {}, connectors: {}",
+                combined.getStatus(), results.stream().map(r -> r.getConnectorType() + "=" + r.getStatus()).toList());
+        return combined;
+    }
+
+    @Scheduled(fixedDelayString = "${signals.sync.interval-ms:900000}",
+               initialDelayString = "${signals.sync.initial-delay-ms:180000}",
+               scheduler = "syncScheduler")
+    public void scheduledSyncAllConnectors() {
+        if (!syncConfig.isScheduleEnabled() || pmConnectorServices.isEmpty()) {
+            return;
+        }
+        try {
+            syncAllConnectors();
+        } catch (Exception e) {
+            log.error("Scheduled multi-connector sync failed", e);
+        }
+    }
+
+    /** @return the submitted run, or null when the connector's previous sync is still running */
+    private ConnectorRun startConnectorSync(PmConnectorService connector) {
+        ConnectorType type = connector.getConnectorType();
+        if (!runningConnectors.add(type)) {
+            return null;
+        }
+        SyncLog syncLog = null;
+        try {
+            syncLog = createSyncLog(type);
+            ConnectorRun run = new ConnectorRun(type, syncLog);
+            run.future = syncExecutor.submit(() -> runConnectorSync(connector, run));
+            return run;
+        } catch (RuntimeException e) {
+            // e.g. RejectedExecutionException with the executor queue full: the run never starts
+            if (syncLog != null) {
+                failSyncLog(syncLog, "Sync could not be started: " + e.getMessage());
+            }
+            runningConnectors.remove(type);
+            throw e;
+        }
+    }
+
+    private SyncResult runConnectorSync(PmConnectorService connector, ConnectorRun run) {
+        // Abandoned while still queued: the awaiting thread has already failed the log
+        if (!run.state.compareAndSet(RunState.PENDING, RunState.RUNNING)) {
+            return null;
+        }
+        ConnectorType type = run.type;
+        SyncLog syncLog = run.syncLog;
+        try {
+            SyncResult result = connectorTransaction.execute(status -> syncConfig.isIncrementalEnabled()
+                    ? runCursorSync(connector, syncLog.getStartTime())
+                    : advanceOnSuccess(connector.getConnectorType(), connector.syncAll(), syncLog.getStartTime(), true));
+            if (!run.state.compareAndSet(RunState.RUNNING, RunState.DONE)) {
+                failSyncLog(syncLog, run.abandonReason + " (finished later with status "
+                        + (result != null ? result.getStatus() : null) + ")");
+                return result;
+            }
+            if (result == null || result.getStatus() == SyncStatus.FAILED) {
+                String error = result != null ? result.getErrorMessage() : "Connector returned no result";
+                failSyncLog(syncLog, error);
+                return result != null ? result : failedResult(type, error);
+            }
+            completeSyncLog(syncLog, result);
+            return result;
+        } catch (Exception e) {
+            log.error("Sync failed for connector: {}", type, e);
+            boolean abandoned = !run.state.compareAndSet(RunState.RUNNING, RunState.DONE);
+            failSyncLog(syncLog, abandoned ? run.abandonReason + " (then failed: " + e.getMessage() + ")" : e.getMessage());
+            return failedResult(type, e.getMessage());
+        } finally {
+            runningConnectors.remove(type);
+        }
+    }
+
+    private SyncResult runCursorSync(PmConnectorService connector, LocalDateTime startTime) {
+        Optional<OffsetDateTime> since = cursorService.deltaStart(connector.getConnectorType());
+        SyncResult result = since.isPresent()
+                ? connector.syncIncremental(since.get())
+                : connector.syncAll();
+        return advanceOnSuccess(connector.getConnectorType(), result, startTime, since.isEmpty());
+    }
+
+    // The cursor only moves past a window once everything in it has been written
+    private SyncResult advanceOnSuccess(ConnectorType type, SyncResult result,
+                                        LocalDateTime startTime, boolean fullSync) {
+        if (result != null && result.getStatus() == SyncStatus.SUCCESS) {
+            cursorService.advance(type, startTime, fullSync);
+        }
+        return result;
+    }
+
+    private SyncResult awaitConnectorSync(PmConnectorService connector, ConnectorRun run, long timeoutNanos) {
+        ConnectorType type = connector.getConnectorType();
+        if (run == null) {
+            log.warn("Skipping sync for connector {}: its previous sync is still running", type);
+            return failedResult(type, "Skipped: previous sync still running");
+        }
+        try {
+            return run.future.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.error("Sync timed out for connector: {}", type);
+            return abandon(run, "Sync timed out after " + syncConfig.getConnectorTimeoutSeconds() + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandon(run, "Sync interrupted");
+        } catch (ExecutionException e) {
+            // The worker has returned, so it no longer touches the log
+            failSyncLog(run.syncLog, e.getCause().getMessage());
+            return failedResult(type, e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Gives up waiting for a run. A run that never started is failed here and will not start; a
+     * running one is interrupted on a best-effort basis and fails its own log when it returns.
+     */
+    private SyncResult abandon(ConnectorRun run, String reason) {
+        run.abandonReason = reason;
+        if (run.state.compareAndSet(RunState.PENDING, RunState.ABANDONED)) {
+            run.future.cancel(false);
+            failSyncLog(run.syncLog, reason);
+            runningConnectors.remove(run.type);
+        } else if (run.state.compareAndSet(RunState.RUNNING, RunState.ABANDONED)) {
+            run.future.cancel(true);
+        } else {
+            // Finished between the timeout and now: its own result stands
+            try {
+                return run.future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            }
+        }
+        return failedResult(run.type, reason);
+    }
+
+    private SyncResult failedResult(ConnectorType type, String errorMessage) {
+        SyncResult result = SyncResult.empty(type);
+        result.setStatus(SyncStatus.FAILED);
+        result.setErrorMessage(errorMessage);
+        result.setSyncEndTime(LocalDateTime.now());
+        return result;
+    }
+
     @Transactional
     public SyncResult syncProjects(ConnectorType connectorType) {
         log.info("Starting project sync for connector: {}", connectorType);
@@ -128,6 +377,26 @@ public class SyncOrchestrator {
         return syncLogRepository.findById(id).orElse(null);
     }
 
+    private enum RunState { PENDING, RUNNING, DONE, ABANDONED }
+
+    /**
+     * One connector's sync within syncAllConnectors. The state decides who writes the SyncLog: the
+     * worker, unless the run was abandoned before it started. abandonReason is written before the
+     * state moves to ABANDONED, so the worker sees it after its compare-and-set fails.
+     */
+    private static final class ConnectorRun {
+        final ConnectorType type;
+        final SyncLog syncLog;
+        final AtomicReference<RunState> state = new AtomicReference<>(RunState.PENDING);
+        volatile String abandonReason;
+        Future<SyncResult> future;
+
+        ConnectorRun(ConnectorType type, SyncLog syncLog) {
+            this.type = type;
+            this.syncLog = syncLog;
+        }
+    }
+
     private SyncLog createSyncLog(ConnectorType connectorType) {
         SyncLog syncLog = SyncLog.builder()
                 .connectorType(connectorType)
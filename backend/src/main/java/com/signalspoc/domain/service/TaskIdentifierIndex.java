@@ -0,0 +1,238 @@
+package com.signalspoc.domain.service;
+
+import com.signalspoc.domain.entity.Task;
+import com.signalspoc.domain.repository.TaskRepository;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory identifier → task ID index used to resolve the issue references found in PRs
+ * (e.g. SIG-123) without a {@code LIKE '%SIG-123%'} scan of the tasks table.
+ *
+ * Keys are the identifier tokens in each task title — extracted with the same pattern
+ * GitHubApiClient uses on PR text — plus the task's external ID, all upper-cased.
+ * The index is loaded lazily from a single projection query and kept current by
+ * TaskService after each upsert; entries are applied on commit so a rolled-back
+ * sync never becomes visible.
+ *
+ * It also records the Linear team keys seen so far (the prefix of each Linear title's leading
+ * identifier) for LinkedIssueExtractor; {@link #version()} changes whenever the keys may have.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskIdentifierIndex {
+
+    static final Pattern IDENTIFIER_PATTERN = Pattern.compile("([A-Z]{2,10}-\\d+)", Pattern.CASE_INSENSITIVE);
+
+    private static final int SNAPSHOT_CHUNK_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+
+    private final Map<String, Set<Long>> taskIdsByKey = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> keysByTaskId = new HashMap<>();
+    private final Set<String> teamKeys = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded = false;
+    private volatile long version = 0;
+
+    /**
+     * Tasks whose title mentions the identifier or whose external ID equals it.
+     * Unknown identifiers are answered from memory without touching the database.
+     */
+    public List<Task> findTasks(String identifier) {
+        Set<Long> ids = findTaskIds(identifier);
+        return ids.isEmpty() ? List.of() : taskRepository.findAllById(ids);
+    }
+
+    /**
+     * Immutable identifier → tasks snapshot for a whole set of identifiers, loaded with one
+     * primary-key query per chunk. Identifiers with no match are absent from the map.
+     */
+    public Map<String, List<Task>> snapshot(Collection<String> identifiers) {
+        Map<String, Set<Long>> idsByIdentifier = new HashMap<>();
+        Set<Long> allIds = new LinkedHashSet<>();
+        for (String identifier : identifiers) {
+            Set<Long> ids = findTaskIds(identifier);
+            if (!ids.isEmpty()) {
+                idsByIdentifier.put(identifier, ids);
+                allIds.addAll(ids);
+            }
+        }
+        if (allIds.isEmpty()) return Map.of();
+
+        Map<Long, Task> tasksById = new HashMap<>();
+        List<Long> ids = new ArrayList<>(allIds);
+        for (int i = 0; i < ids.size(); i += SNAPSHOT_CHUNK_SIZE) {
+            taskRepository.findAllById(ids.subList(i, Math.min(i + SNAPSHOT_CHUNK_SIZE, ids.size())))
+                    .forEach(t -> tasksById.put(t.getId(), t));
+        }
+
+        Map<String, List<Task>> snapshot = new HashMap<>();
+        idsByIdentifier.forEach((identifier, taskIds) -> snapshot.put(identifier, taskIds.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .toList()));
+        return Map.copyOf(snapshot);
+    }
+
+    /**
+     * Whether any task is indexed under the key — a title identifier or an external ID.
+     */
+    public boolean containsKey(String key) {
+        if (key == null || key.isBlank()) return false;
+        ensureLoaded();
+        return taskIdsByKey.containsKey(normalize(key));
+    }
+
+    /**
+     * Linear team keys (e.g. SIG) of every indexed Linear task, upper-cased.
+     */
+    public Set<String> teamKeys() {
+        ensureLoaded();
+        return Set.copyOf(teamKeys);
+    }
+
+    /**
+     * Incremented on every change to the index; callers cache derived structures against it.
+     */
+    public long version() {
+        ensureLoaded();
+        return version;
+    }
+
+    public Set<Long> findTaskIds(String identifier) {
+        if (identifier == null || identifier.isBlank()) return Set.of();
+        ensureLoaded();
+        Set<Long> ids = taskIdsByKey.get(normalize(identifier));
+        return ids == null ? Set.of() : Set.copyOf(ids);
+    }
+
+    /**
+     * Re-indexes saved tasks. Inside a transaction the update is deferred until commit.
+     */
+    public void index(Collection<Task> tasks) {
+        if (tasks.isEmpty()) return;
+        Map<Long, Set<String>> updates = new HashMap<>();
+        Set<String> newTeamKeys = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getId() != null) {
+                updates.put(task.getId(), keysFor(task.getTitle(), task.getExternalId()));
+                String teamKey = teamKeyOf(task.getSourceSystem(), task.getTitle());
+                if (teamKey != null) newTeamKeys.add(teamKey);
+            }
+        }
+        if (updates.isEmpty()) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(updates, newTeamKeys);
+                }
+            });
+        } else {
+            apply(updates, newTeamKeys);
+        }
+    }
+
+    /**
+     * Drops the index; the next lookup reloads it from the database.
+     */
+    public synchronized void invalidate() {
+        taskIdsByKey.clear();
+        keysByTaskId.clear();
+        teamKeys.clear();
+        loaded = false;
+        version++;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            long start = System.currentTimeMillis();
+            List<TaskRepository.TaskIdentifierSource> sources = taskRepository.findAllIdentifierSources();
+            for (TaskRepository.TaskIdentifierSource source : sources) {
+                put(source.getId(), keysFor(source.getTitle(), source.getExternalId()));
+                String teamKey = teamKeyOf(source.getSourceSystem(), source.getTitle());
+                if (teamKey != null) teamKeys.add(teamKey);
+            }
+            version++;
+            loaded = true;
+            log.info("Task identifier index loaded: {} task(s), {} key(s) in {}ms",
+                    sources.size(), taskIdsByKey.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private synchronized void apply(Map<Long, Set<String>> updates, Set<String> newTeamKeys) {
+        // Before the first load there is nothing to patch — the load will read committed rows
+        if (!loaded) return;
+        updates.forEach(this::put);
+        teamKeys.addAll(newTeamKeys);
+        version++;
+    }
+
+    private void put(Long taskId, Set<String> keys) {
+        Set<String> previous = keysByTaskId.put(taskId, keys);
+        if (previous != null) {
+            for (String key : previous) {
+                if (keys.contains(key)) continue;
+                taskIdsByKey.computeIfPresent(key, (k, ids) -> {
+                    ids.remove(taskId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+        for (String key : keys) {
+            taskIdsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(taskId);
+        }
+    }
+
+    static Set<String> keysFor(String title, String externalId) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (title != null) {
+            Matcher matcher = IDENTIFIER_PATTERN.matcher(title);
+            while (matcher.find()) {
+                keys.add(normalize(matcher.group(1)));
+            }
+        }
+        if (externalId != null && !externalId.isBlank()) {
+            keys.add(normalize(externalId));
+        }
+        return keys;
+    }
+
+    /**
+     * Team key of a Linear task, taken from the identifier LinearMapper puts at the start of its title
+     * ("SIG-12: ..."). Other sources have no team key: an identifier-looking token in an Asana title is just text.
+     */
+    static String teamKeyOf(ConnectorType sourceSystem, String title) {
+        if (sourceSystem != ConnectorType.LINEAR || title == null) return null;
+        Matcher matcher = IDENTIFIER_PATTERN.matcher(title);
+        if (!matcher.lookingAt()) return null;
+        String identifier = matcher.group(1);
+        return normalize(identifier.substring(0, identifier.indexOf('-')));
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -7,17 +7,30 @@ import com.signalspoc.domain.entity.User;
 import com.signalspoc.domain.repository.ProjectRepository;
 import com.signalspoc.domain.repository.TaskRepository;
 import com.signalspoc.domain.repository.UserRepository;
+import com.signalspoc.shared.config.SyncConfig;
 import com.signalspoc.shared.exception.Exceptions.ResourceNotFoundException;
 import com.signalspoc.shared.model.Enums.ConnectorType;
 import com.signalspoc.shared.model.Enums.Priority;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +40,9 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final SyncConfig syncConfig;
+    private final TaskIdentifierIndex identifierIndex;
+    private final EntityManager entityManager;
 
     @Transactional(readOnly = true)
     public Task findById(Long id) {
@@ -74,22 +90,141 @@ public class TaskService {
             Task task = existing.get();
             updateTaskFields(task, connectorTask, project, assignee);
             Task saved = taskRepository.save(task);
+            identifierIndex.index(List.of(saved));
             log.debug("Updated task: {} ({})", saved.getTitle(), saved.getExternalId());
             return new UserService.UpsertResult<>(saved, false);
         } else {
             Task task = createTask(connectorTask, project, assignee);
             Task saved = taskRepository.save(task);
+            identifierIndex.index(List.of(saved));
             log.debug("Created task: {} ({})", saved.getTitle(), saved.getExternalId());
             return new UserService.UpsertResult<>(saved, true);
         }
     }
 
+    /**
+     * Set-based upsert: each chunk of {@code signals.sync.batch-size} tasks resolves its projects,
+     * assignees and existing tasks with three IN queries, diffs in memory and writes with saveAll
+     * (batched by hibernate.jdbc.batch_size). Tasks whose project is unknown are skipped, as in upsert.
+     *
+     * Each chunk is flushed and its tasks detached, so memory does not grow with the size of the input.
+     * The returned tasks are therefore detached; changes made to them after this call are not saved.
+     * Nothing else is detached: other entities of the caller's transaction (its SyncLog, the projects
+     * and assignees the chunks resolved) stay managed.
+     */
     @Transactional
     public List<UserService.UpsertResult<Task>> upsertAll(List<ConnectorTask> connectorTasks) {
-        return connectorTasks.stream()
-                .map(this::upsert)
-                .filter(result -> result != null)
-                .toList();
+        List<UserService.UpsertResult<Task>> results = new ArrayList<>(connectorTasks.size());
+        int chunkSize = Math.max(1, syncConfig.getBatchSize());
+        for (int i = 0; i < connectorTasks.size(); i += chunkSize) {
+            List<UserService.UpsertResult<Task>> chunkResults =
+                    upsertChunk(connectorTasks.subList(i, Math.min(i + chunkSize, connectorTasks.size())));
+            taskRepository.flush();
+            chunkResults.forEach(result -> entityManager.detach(result.entity()));
+            results.addAll(chunkResults);
+        }
+        return results;
+    }
+
+    private List<UserService.UpsertResult<Task>> upsertChunk(List<ConnectorTask> chunk) {
+        List<UserService.UpsertResult<Task>> results = new ArrayList<>(chunk.size());
+        Map<ConnectorType, List<ConnectorTask>> bySource = chunk.stream()
+                .filter(ct -> ct.getSourceSystem() != null)
+                .collect(Collectors.groupingBy(ConnectorTask::getSourceSystem));
+
+        for (Map.Entry<ConnectorType, List<ConnectorTask>> entry : bySource.entrySet()) {
+            ConnectorType sourceSystem = entry.getKey();
+            List<ConnectorTask> tasks = entry.getValue();
+
+            Map<String, Project> projects = indexByExternalId(projectRepository.findByExternalIdInAndSourceSystem(
+                    collectIds(tasks, ConnectorTask::getProjectExternalId), sourceSystem), Project::getExternalId);
+            Map<String, User> users = indexByExternalId(userRepository.findByExternalIdInAndSourceSystem(
+                    collectIds(tasks, ConnectorTask::getAssigneeExternalId), sourceSystem), User::getExternalId);
+            Map<String, Task> existing = indexByExternalId(taskRepository.findByExternalIdInAndSourceSystem(
+                    collectIds(tasks, ConnectorTask::getExternalId), sourceSystem), Task::getExternalId);
+
+            // Insertion-ordered so a task listed twice in one chunk (e.g. multi-homed Asana tasks)
+            // is written once, with the last occurrence winning — same outcome as sequential upsert.
+            Map<String, Task> toSave = new LinkedHashMap<>();
+            List<Boolean> createdFlags = new ArrayList<>();
+            List<String> resultKeys = new ArrayList<>();
+
+            for (ConnectorTask connectorTask : tasks) {
+                Project project = connectorTask.getProjectExternalId() != null
+                        ? projects.get(connectorTask.getProjectExternalId()) : null;
+                if (project == null) {
+                    log.warn("Project not found for task: {} (project: {})",
+                            connectorTask.getExternalId(), connectorTask.getProjectExternalId());
+                    continue;
+                }
+                User assignee = connectorTask.getAssigneeExternalId() != null
+                        ? users.get(connectorTask.getAssigneeExternalId()) : null;
+
+                String key = connectorTask.getExternalId();
+                Task task = toSave.containsKey(key) ? toSave.get(key) : existing.get(key);
+                if (task != null) {
+                    updateTaskFields(task, connectorTask, project, assignee);
+                    createdFlags.add(false);
+                } else {
+                    task = createTask(connectorTask, project, assignee);
+                    createdFlags.add(true);
+                }
+                toSave.put(key, task);
+                resultKeys.add(key);
+            }
+
+            Map<String, Task> saved = indexByExternalId(taskRepository.saveAll(toSave.values()), Task::getExternalId);
+            identifierIndex.index(saved.values());
+            for (int i = 0; i < resultKeys.size(); i++) {
+                Task task = saved.getOrDefault(resultKeys.get(i), toSave.get(resultKeys.get(i)));
+                results.add(new UserService.UpsertResult<>(task, createdFlags.get(i)));
+            }
+            log.debug("Bulk upserted {} {} task(s) ({} existing)", toSave.size(), sourceSystem, existing.size());
+        }
+        return results;
+    }
+
+    /**
+     * The remote modified_at recorded at each task's last comment fetch, keyed by external ID.
+     * Tasks that were never comment-synced are absent from the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, LocalDateTime> findCommentSyncMarkers(ConnectorType sourceSystem, Collection<String> externalIds) {
+        Map<String, LocalDateTime> markers = new HashMap<>();
+        forEachChunk(externalIds, chunk -> taskRepository.findByExternalIdInAndSourceSystem(chunk, sourceSystem)
+                .stream()
+                .filter(t -> t.getCommentsSyncedModifiedAt() != null)
+                .forEach(t -> markers.put(t.getExternalId(), t.getCommentsSyncedModifiedAt())));
+        return markers;
+    }
+
+    @Transactional
+    public void markCommentsSynced(ConnectorType sourceSystem, Map<String, LocalDateTime> modifiedAtByExternalId) {
+        forEachChunk(modifiedAtByExternalId.keySet(), chunk -> {
+            List<Task> tasks = taskRepository.findByExternalIdInAndSourceSystem(chunk, sourceSystem);
+            tasks.forEach(t -> t.setCommentsSyncedModifiedAt(modifiedAtByExternalId.get(t.getExternalId())));
+            taskRepository.saveAll(tasks);
+        });
+    }
+
+    private void forEachChunk(Collection<String> ids, Consumer<List<String>> action) {
+        List<String> all = new ArrayList<>(ids);
+        int chunkSize = Math.max(1, syncConfig.getBatchSize());
+        for (int i = 0; i < all.size(); i += chunkSize) {
+            action.accept(all.subList(i, Math.min(i + chunkSize, all.size())));
+        }
+    }
+
+    private static Set<String> collectIds(List<ConnectorTask> tasks, Function<ConnectorTask, String> idFn) {
+        return tasks.stream().map(idFn).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<String, T> indexByExternalId(Iterable<T> entities, Function<T, String> idFn) {
+        Map<String, T> index = new HashMap<>();
+        if (entities != null) {
+            entities.forEach(e -> index.put(idFn.apply(e), e));
+        }
+        return index;
     }
 
     private Project resolveProject(String projectExternalId, ConnectorType sourceSystem) {
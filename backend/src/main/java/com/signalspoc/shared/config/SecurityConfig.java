@@ -80,6 +80,8 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/info").permitAll()
                         // Auth endpoints
                         .requestMatchers("/api/v1/auth/**").permitAll()
+                        // Webhooks authenticate each delivery by HMAC signature
+                        .requestMatchers("/api/v1/webhooks/**").permitAll()
                         // H2 Console for local development
                         .requestMatchers("/h2-console/**").permitAll()
                         // Swagger/OpenAPI - allow in dev, should be restricted in prod
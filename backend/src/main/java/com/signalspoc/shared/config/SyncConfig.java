@@ -0,0 +1,34 @@
+package com.signalspoc.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "signals.sync")
+@Data
+public class SyncConfig {
+
+    // Number of connector entities resolved and written per bulk upsert chunk
+    private int batchSize = 100;
+
+    // When true, syncAllConnectors runs every PM connector concurrently on the sync executor
+    private boolean parallelEnabled = false;
+    private int errorThreshold = 10;
+
+    // Multi-connector "sync everything" run
+    private int maxConcurrency = 4;
+    private int connectorTimeoutSeconds = 1800;
+    private boolean scheduleEnabled = false;
+
+    // Delta sync: connectors pull only entities modified since their last successful run,
+    // with a full reconcile at least every fullReconcileIntervalHours. The reconcile re-fetches
+    // everything to repair changes a delta missed; like every full sync it deletes nothing, so
+    // entities deleted upstream stay in the local tables
+    private boolean incrementalEnabled = false;
+    private int fullReconcileIntervalHours = 24;
+    private int cursorOverlapSeconds = 300;
+
+    // Discrepancy detection: repositories whose open PRs are fetched in parallel
+    private int detectionFetchConcurrency = 8;
+}
@@ -0,0 +1,58 @@
+package com.signalspoc.shared.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SyncExecutorConfig {
+
+    /**
+     * Bounded pool for SyncOrchestrator.syncAllConnectors.
+     * One thread per concurrently syncing PM connector; each runs in its own transaction.
+     */
+    @Bean(name = "syncExecutor")
+    public ThreadPoolTaskExecutor syncExecutor(SyncConfig syncConfig) {
+        int threads = Math.max(1, syncConfig.getMaxConcurrency());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(25);
+        executor.setThreadNamePrefix("sync-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs only SyncOrchestrator's scheduled sync-all, which blocks for the whole multi-connector
+     * sync (up to connectorTimeoutSeconds). Kept off aiTaskScheduler so the short scheduled jobs
+     * (webhook drain, Ollama health probe, detector) never wait behind it.
+     */
+    @Bean(name = "syncScheduler")
+    public ThreadPoolTaskScheduler syncScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("sync-scheduler-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * Pool for SyncDiscrepancyDetector's per-repository open-PR fetches. The work is I/O-bound and
+     * paced by the GitHub rate limiter, so it is sized independently of the CPU count.
+     */
+    @Bean(name = "detectionExecutor")
+    public ThreadPoolTaskExecutor detectionExecutor(SyncConfig syncConfig) {
+        int threads = Math.max(1, syncConfig.getDetectionFetchConcurrency());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("detect-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
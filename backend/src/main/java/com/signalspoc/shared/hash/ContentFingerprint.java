@@ -0,0 +1,172 @@
+package com.signalspoc.shared.hash;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+
+/**
+ * 128-bit change-detection fingerprint (MurmurHash3 x64_128, seed 0) of a sequence of fields.
+ *
+ * Fields are streamed straight into the hash with a {@link Hasher}, so no intermediate string or
+ * byte array is built. Each field is framed by its length or a null marker: ("ab", "c") and
+ * ("a", "bc") differ, and so do null and "". Strings are hashed as UTF-16 code units, without
+ * encoding them first.
+ *
+ * Not cryptographic. Use it to tell whether content changed, never to authenticate it.
+ */
+public record ContentFingerprint(long high, long low) {
+
+    public static Hasher hasher() {
+        return new Hasher();
+    }
+
+    /** True when the stored halves (either may be null for a row never fingerprinted) equal this one. */
+    public boolean matches(Long storedHigh, Long storedLow) {
+        return storedHigh != null && storedLow != null && storedHigh == high && storedLow == low;
+    }
+
+    /** 32 hex characters, for keys that must be strings. */
+    public String toHex() {
+        HexFormat hex = HexFormat.of();
+        return hex.toHexDigits(high) + hex.toHexDigits(low);
+    }
+
+    public static final class Hasher {
+
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+        private static final int NULL_LENGTH = -1;
+
+        private long h1;
+        private long h2;
+        // The current 16-byte block, little-endian: bytes 0-7 in k1, 8-15 in k2
+        private long k1;
+        private long k2;
+        private int position;
+        private long length;
+
+        private Hasher() {}
+
+        public Hasher putString(CharSequence value) {
+            if (value == null) return putInt(NULL_LENGTH);
+            int n = value.length();
+            putInt(n);
+            int i = 0;
+            for (; i + 4 <= n; i += 4) {
+                putLong(value.charAt(i)
+                        | (long) value.charAt(i + 1) << 16
+                        | (long) value.charAt(i + 2) << 32
+                        | (long) value.charAt(i + 3) << 48);
+            }
+            for (; i < n; i++) {
+                put(value.charAt(i), 2);
+            }
+            return this;
+        }
+
+        public Hasher putEnum(Enum<?> value) {
+            return putString(value != null ? value.name() : null);
+        }
+
+        public Hasher putBoolean(Boolean value) {
+            return putByte(value == null ? 2 : value ? 1 : 0);
+        }
+
+        public Hasher putTimestamp(LocalDateTime value) {
+            if (value == null) return putByte(0);
+            putByte(1);
+            putLong(value.toEpochSecond(ZoneOffset.UTC));
+            return putInt(value.getNano());
+        }
+
+        public Hasher putTimestamp(OffsetDateTime value) {
+            if (value == null) return putByte(0);
+            putByte(1);
+            putLong(value.toEpochSecond());
+            return putInt(value.getNano());
+        }
+
+        public Hasher putInt(int value) {
+            return put(value & 0xffffffffL, 4);
+        }
+
+        public Hasher putLong(long value) {
+            return put(value, 8);
+        }
+
+        /** Raw bytes, unframed: a field's length must be put separately if it can vary. */
+        public Hasher putBytes(byte[] value) {
+            for (byte b : value) {
+                putByte(b);
+            }
+            return this;
+        }
+
+        private Hasher putByte(int value) {
+            return put(value & 0xffL, 1);
+        }
+
+        /** Appends the low {@code bytes} bytes of {@code value} (higher bytes must be zero), at any alignment. */
+        private Hasher put(long value, int bytes) {
+            int p = position;
+            long carry = 0;
+            if (p < 8) {
+                k1 |= value << (p * 8);
+                if (p + bytes > 8) k2 |= value >>> ((8 - p) * 8);
+            } else {
+                k2 |= value << ((p - 8) * 8);
+                if (p + bytes > 16) carry = value >>> ((16 - p) * 8);
+            }
+            length += bytes;
+            p += bytes;
+            if (p >= 16) {
+                mixBlock();
+                k1 = carry;
+                p -= 16;
+            }
+            position = p;
+            return this;
+        }
+
+        public ContentFingerprint hash() {
+            // The partial block is mixed in as the tail; its unused bytes are already zero
+            if (position > 0) {
+                h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+                h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+            }
+            long a = h1 ^ length;
+            long b = h2 ^ length;
+            a += b;
+            b += a;
+            a = fmix(a);
+            b = fmix(b);
+            a += b;
+            b += a;
+            return new ContentFingerprint(a, b);
+        }
+
+        private void mixBlock() {
+            h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+
+            k1 = 0;
+            k2 = 0;
+            position = 0;
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
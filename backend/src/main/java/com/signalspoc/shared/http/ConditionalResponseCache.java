@@ -0,0 +1,97 @@
+package com.signalspoc.shared.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of GET responses keyed by URL, holding the validators (ETag, Last-Modified)
+ * and the parsed body. Callers add the validators to the next request for the same URL and, on
+ * 304 Not Modified, reuse the cached body instead of downloading and parsing it again.
+ *
+ * Cached bodies are shared between callers and must be treated as read-only.
+ *
+ * Metrics: {@code signals.http.client.cache} (result=hit|miss), {@code signals.http.client.cache.evictions}
+ * and the {@code signals.http.client.cache.size} gauge, all tagged with the connector and the cache
+ * name, so a connector with several caches reports each one separately.
+ */
+public class ConditionalResponseCache<V> {
+
+    public record Entry<V>(String etag, String lastModified, V body) {}
+
+    private final int maxEntries;
+    private final Map<String, Entry<V>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ConditionalResponseCache(String connector, String cache, int maxEntries, MeterRegistry meterRegistry) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() > ConditionalResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Tags tags = Tags.of("connector", connector, "cache", cache);
+        this.hits = meterRegistry.counter("signals.http.client.cache", tags.and("result", "hit"));
+        this.misses = meterRegistry.counter("signals.http.client.cache", tags.and("result", "miss"));
+        this.evictions = meterRegistry.counter("signals.http.client.cache.evictions", tags);
+        // Through size(), which holds the lock: the map is access-ordered, so a scrape must not race a get
+        meterRegistry.gauge("signals.http.client.cache.size", tags, this, ConditionalResponseCache::size);
+    }
+
+    public synchronized Entry<V> get(String url) {
+        return entries.get(url);
+    }
+
+    /**
+     * Adds If-None-Match / If-Modified-Since for a cached entry; a null entry leaves the headers as they are.
+     */
+    public void addConditionalHeaders(HttpHeaders headers, Entry<V> cached) {
+        if (cached == null) return;
+        if (cached.etag() != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, cached.etag());
+        }
+        if (cached.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+    }
+
+    public boolean isNotModified(HttpStatusCode status, Entry<V> cached) {
+        return cached != null && status.value() == 304;
+    }
+
+    public V hit(Entry<V> cached) {
+        hits.increment();
+        return cached.body();
+    }
+
+    /**
+     * Records a full (200) response. It is only cached when the server sent a validator to revalidate it with.
+     */
+    public V store(String url, HttpHeaders responseHeaders, V body) {
+        misses.increment();
+        String etag = responseHeaders.getETag();
+        String lastModified = responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (maxEntries > 0 && (etag != null || lastModified != null)) {
+            synchronized (this) {
+                entries.put(url, new Entry<>(etag, lastModified, body));
+            }
+        }
+        return body;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
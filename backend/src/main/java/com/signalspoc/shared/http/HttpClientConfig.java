@@ -0,0 +1,56 @@
+package com.signalspoc.shared.http;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "signals.http")
+@Data
+public class HttpClientConfig {
+
+    // Pool settings for any connector without its own entry under signals.http.connectors
+    private PoolConfig defaults = new PoolConfig();
+
+    // Per-connector overrides, keyed by connector name (asana, linear, github, ollama)
+    private Map<String, PoolOverride> connectors = new HashMap<>();
+
+    /**
+     * The connector's pool settings: each field its override sets, and the defaults for the rest.
+     */
+    public PoolConfig poolFor(String connector) {
+        PoolOverride override = connectors.get(connector);
+        if (override == null) {
+            return defaults;
+        }
+        PoolConfig pool = new PoolConfig();
+        pool.setMaxConnections(override.getMaxConnections() != null
+                ? override.getMaxConnections() : defaults.getMaxConnections());
+        pool.setIdleTimeoutSeconds(override.getIdleTimeoutSeconds() != null
+                ? override.getIdleTimeoutSeconds() : defaults.getIdleTimeoutSeconds());
+        pool.setTimeToLiveSeconds(override.getTimeToLiveSeconds() != null
+                ? override.getTimeToLiveSeconds() : defaults.getTimeToLiveSeconds());
+        return pool;
+    }
+
+    @Data
+    public static class PoolConfig {
+        // Upper bound on open connections to the connector's host(s); callers beyond it wait for a lease
+        private int maxConnections = 10;
+        // Idle keep-alive connections are closed after this long
+        private int idleTimeoutSeconds = 30;
+        // Connections are recycled after this long even when busy, so DNS changes are picked up
+        private int timeToLiveSeconds = 300;
+    }
+
+    // Same fields as PoolConfig; null means "use signals.http.defaults"
+    @Data
+    public static class PoolOverride {
+        private Integer maxConnections;
+        private Integer idleTimeoutSeconds;
+        private Integer timeToLiveSeconds;
+    }
+}
@@ -0,0 +1,83 @@
+package com.signalspoc.shared.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads one page of a paged JSON response with Jackson's streaming parser. The elements of the
+ * array at {@code itemsPath} are bound one at a time and passed to the consumer, so the page is
+ * never materialised as a list. Everything else (next-page links, cursors, errors) is returned as
+ * a small envelope tree, with the streamed array left out.
+ */
+public final class JsonPageReader {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonPageReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param itemsPath field names leading to the items array; empty when the body itself is the array
+     */
+    public <T> Page read(InputStream body, List<String> itemsPath, Class<T> itemType, Consumer<T> consumer)
+            throws IOException {
+        ObjectReader itemReader = objectMapper.readerFor(itemType);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() == null) {
+                return new Page(MissingNode.getInstance(), 0);
+            }
+            int[] count = new int[1];
+            JsonNode envelope = walk(parser, itemsPath, 0, itemReader, consumer, count);
+            return new Page(envelope != null ? envelope : MissingNode.getInstance(), count[0]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> JsonNode walk(JsonParser parser, List<String> path, int depth, ObjectReader itemReader,
+                              Consumer<T> consumer, int[] count) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (depth == path.size()) {
+            if (token != JsonToken.START_ARRAY) {
+                return parser.readValueAsTree();
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                consumer.accept((T) itemReader.readValue(parser));
+                count[0]++;
+            }
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return parser.readValueAsTree();
+        }
+
+        ObjectNode node = objectMapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            JsonNode child = name.equals(path.get(depth))
+                    ? walk(parser, path, depth + 1, itemReader, consumer, count)
+                    : parser.readValueAsTree();
+            if (child != null) {
+                node.set(name, child);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * @param envelope the response minus the streamed items
+     * @param items    number of items passed to the consumer
+     */
+    public record Page(JsonNode envelope, int items) {}
+}
@@ -0,0 +1,254 @@
+package com.signalspoc.shared.http;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbound policy shared by every connector's RestTemplate. It applies four rules:
+ * <ul>
+ *   <li>A token bucket caps the client's own request rate ({@code requestsPerMinute}, 0 = unlimited).</li>
+ *   <li>{@code Retry-After} and {@code X-RateLimit-*} response headers pause or pace all callers of
+ *       the connector until the provider's window resets, so a large sync slows down rather than
+ *       running into a wall of 429s.</li>
+ *   <li>A 429 is always retried. A 5xx is retried only for idempotent methods, unless
+ *       {@code retryNonIdempotent} is set. Retries use equal-jitter exponential backoff (a random
+ *       wait between half and all of the capped exponential step, so a retry never fires
+ *       immediately), or the server's Retry-After when it gives one.</li>
+ *   <li>Latency, retries and throttle waits are recorded per connector and host.</li>
+ * </ul>
+ * Must be the last interceptor in the chain: a retry re-executes only what comes after it.
+ */
+@Slf4j
+public class OutboundHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+    private static final Set<Integer> RETRYABLE_SERVER_ERRORS = Set.of(500, 502, 503, 504);
+
+    // Below this share of the advertised limit, requests are spread evenly over the rest of the window
+    private static final double LOW_REMAINING_FRACTION = 0.1;
+    private static final long LOW_REMAINING_FALLBACK = 10;
+    private static final long MAX_PAUSE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final String connector;
+    private final int retryAttempts;
+    private final boolean retryNonIdempotent;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final Bucket bucket;
+    private final MeterRegistry meterRegistry;
+    private final Sleeper sleeper;
+
+    // Wall-clock time before which no request may start; shared by every thread using this connector
+    private final AtomicLong pausedUntilMillis = new AtomicLong();
+    private final Map<String, AtomicLong> remainingByHost = new ConcurrentHashMap<>();
+
+    public OutboundHttpInterceptor(String connector, int requestsPerMinute, int retryAttempts,
+                                   boolean retryNonIdempotent, MeterRegistry meterRegistry) {
+        this(connector, requestsPerMinute, retryAttempts, retryNonIdempotent,
+                Duration.ofMillis(500), Duration.ofSeconds(30), meterRegistry, Thread::sleep);
+    }
+
+    OutboundHttpInterceptor(String connector, int requestsPerMinute, int retryAttempts, boolean retryNonIdempotent,
+                            Duration backoffBase, Duration backoffMax, MeterRegistry meterRegistry, Sleeper sleeper) {
+        this.connector = connector;
+        this.retryAttempts = Math.max(0, retryAttempts);
+        this.retryNonIdempotent = retryNonIdempotent;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+        this.bucket = requestsPerMinute > 0 ? Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(requestsPerMinute)
+                        .refillGreedy(requestsPerMinute, Duration.ofMinutes(1))
+                        .build())
+                .build() : null;
+        this.meterRegistry = meterRegistry;
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        String host = request.getURI().getHost() != null ? request.getURI().getHost() : "unknown";
+        Tags tags = Tags.of("connector", connector, "host", host);
+
+        for (int attempt = 0; ; attempt++) {
+            acquirePermit(tags);
+
+            long start = System.nanoTime();
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException e) {
+                meterRegistry.timer("signals.http.client.requests", tags.and("status", "IO_ERROR"))
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            int status = response.getStatusCode().value();
+            meterRegistry.timer("signals.http.client.requests", tags.and("status", String.valueOf(status)))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            HttpHeaders headers = response.getHeaders();
+            observeRateLimitHeaders(host, tags, headers);
+
+            if (!isRetryable(status, request.getMethod()) || attempt >= retryAttempts) {
+                return response;
+            }
+
+            Long retryAfterMillis = parseRetryAfterMillis(headers.getFirst(HttpHeaders.RETRY_AFTER));
+            long delayMillis = retryAfterMillis != null ? retryAfterMillis : backoffMillis(attempt);
+            if (status == 429) {
+                // Everyone sharing this connector backs off, not just this caller
+                pauseUntil(System.currentTimeMillis() + delayMillis);
+            }
+            response.close();
+
+            meterRegistry.counter("signals.http.client.retries", tags.and("status", String.valueOf(status))).increment();
+            log.warn("{} {} {} returned {}; retry {}/{} in {}ms", connector, request.getMethod(),
+                    request.getURI().getPath(), status, attempt + 1, retryAttempts, delayMillis);
+            sleep(delayMillis);
+        }
+    }
+
+    private void acquirePermit(Tags tags) throws IOException {
+        long waitStart = System.nanoTime();
+        long pauseMillis = pausedUntilMillis.get() - System.currentTimeMillis();
+        if (pauseMillis > 0) {
+            sleep(pauseMillis);
+        }
+        if (bucket != null) {
+            try {
+                bucket.asBlocking().consume(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for " + connector + " rate limit", e);
+            }
+        }
+        long waited = System.nanoTime() - waitStart;
+        if (waited > TimeUnit.MILLISECONDS.toNanos(1)) {
+            meterRegistry.timer("signals.http.client.throttle", tags).record(waited, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Reads the provider's remaining-quota headers (GitHub/Asana {@code X-RateLimit-*}, Linear
+     * {@code X-RateLimit-Requests-*}). At zero, callers pause until the window resets; when quota is
+     * low, each request is spaced so the remainder lasts until the reset.
+     */
+    private void observeRateLimitHeaders(String host, Tags tags, HttpHeaders headers) {
+        Long remaining = firstLong(headers, "X-RateLimit-Remaining", "X-RateLimit-Requests-Remaining");
+        if (remaining == null) {
+            return;
+        }
+        remainingByHost.computeIfAbsent(host, h -> meterRegistry.gauge(
+                "signals.http.client.ratelimit.remaining", tags, new AtomicLong())).set(remaining);
+
+        Long resetAt = parseResetMillis(firstLong(headers, "X-RateLimit-Reset", "X-RateLimit-Requests-Reset"));
+        if (resetAt == null) {
+            return;
+        }
+        long untilReset = Math.min(resetAt - System.currentTimeMillis(), MAX_PAUSE_MILLIS);
+        if (untilReset <= 0) {
+            return;
+        }
+
+        Long limit = firstLong(headers, "X-RateLimit-Limit", "X-RateLimit-Requests-Limit");
+        long lowWatermark = limit != null ? (long) (limit * LOW_REMAINING_FRACTION) : LOW_REMAINING_FALLBACK;
+        if (remaining <= 0) {
+            log.warn("{} rate limit exhausted on {}; pausing {}ms until reset", connector, host, untilReset);
+            pauseUntil(System.currentTimeMillis() + untilReset);
+        } else if (remaining <= lowWatermark) {
+            pauseUntil(System.currentTimeMillis() + untilReset / remaining);
+        }
+    }
+
+    private boolean isRetryable(int status, HttpMethod method) {
+        if (status == 429) {
+            return true;
+        }
+        return RETRYABLE_SERVER_ERRORS.contains(status)
+                && (retryNonIdempotent || IDEMPOTENT_METHODS.contains(method));
+    }
+
+    /** Equal jitter: uniform in [ceiling / 2, ceiling]. */
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(backoffMax.toMillis(), backoffBase.toMillis() << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private void pauseUntil(long epochMillis) {
+        pausedUntilMillis.accumulateAndGet(epochMillis, Math::max);
+    }
+
+    private void sleep(long millis) throws IOException {
+        try {
+            sleeper.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while backing off from " + connector, e);
+        }
+    }
+
+    static Long parseRetryAfterMillis(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return null;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            // HTTP-date form is not used by any of our providers
+            return null;
+        }
+    }
+
+    // Reset headers come as epoch seconds (GitHub, Asana), epoch millis (Linear) or seconds-from-now
+    static Long parseResetMillis(Long reset) {
+        if (reset == null) {
+            return null;
+        }
+        if (reset > 100_000_000_000L) {
+            return reset;
+        }
+        if (reset > 1_000_000_000L) {
+            return TimeUnit.SECONDS.toMillis(reset);
+        }
+        return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(reset);
+    }
+
+    private static Long firstLong(HttpHeaders headers, String... names) {
+        for (String name : names) {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                try {
+                    return Long.parseLong(value.trim());
+                } catch (NumberFormatException ignored) {
+                    // try the next header name
+                }
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+}
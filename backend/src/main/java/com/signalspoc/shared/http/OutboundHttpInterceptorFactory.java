@@ -0,0 +1,22 @@
+package com.signalspoc.shared.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the per-connector {@link OutboundHttpInterceptor}. Each API client creates exactly one,
+ * so its token bucket and throttle state are shared by every thread using that client.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboundHttpInterceptorFactory {
+
+    private final MeterRegistry meterRegistry;
+
+    public OutboundHttpInterceptor create(String connector, int requestsPerMinute, int retryAttempts,
+                                          boolean retryNonIdempotent) {
+        return new OutboundHttpInterceptor(connector, requestsPerMinute, retryAttempts,
+                retryNonIdempotent, meterRegistry);
+    }
+}
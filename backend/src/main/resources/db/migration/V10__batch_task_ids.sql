@@ -0,0 +1,2 @@
+-- Task ids are allocated 50 at a time so batched inserts need no per-row round trip
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
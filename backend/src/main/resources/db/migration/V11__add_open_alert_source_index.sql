@@ -0,0 +1,4 @@
+-- uq_sync_alerts_open_key (V4) is on COALESCE expressions, so it only rejects duplicate open alerts:
+-- a plain "source_system = ? AND source_id IN (...)" predicate cannot use it. This index backs
+-- SyncAlertService.createAlerts' open-alert dedup lookup.
+CREATE INDEX IF NOT EXISTS idx_sync_alerts_open_source ON sync_alerts(source_system, source_id) WHERE is_resolved = FALSE;
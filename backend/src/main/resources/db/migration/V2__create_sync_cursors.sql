@@ -0,0 +1,7 @@
+-- Per-connector high-water marks for incremental (delta) sync
+CREATE TABLE IF NOT EXISTS sync_cursors (
+    connector_type VARCHAR(50) PRIMARY KEY,
+    high_water_mark TIMESTAMP,
+    last_full_sync_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
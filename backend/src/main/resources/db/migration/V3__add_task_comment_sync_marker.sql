@@ -0,0 +1,2 @@
+-- Remote modified_at seen when a task's comments were last fetched, so unchanged tasks are skipped
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS comments_synced_modified_at TIMESTAMP;
@@ -0,0 +1,25 @@
+-- Open alerts are unique per (source, target, alert type). Resolve historical duplicates first,
+-- keeping the oldest open alert of each key.
+UPDATE sync_alerts a
+SET is_resolved = TRUE, resolved_at = CURRENT_TIMESTAMP
+WHERE a.is_resolved = FALSE
+  AND EXISTS (
+      SELECT 1 FROM sync_alerts b
+      WHERE b.is_resolved = FALSE
+        AND b.id < a.id
+        AND b.alert_type = a.alert_type
+        AND b.source_system IS NOT DISTINCT FROM a.source_system
+        AND b.source_id IS NOT DISTINCT FROM a.source_id
+        AND b.target_system IS NOT DISTINCT FROM a.target_system
+        AND b.target_id IS NOT DISTINCT FROM a.target_id
+  );
+
+-- Backs the open-alert dedup lookups and rejects duplicates from concurrent writers
+CREATE UNIQUE INDEX IF NOT EXISTS uq_sync_alerts_open_key ON sync_alerts (
+    COALESCE(source_system, ''), COALESCE(source_id, ''),
+    COALESCE(target_system, ''), COALESCE(target_id, ''),
+    alert_type
+) WHERE is_resolved = FALSE;
+
+-- SyncAlert ids are allocated 50 at a time so batched inserts need no per-row round trip
+ALTER SEQUENCE sync_alerts_id_seq INCREMENT BY 50;
@@ -0,0 +1,17 @@
+-- Durable inbox for GitHub pull_request / pull_request_review webhook deliveries
+CREATE TABLE IF NOT EXISTS github_webhook_inbox (
+    id BIGSERIAL PRIMARY KEY,
+    delivery_id VARCHAR(100) NOT NULL UNIQUE,
+    event_type VARCHAR(50) NOT NULL,
+    action VARCHAR(50),
+    repository VARCHAR(255) NOT NULL,
+    pr_number INTEGER NOT NULL,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    process_after TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_github_webhook_inbox_due ON github_webhook_inbox(process_after) WHERE processed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_github_webhook_inbox_pr ON github_webhook_inbox(repository, pr_number) WHERE processed_at IS NULL;
@@ -0,0 +1,17 @@
+-- Durable AI enrichment work queue; rows are deleted once the alert has its suggestion
+CREATE TABLE IF NOT EXISTS ai_enrichment_queue (
+    id BIGSERIAL PRIMARY KEY,
+    alert_id BIGINT NOT NULL UNIQUE REFERENCES sync_alerts(id) ON DELETE CASCADE,
+    priority INTEGER NOT NULL,
+    alert_type VARCHAR(50) NOT NULL,
+    severity VARCHAR(20) NOT NULL,
+    pr_payload TEXT,
+    task_id BIGINT,
+    enqueued_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    available_at TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+-- Claim order: most severe first, then FIFO
+CREATE INDEX IF NOT EXISTS idx_ai_enrichment_queue_claim ON ai_enrichment_queue(priority, id);
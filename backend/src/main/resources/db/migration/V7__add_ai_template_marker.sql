@@ -0,0 +1,5 @@
+-- Alerts enriched by the template fallback instead of the model; re-enriched once Ollama is back
+ALTER TABLE sync_alerts ADD COLUMN IF NOT EXISTS ai_templated BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Queue rows of template-enriched alerts are parked rather than deleted, keeping their prompt context
+ALTER TABLE ai_enrichment_queue ADD COLUMN IF NOT EXISTS parked BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,14 @@
+-- One analysis state per entity. Drop historical duplicates first, keeping the newest row of each key.
+DELETE FROM analysis_state a
+WHERE EXISTS (
+    SELECT 1 FROM analysis_state b
+    WHERE b.entity_type = a.entity_type
+      AND b.entity_id = a.entity_id
+      AND b.id > a.id
+);
+
+-- Backs the bulk checksum lookup and rejects duplicates from concurrent writers
+CREATE UNIQUE INDEX IF NOT EXISTS uq_analysis_state_entity ON analysis_state (entity_type, entity_id);
+
+-- AnalysisState ids are allocated 50 at a time so batched inserts need no per-row round trip
+ALTER SEQUENCE analysis_state_id_seq INCREMENT BY 50;
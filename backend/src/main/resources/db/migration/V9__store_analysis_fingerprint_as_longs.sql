@@ -0,0 +1,6 @@
+-- Analysis change detection moves from a 64-char SHA-256 hex checksum to a 128-bit
+-- non-cryptographic fingerprint stored as two BIGINTs. Old checksums cannot be compared with the
+-- new fingerprints, so they are dropped; every pair is re-analyzed once on the next run.
+ALTER TABLE analysis_state ADD COLUMN IF NOT EXISTS content_hash_high BIGINT;
+ALTER TABLE analysis_state ADD COLUMN IF NOT EXISTS content_hash_low BIGINT;
+ALTER TABLE analysis_state DROP COLUMN IF EXISTS content_checksum;
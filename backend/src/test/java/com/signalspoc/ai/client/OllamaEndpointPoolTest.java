@@ -0,0 +1,76 @@
+package com.signalspoc.ai.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OllamaEndpointPoolTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final OllamaEndpointPool pool = new OllamaEndpointPool(
+            List.of("http://a:11434", "http://b:11434"), 2, 2, 30_000, now::get);
+
+    // ─── Routing ──────────────────────────────────────────────────────────────
+
+    @Test
+    void acquire_routesToTheEndpointWithFewestOutstandingRequestsUpToTheLimit() throws InterruptedException {
+        OllamaEndpointPool.Endpoint first = pool.acquire(Set.of(), 0);
+        OllamaEndpointPool.Endpoint second = pool.acquire(Set.of(), 0);
+        OllamaEndpointPool.Endpoint third = pool.acquire(Set.of(), 0);
+        OllamaEndpointPool.Endpoint fourth = pool.acquire(Set.of(), 0);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(List.of(third, fourth)).containsExactlyInAnyOrder(first, second);
+        // Both endpoints at maxConcurrent: no slot within the timeout
+        assertThat(pool.acquire(Set.of(), 0)).isNull();
+
+        pool.release(second, true);
+        assertThat(pool.acquire(Set.of(), 0)).isSameAs(second);
+    }
+
+    @Test
+    void acquire_skipsExcludedEndpointsForFailover() throws InterruptedException {
+        OllamaEndpointPool.Endpoint first = pool.acquire(Set.of(), 0);
+        pool.release(first, false);
+
+        OllamaEndpointPool.Endpoint other = pool.acquire(Set.of(first), 0);
+
+        assertThat(other).isNotSameAs(first);
+        assertThat(pool.acquire(Set.of(first, other), 0)).isNull();
+    }
+
+    // ─── Circuit breaking and health ──────────────────────────────────────────
+
+    @Test
+    void release_opensTheCircuitAfterConsecutiveFailuresUntilItExpires() throws InterruptedException {
+        OllamaEndpointPool.Endpoint a = pool.endpoints().get(0);
+        OllamaEndpointPool.Endpoint b = pool.endpoints().get(1);
+        for (int i = 0; i < 2; i++) {
+            assertThat(pool.acquire(Set.of(b), 0)).isSameAs(a);
+            pool.release(a, false);
+        }
+
+        assertThat(pool.capacity()).isEqualTo(2);
+        assertThat(pool.acquire(Set.of(b), 0)).isNull();
+
+        now.addAndGet(30_000);
+        assertThat(pool.capacity()).isEqualTo(4);
+        // Half-open: the next failure re-opens it straight away
+        pool.release(pool.acquire(Set.of(b), 0), false);
+        assertThat(pool.capacity()).isEqualTo(2);
+    }
+
+    @Test
+    void recordProbe_takesDownEndpointsOutOfRotationAndClosesCircuitsWhenBack() {
+        OllamaEndpointPool.Endpoint a = pool.endpoints().get(0);
+        pool.recordProbe(a, false);
+        assertThat(pool.capacity()).isEqualTo(2);
+
+        pool.recordProbe(a, true);
+        assertThat(pool.capacity()).isEqualTo(4);
+    }
+}
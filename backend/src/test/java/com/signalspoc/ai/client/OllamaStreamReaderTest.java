@@ -0,0 +1,80 @@
+package com.signalspoc.ai.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OllamaStreamReaderTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final OllamaStreamReader reader = new OllamaStreamReader(new ObjectMapper(), () -> now.addAndGet(10));
+
+    // ─── JSON cutoff ──────────────────────────────────────────────────────────
+
+    @Test
+    void read_stopsAtTheEndOfTheFirstJsonObjectEvenWithBracesInSplitStrings() throws IOException {
+        InputStream body = ndjson(
+                "{\"response\":\" {\\\"suggestion\\\": \\\"use {\",\"done\":false}",
+                "{\"response\":\"braces} \\\\\\\"\\\\\",\"done\":false}",
+                "{\"response\":\"\\\" and\\\"}\",\"done\":false}",
+                "{\"response\":\"\\n\\nExtra chatter the caller never needs\",\"done\":false}",
+                "{\"response\":\"\",\"done\":true}");
+
+        OllamaStreamReader.Result result = reader.read(body, true, 0, Long.MAX_VALUE);
+
+        assertThat(result.stopReason()).isEqualTo(OllamaStreamReader.StopReason.JSON_COMPLETE);
+        assertThat(result.text()).isEqualTo(" {\"suggestion\": \"use {braces} \\\"\\\" and\"}");
+        assertThat(result.tokens()).isEqualTo(3);
+        assertThat(result.firstTokenNanos()).isEqualTo(10);
+        assertThat(result.streamNanos()).isEqualTo(20);
+    }
+
+    @Test
+    void read_withoutJsonCutoffReadsUntilDone() throws IOException {
+        InputStream body = ndjson(
+                "{\"response\":\"{}\",\"done\":false}",
+                "{\"response\":\" more\",\"done\":false}",
+                "{\"response\":\"\",\"done\":true,\"eval_count\":2}");
+
+        OllamaStreamReader.Result result = reader.read(body, false, 0, Long.MAX_VALUE);
+
+        assertThat(result.stopReason()).isEqualTo(OllamaStreamReader.StopReason.DONE);
+        assertThat(result.text()).isEqualTo("{} more");
+    }
+
+    // ─── Timeouts and errors ──────────────────────────────────────────────────
+
+    @Test
+    void read_stopsAtTheOverallDeadline() throws IOException {
+        InputStream body = ndjson(
+                "{\"response\":\"{\\\"a\\\":\",\"done\":false}",
+                "{\"response\":\" 1\",\"done\":false}",
+                "{\"response\":\"}\",\"done\":false}");
+
+        OllamaStreamReader.Result result = reader.read(body, true, 0, 15);
+
+        assertThat(result.stopReason()).isEqualTo(OllamaStreamReader.StopReason.TIMEOUT);
+        assertThat(result.text()).isEqualTo("{\"a\": 1");
+    }
+
+    @Test
+    void read_surfacesStreamErrors() {
+        InputStream body = ndjson("{\"error\":\"model 'nope' not found\"}");
+
+        assertThatThrownBy(() -> reader.read(body, true, 0, Long.MAX_VALUE))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("model 'nope' not found");
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
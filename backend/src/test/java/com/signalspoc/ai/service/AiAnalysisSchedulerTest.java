@@ -0,0 +1,133 @@
+package com.signalspoc.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.ai.client.OllamaClient;
+import com.signalspoc.ai.config.AiConfig;
+import com.signalspoc.ai.model.AnalysisState;
+import com.signalspoc.ai.repository.AnalysisStateRepository;
+import com.signalspoc.ai.util.AnalysisChecksumUtil;
+import com.signalspoc.connector.github.GitHubApiClient;
+import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import com.signalspoc.domain.entity.Task;
+import com.signalspoc.domain.repository.SyncAlertRepository;
+import com.signalspoc.domain.service.LinkedIssueExtractor;
+import com.signalspoc.domain.service.SyncAlertService;
+import com.signalspoc.domain.service.TaskIdentifierIndex;
+import com.signalspoc.shared.hash.ContentFingerprint;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiAnalysisSchedulerTest {
+
+    @Mock OllamaClient ollamaClient;
+    @Mock GitHubApiClient gitHubApiClient;
+    @Mock TaskIdentifierIndex identifierIndex;
+    @Mock LinkedIssueExtractor linkedIssueExtractor;
+    @Mock SyncAlertService alertService;
+    @Mock SyncAlertRepository alertRepository;
+    @Mock AnalysisStateRepository analysisStateRepository;
+    @Mock AnalysisStateService analysisStateService;
+    @Mock ApplicationEventPublisher eventPublisher;
+    @Spy AiConfig aiConfig = new AiConfig();
+    @Spy ObjectMapper objectMapper = new ObjectMapper();
+    @Spy Executor aiAnalysisExecutor = new SyncTaskExecutor();
+
+    @InjectMocks
+    AiAnalysisScheduler scheduler;
+
+    private final GitHubPullRequestDto pr = new GitHubPullRequestDto();
+    private final Task unchanged = task("SIG-1");
+    private final Task changed = task("SIG-2");
+    private final Task fresh = task("SIG-3");
+
+    @BeforeEach
+    void setUp() {
+        pr.setNumber(7);
+        pr.setTitle("SIG-1 SIG-2 SIG-3: Tidy up");
+        pr.setState("open");
+        lenient().when(ollamaClient.hasUsableEndpoint()).thenReturn(true);
+        lenient().when(ollamaClient.parallelism()).thenReturn(1);
+        when(gitHubApiClient.getAllOpenPullRequests()).thenReturn(List.of(pr));
+        // SIG-1 is linked twice (title and branch, say) but is still one pair
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("SIG-1", "SIG-2", "SIG-3", "SIG-1"));
+        when(identifierIndex.findTasks("SIG-1")).thenReturn(List.of(unchanged));
+        when(identifierIndex.findTasks("SIG-2")).thenReturn(List.of(changed));
+        when(identifierIndex.findTasks("SIG-3")).thenReturn(List.of(fresh));
+    }
+
+    // ─── Semantic analysis state ──────────────────────────────────────────────
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_loadsStoredChecksumsInOneQueryAndSavesOnlyChangedPairsInOneBatch() {
+        AnalysisState unchangedState = state(unchanged, AnalysisChecksumUtil.computeChecksum(pr, unchanged));
+        AnalysisState changedState = state(changed, new ContentFingerprint(1L, 2L));
+        when(analysisStateRepository.findByEntityTypeAndEntityIdIn(eq("PR_TASK_PAIR"), anyCollection()))
+                .thenReturn(List.of(unchangedState, changedState));
+        when(ollamaClient.generateStructuredResponse(anyString(), anyInt())).thenReturn("{\"findings\": []}");
+
+        scheduler.runReconciliationAndAnalysis();
+
+        ArgumentCaptor<Collection<String>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(analysisStateRepository, times(1)).findByEntityTypeAndEntityIdIn(eq("PR_TASK_PAIR"), ids.capture());
+        assertThat(ids.getValue()).containsExactly("PR:7|TASK:SIG-1", "PR:7|TASK:SIG-2", "PR:7|TASK:SIG-3");
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(ollamaClient, times(1)).generateStructuredResponse(prompt.capture(), anyInt());
+        assertThat(prompt.getValue()).contains("2 GitHub PR / task pair(s)");
+
+        ArgumentCaptor<Collection<AnalysisStateService.AnalyzedEntity>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(analysisStateService, times(1)).recordAnalyzed(eq("PR_TASK_PAIR"), saved.capture());
+        assertThat(saved.getValue()).containsExactly(
+                new AnalysisStateService.AnalyzedEntity("PR:7|TASK:SIG-2", "LINEAR", AnalysisChecksumUtil.computeChecksum(pr, changed)),
+                new AnalysisStateService.AnalyzedEntity("PR:7|TASK:SIG-3", "LINEAR", AnalysisChecksumUtil.computeChecksum(pr, fresh)));
+        verify(analysisStateRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void run_skipsTheModelAndTheWriteWhenNothingChanged() {
+        when(analysisStateRepository.findByEntityTypeAndEntityIdIn(eq("PR_TASK_PAIR"), anyCollection()))
+                .thenReturn(List.of(state(unchanged, AnalysisChecksumUtil.computeChecksum(pr, unchanged)),
+                        state(changed, AnalysisChecksumUtil.computeChecksum(pr, changed)),
+                        state(fresh, AnalysisChecksumUtil.computeChecksum(pr, fresh))));
+
+        scheduler.runReconciliationAndAnalysis();
+
+        verify(ollamaClient, never()).generateStructuredResponse(anyString(), anyInt());
+        verifyNoInteractions(analysisStateService);
+    }
+
+    private AnalysisState state(Task task, ContentFingerprint checksum) {
+        return AnalysisState.builder()
+                .id(task.getId())
+                .entityType("PR_TASK_PAIR")
+                .entityId(AnalysisChecksumUtil.buildEntityId(pr, task))
+                .sourceSystem(task.getSourceSystem().name())
+                .contentHashHigh(checksum.high())
+                .contentHashLow(checksum.low())
+                .build();
+    }
+
+    private static Task task(String externalId) {
+        return Task.builder().id((long) externalId.hashCode()).externalId(externalId)
+                .sourceSystem(ConnectorType.LINEAR).title("Task " + externalId).status("In Progress").build();
+    }
+}
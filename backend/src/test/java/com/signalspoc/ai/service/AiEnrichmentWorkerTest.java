@@ -0,0 +1,192 @@
+package com.signalspoc.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.ai.client.OllamaClient;
+import com.signalspoc.ai.config.AiConfig;
+import com.signalspoc.ai.model.AiActionRecommendation;
+import com.signalspoc.ai.model.AiEnrichment;
+import com.signalspoc.ai.model.EnrichmentQueueItem;
+import com.signalspoc.domain.entity.SyncAlert;
+import com.signalspoc.domain.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiEnrichmentWorkerTest {
+
+    @Mock AiSuggestionService aiSuggestionService;
+    @Mock EnrichmentQueueService queueService;
+    @Mock TaskRepository taskRepository;
+    @Mock OllamaClient ollamaClient;
+    @Spy AiConfig aiConfig = new AiConfig();
+    @Spy ObjectMapper objectMapper = new ObjectMapper();
+    @Spy Executor aiEnrichmentExecutor = new SyncTaskExecutor();
+
+    @InjectMocks
+    AiEnrichmentWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        aiConfig.getEnrichmentQueue().setBatchSize(3);
+        aiConfig.getEnrichmentQueue().setBatchWindowMs(1);
+        lenient().when(ollamaClient.parallelism()).thenReturn(1);
+        lenient().when(ollamaClient.hasUsableEndpoint()).thenReturn(true);
+    }
+
+    // ─── drain ────────────────────────────────────────────────────────────────
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drain_fillsPartialBatchWithinWindowAndSendsOnePrompt() {
+        EnrichmentQueueItem a = item(1L), b = item(2L);
+        when(queueService.claim(3)).thenReturn(List.of(a), List.of());
+        when(queueService.claim(2)).thenReturn(List.of(b));
+        when(aiSuggestionService.generateEnrichments(anyList())).thenReturn(Map.of(
+                1L, enrichment(1L, "first"), 2L, enrichment(2L, "second")));
+
+        worker.drain();
+
+        ArgumentCaptor<List<AiSuggestionService.EnrichmentRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(aiSuggestionService, times(1)).generateEnrichments(captor.capture());
+        assertThat(captor.getValue()).extracting(AiSuggestionService.EnrichmentRequest::alertId).containsExactly(1L, 2L);
+        verify(queueService).complete(eq(a), eq("first"), anyString(), eq(false));
+        verify(queueService).complete(eq(b), eq("second"), anyString(), eq(false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drain_splitsAClaimAcrossFreeEndpointSlots() {
+        EnrichmentQueueItem a = item(1L), b = item(2L), c = item(3L);
+        when(ollamaClient.parallelism()).thenReturn(2);
+        when(queueService.claim(6)).thenReturn(List.of(a, b, c), List.of());
+        when(queueService.claim(3)).thenReturn(List.of());
+        when(aiSuggestionService.generateEnrichments(anyList())).thenAnswer(invocation -> {
+            List<AiSuggestionService.EnrichmentRequest> requests = invocation.getArgument(0);
+            return requests.stream().collect(Collectors.toMap(
+                    AiSuggestionService.EnrichmentRequest::alertId, r -> enrichment(r.alertId(), "ok")));
+        });
+
+        worker.drain();
+
+        ArgumentCaptor<List<AiSuggestionService.EnrichmentRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(aiSuggestionService, times(2)).generateEnrichments(captor.capture());
+        assertThat(captor.getAllValues()).extracting(List::size).containsExactlyInAnyOrder(2, 1);
+        verify(aiEnrichmentExecutor, times(2)).execute(any());
+        verify(queueService, times(3)).complete(any(), eq("ok"), anyString(), anyBoolean());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drain_sendsARetriedItemAsASingleAlertPrompt() {
+        EnrichmentQueueItem a = item(1L), b = item(2L), retried = item(3L);
+        retried.setAttempts(2);
+        when(queueService.claim(3)).thenReturn(List.of(a, retried, b), List.of());
+        when(aiSuggestionService.generateEnrichments(anyList())).thenReturn(Map.of());
+
+        worker.drain();
+
+        ArgumentCaptor<List<AiSuggestionService.EnrichmentRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(aiSuggestionService, times(2)).generateEnrichments(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(requests -> requests.stream().map(AiSuggestionService.EnrichmentRequest::alertId).toList())
+                .containsExactlyInAnyOrder(List.of(3L), List.of(1L, 2L));
+    }
+
+    @Test
+    void drain_stopsAfterMaxRoundsEvenWhileTheQueueStillHasWork() {
+        aiConfig.getEnrichmentQueue().setMaxRoundsPerDrain(2);
+        when(queueService.claim(3)).thenAnswer(invocation -> List.of(item(1L), item(2L), item(3L)));
+        when(aiSuggestionService.generateEnrichments(anyList())).thenReturn(Map.of());
+
+        worker.drain();
+
+        verify(queueService, times(2)).claim(3);
+        verify(aiSuggestionService, times(2)).generateEnrichments(anyList());
+    }
+
+    @Test
+    void drain_releasesParkedItemsOnceWhenOllamaComesBack() {
+        when(ollamaClient.hasUsableEndpoint()).thenReturn(false, true, true);
+        when(queueService.claim(3)).thenReturn(List.of());
+
+        worker.drain();
+        worker.drain();
+        worker.drain();
+
+        verify(queueService, times(1)).releaseParked();
+    }
+
+    @Test
+    void enrichBatch_entryTheHealthyModelLeftUnansweredIsRetriedNotParked() {
+        EnrichmentQueueItem a = item(1L), b = item(2L);
+        when(aiSuggestionService.generateEnrichments(anyList())).thenReturn(Map.of(
+                1L, enrichment(1L, "first"),
+                2L, enrichment(2L, null).toBuilder().fromModel(false).unanswered(true).build()));
+
+        worker.enrichBatch(List.of(a, b));
+
+        verify(queueService).complete(eq(a), eq("first"), anyString(), eq(false));
+        verify(queueService).fail(eq(b), anyString());
+        verify(queueService, never()).complete(eq(b), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void drain_releasesItemsParkedWhileOllamaStayedUpBetweenDrains() {
+        when(queueService.claim(3)).thenReturn(List.of(item(1L)), List.of());
+        when(queueService.claim(2)).thenReturn(List.of());
+        when(aiSuggestionService.generateEnrichments(anyList())).thenReturn(Map.of(
+                1L, enrichment(1L, null).toBuilder().fromModel(false).build()));
+
+        worker.drain();
+        worker.drain();
+
+        verify(queueService).complete(any(), isNull(), anyString(), eq(true));
+        // Once at startup, and once for the item parked by the first drain
+        verify(queueService, times(2)).releaseParked();
+    }
+
+    @Test
+    void enrichBatch_generationFailureFailsEveryItem() {
+        EnrichmentQueueItem a = item(1L), b = item(2L);
+        when(aiSuggestionService.generateEnrichments(anyList())).thenThrow(new IllegalStateException("down"));
+
+        worker.enrichBatch(List.of(a, b));
+
+        verify(queueService).fail(a, "down");
+        verify(queueService).fail(b, "down");
+        verify(queueService, never()).complete(any(), any(), any(), anyBoolean());
+    }
+
+    private EnrichmentQueueItem item(Long alertId) {
+        return EnrichmentQueueItem.builder()
+                .id(alertId).alertId(alertId).priority(1)
+                .alertType(SyncAlert.AlertType.STALE_PR).severity(SyncAlert.AlertSeverity.WARNING)
+                .enqueuedAt(LocalDateTime.now()).availableAt(LocalDateTime.now())
+                .build();
+    }
+
+    private AiEnrichment enrichment(Long alertId, String suggestion) {
+        return AiEnrichment.builder().alertId(alertId).suggestion(suggestion)
+                .action(AiActionRecommendation.builder()
+                        .actionType(AiActionRecommendation.ActionType.NO_ACTION).confidence(0.9).build())
+                .fromModel(true)
+                .build();
+    }
+}
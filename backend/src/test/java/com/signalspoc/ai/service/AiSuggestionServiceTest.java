@@ -0,0 +1,220 @@
+package com.signalspoc.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.ai.client.OllamaClient;
+import com.signalspoc.ai.config.AiConfig;
+import com.signalspoc.ai.model.AiActionRecommendation;
+import com.signalspoc.ai.model.AiEnrichment;
+import com.signalspoc.domain.entity.SyncAlert;
+import com.signalspoc.domain.entity.Task;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiSuggestionServiceTest {
+
+    @Mock OllamaClient ollamaClient;
+    @Spy AiConfig aiConfig = new AiConfig();
+    @Spy ObjectMapper objectMapper = new ObjectMapper();
+    @Spy EnrichmentResponseCache responseCache =
+            new EnrichmentResponseCache(new AiConfig(), new SimpleMeterRegistry(), new ObjectMapper());
+
+    @InjectMocks
+    AiSuggestionService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(ollamaClient.hasUsableEndpoint()).thenReturn(true);
+    }
+
+    private final Task task = Task.builder().id(1L).externalId("98765")
+            .sourceSystem(ConnectorType.ASANA).title("Ship it").status("In Progress").build();
+
+    // ─── generateEnrichment ───────────────────────────────────────────────────
+
+    @Test
+    void generateEnrichment_returnsSuggestionAndActionFromOneSchemaConstrainedCall() {
+        when(ollamaClient.generateStructuredResponse(anyString(), anyInt(), any())).thenReturn("""
+                {"suggestion": "  Mark Asana task 98765 Complete.  ",
+                 "action": {"actionType": "COMPLETE_TASK", "targetPlatform": "ASANA", "targetEntityId": "98765",
+                            "parameters": {}, "reasoning": "PR merged", "confidence": 0.95}}
+                """);
+
+        AiEnrichment enrichment = service.generateEnrichment(
+                SyncAlert.AlertType.PR_MERGED_TASK_OPEN, SyncAlert.AlertSeverity.CRITICAL, null, task);
+
+        assertThat(enrichment.getSuggestion()).isEqualTo("Mark Asana task 98765 Complete.");
+        assertThat(enrichment.getAction().getActionType()).isEqualTo(AiActionRecommendation.ActionType.COMPLETE_TASK);
+        assertThat(enrichment.getAction().getReasoning()).isEqualTo("PR merged");
+        verify(ollamaClient, times(1)).generateStructuredResponse(anyString(), anyInt(),
+                same(AiSuggestionService.ENRICHMENT_SCHEMA));
+        verify(ollamaClient).hasUsableEndpoint();
+        verifyNoMoreInteractions(ollamaClient);
+    }
+
+    @Test
+    void generateEnrichment_invalidActionKeepsSuggestionAndUsesTemplate() {
+        when(ollamaClient.generateStructuredResponse(anyString(), anyInt(), any())).thenReturn("""
+                {"suggestion": "Complete the task.",
+                 "action": {"actionType": "COMPLETE_TASK", "parameters": {}, "reasoning": "x", "confidence": 3}}
+                """);
+
+        AiEnrichment enrichment = service.generateEnrichment(
+                SyncAlert.AlertType.PR_MERGED_TASK_OPEN, SyncAlert.AlertSeverity.CRITICAL, null, task);
+
+        assertThat(enrichment.getSuggestion()).isEqualTo("Complete the task.");
+        assertThat(enrichment.getAction().getTargetEntityId()).isEqualTo("98765");
+        assertThat(enrichment.getAction().getConfidence()).isEqualTo(0.9);
+        // The model was up and answered badly: retried by the queue, not parked
+        assertThat(enrichment.isUnanswered()).isTrue();
+    }
+
+    @Test
+    void generateEnrichment_unparseableOrMissingResponseFallsBackToTemplate() {
+        when(ollamaClient.generateStructuredResponse(anyString(), anyInt(), any())).thenReturn("not json", (String) null);
+
+        for (int i = 0; i < 2; i++) {
+            AiEnrichment enrichment = service.generateEnrichment(
+                    SyncAlert.AlertType.STALE_PR, SyncAlert.AlertSeverity.WARNING, null, task);
+
+            assertThat(enrichment.getSuggestion()).isNull();
+            assertThat(enrichment.getAction().getActionType()).isEqualTo(AiActionRecommendation.ActionType.ADD_PR_COMMENT);
+        }
+    }
+
+    // ─── generateEnrichments (batch) ──────────────────────────────────────────
+
+    @Test
+    void generateEnrichments_fansOutByAlertIdWithPerItemFallback() {
+        when(ollamaClient.generateStructuredResponse(anyString(), anyInt(), any())).thenReturn("""
+                {"enrichments": [
+                  {"alertId": 2, "suggestion": "Comment on the stale PR.",
+                   "action": {"actionType": "ADD_PR_COMMENT", "targetPlatform": "GITHUB", "targetEntityId": "7",
+                              "parameters": {"comment": "ping"}, "reasoning": "stale", "confidence": 0.8}},
+                  {"alertId": 1, "suggestion": "Broken entry", "action": "not an object"},
+                  {"alertId": 99, "suggestion": "Not in the batch"}
+                ]}
+                """);
+
+        Map<Long, AiEnrichment> result = service.generateEnrichments(List.of(
+                new AiSuggestionService.EnrichmentRequest(1L, SyncAlert.AlertType.PR_MERGED_TASK_OPEN,
+                        SyncAlert.AlertSeverity.CRITICAL, null, task),
+                new AiSuggestionService.EnrichmentRequest(2L, SyncAlert.AlertType.STALE_PR,
+                        SyncAlert.AlertSeverity.WARNING, null, task),
+                new AiSuggestionService.EnrichmentRequest(3L, SyncAlert.AlertType.MISSING_LINK,
+                        SyncAlert.AlertSeverity.INFO, null, null)));
+
+        assertThat(result).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(result.get(2L).getSuggestion()).isEqualTo("Comment on the stale PR.");
+        assertThat(result.get(2L).getAction().getParameters()).containsEntry("comment", "ping");
+        assertThat(result.get(2L).isUnanswered()).isFalse();
+        // Unreadable and missing entries fall back to the template, per alert, and are marked for a retry
+        assertThat(result.get(1L).isUnanswered()).isTrue();
+        assertThat(result.get(3L).isUnanswered()).isTrue();
+        assertThat(result.get(1L).getSuggestion()).isNull();
+        assertThat(result.get(1L).getAction().getActionType()).isEqualTo(AiActionRecommendation.ActionType.COMPLETE_TASK);
+        assertThat(result.get(3L).getAction().getActionType()).isEqualTo(AiActionRecommendation.ActionType.MANUAL_REVIEW);
+        verify(ollamaClient, times(1)).generateStructuredResponse(anyString(), anyInt(),
+                same(AiSuggestionService.BATCH_ENRICHMENT_SCHEMA));
+    }
+
+    @Test
+    void generateEnrichments_singleRequestUsesTheSingleAlertPrompt() {
+        when(ollamaClient.generateStructuredResponse(anyString(), anyInt(), any())).thenReturn(null);
+
+        Map<Long, AiEnrichment> result = service.generateEnrichments(List.of(
+                new AiSuggestionService.EnrichmentRequest(5L, SyncAlert.AlertType.STALE_PR,
+                        SyncAlert.AlertSeverity.WARNING, null, task)));
+
+        assertThat(result).containsOnlyKeys(5L);
+        verify(ollamaClient).generateStructuredResponse(anyString(), anyInt(), same(AiSuggestionService.ENRICHMENT_SCHEMA));
+    }
+
+    @Test
+    void generateEnrichments_identicalContextsShareOneModelCallAndTheCache() {
+        when(ollamaClient.generateStructuredResponse(anyString(), anyInt(), any())).thenReturn("""
+                {"suggestion": "Mark task 98765 (Ship it) Complete.",
+                 "action": {"actionType": "COMPLETE_TASK", "targetPlatform": "ASANA", "targetEntityId": "98765",
+                            "parameters": {}, "reasoning": "PR merged", "confidence": 0.95}}
+                """);
+        Task other = Task.builder().id(2L).externalId("11111")
+                .sourceSystem(ConnectorType.ASANA).title("Other work").status("in progress ").build();
+
+        Map<Long, AiEnrichment> storm = service.generateEnrichments(List.of(
+                new AiSuggestionService.EnrichmentRequest(1L, SyncAlert.AlertType.PR_MERGED_TASK_OPEN,
+                        SyncAlert.AlertSeverity.CRITICAL, null, task),
+                new AiSuggestionService.EnrichmentRequest(2L, SyncAlert.AlertType.PR_MERGED_TASK_OPEN,
+                        SyncAlert.AlertSeverity.CRITICAL, null, other)));
+        Map<Long, AiEnrichment> later = service.generateEnrichments(List.of(
+                new AiSuggestionService.EnrichmentRequest(3L, SyncAlert.AlertType.PR_MERGED_TASK_OPEN,
+                        SyncAlert.AlertSeverity.CRITICAL, null, other)));
+
+        assertThat(storm.keySet()).containsExactly(1L, 2L);
+        assertThat(storm.get(2L).getSuggestion()).isEqualTo("Mark task 11111 (Other work) Complete.");
+        assertThat(storm.get(2L).getAction().getTargetEntityId()).isEqualTo("11111");
+        assertThat(later.get(3L).getAlertId()).isEqualTo(3L);
+        assertThat(later.get(3L).getAction().getTargetEntityId()).isEqualTo("11111");
+        verify(ollamaClient, times(1)).generateStructuredResponse(anyString(), anyInt(),
+                same(AiSuggestionService.ENRICHMENT_SCHEMA));
+    }
+
+    @Test
+    void generateEnrichments_templateFallbacksAreNotCached() {
+        when(ollamaClient.generateStructuredResponse(anyString(), anyInt(), any())).thenReturn(null);
+        AiSuggestionService.EnrichmentRequest request = new AiSuggestionService.EnrichmentRequest(
+                1L, SyncAlert.AlertType.STALE_PR, SyncAlert.AlertSeverity.WARNING, null, task);
+
+        service.generateEnrichments(List.of(request));
+        service.generateEnrichments(List.of(request));
+
+        assertThat(responseCache.size()).isZero();
+        verify(ollamaClient, times(2)).generateStructuredResponse(anyString(), anyInt(), any());
+    }
+
+    @Test
+    void generateEnrichments_withNoUsableEndpointGoesStraightToTemplates() {
+        when(ollamaClient.hasUsableEndpoint()).thenReturn(false);
+
+        Map<Long, AiEnrichment> result = service.generateEnrichments(List.of(
+                new AiSuggestionService.EnrichmentRequest(1L, SyncAlert.AlertType.PR_MERGED_TASK_OPEN,
+                        SyncAlert.AlertSeverity.CRITICAL, null, task),
+                new AiSuggestionService.EnrichmentRequest(2L, SyncAlert.AlertType.STALE_PR,
+                        SyncAlert.AlertSeverity.WARNING, null, task)));
+
+        assertThat(result.values()).allSatisfy(enrichment -> {
+            assertThat(enrichment.isFromModel()).isFalse();
+            assertThat(enrichment.isUnanswered()).isFalse();
+        });
+        assertThat(result.get(1L).getAction().getActionType()).isEqualTo(AiActionRecommendation.ActionType.COMPLETE_TASK);
+        verify(ollamaClient, never()).generateStructuredResponse(anyString(), anyInt(), any());
+    }
+
+    // ─── validate ─────────────────────────────────────────────────────────────
+
+    @Test
+    void validate_requiresTargetOnlyForActionsThatChangeSomething() {
+        AiActionRecommendation manual = AiActionRecommendation.builder()
+                .actionType(AiActionRecommendation.ActionType.MANUAL_REVIEW).confidence(0.5).build();
+        AiActionRecommendation untargeted = AiActionRecommendation.builder()
+                .actionType(AiActionRecommendation.ActionType.ADD_PR_COMMENT).confidence(0.8).build();
+
+        assertThat(AiSuggestionService.validate(manual)).isNull();
+        assertThat(manual.getParameters()).isEmpty();
+        assertThat(AiSuggestionService.validate(untargeted)).contains("no target");
+        assertThat(AiSuggestionService.validate(null)).isEqualTo("missing");
+    }
+}
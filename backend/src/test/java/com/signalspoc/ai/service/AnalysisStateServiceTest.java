@@ -0,0 +1,84 @@
+package com.signalspoc.ai.service;
+
+import com.signalspoc.ai.model.AnalysisState;
+import com.signalspoc.ai.repository.AnalysisStateRepository;
+import com.signalspoc.shared.hash.ContentFingerprint;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Not transactional: recordAnalyzed must open its own transaction, as it does when the scheduler calls it
+@DataJpaTest(properties = {
+        "ai.ollama.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50"
+})
+@Import(AnalysisStateService.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnalysisStateServiceTest {
+
+    @Autowired AnalysisStateService service;
+    @Autowired AnalysisStateRepository repository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(List.of(state("PR:1|TASK:SIG-1"), state("PR:1|TASK:SIG-2")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void recordAnalyzed_updatesStoredRowsWithoutReselectingThem() {
+        service.recordAnalyzed("PR_TASK_PAIR", List.of(
+                new AnalysisStateService.AnalyzedEntity("PR:1|TASK:SIG-1", "LINEAR", new ContentFingerprint(1L, 1L)),
+                new AnalysisStateService.AnalyzedEntity("PR:1|TASK:SIG-2", "LINEAR", new ContentFingerprint(2L, 2L)),
+                new AnalysisStateService.AnalyzedEntity("PR:1|TASK:SIG-3", "LINEAR", new ContentFingerprint(3L, 3L))));
+
+        // One finder query loads both stored rows; a merge of detached copies would load each again
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+
+        assertThat(repository.findAll())
+                .extracting(AnalysisState::getEntityId, AnalysisState::getContentHashHigh, AnalysisState::getContentHashLow)
+                .containsExactlyInAnyOrder(
+                        tuple("PR:1|TASK:SIG-1", 1L, 1L),
+                        tuple("PR:1|TASK:SIG-2", 2L, 2L),
+                        tuple("PR:1|TASK:SIG-3", 3L, 3L));
+        assertThat(repository.findAll()).allSatisfy(state -> assertThat(state.getLastAnalyzedAt()).isNotNull());
+    }
+
+    private static AnalysisState state(String entityId) {
+        return AnalysisState.builder()
+                .entityType("PR_TASK_PAIR")
+                .entityId(entityId)
+                .sourceSystem("LINEAR")
+                .contentHashHigh(0L)
+                .contentHashLow(0L)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.signalspoc.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.ai.config.AiConfig;
+import com.signalspoc.ai.event.AlertEnrichmentEvent;
+import com.signalspoc.ai.model.EnrichmentQueueItem;
+import com.signalspoc.ai.repository.EnrichmentQueueRepository;
+import com.signalspoc.domain.entity.SyncAlert;
+import com.signalspoc.domain.entity.Task;
+import com.signalspoc.domain.repository.SyncAlertRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrichmentQueueServiceTest {
+
+    @Mock EnrichmentQueueRepository queueRepository;
+    @Mock SyncAlertRepository alertRepository;
+    @Spy AiConfig aiConfig = new AiConfig();
+    @Spy ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    EnrichmentQueueService queueService;
+
+    // ─── enqueue ──────────────────────────────────────────────────────────────
+
+    @Test
+    void enqueue_storesSeverityPriorityAndTaskReference() {
+        queueService.enqueue(new AlertEnrichmentEvent(7L, SyncAlert.AlertType.PR_MERGED_TASK_OPEN,
+                SyncAlert.AlertSeverity.CRITICAL, null, Task.builder().id(3L).build()));
+
+        ArgumentCaptor<EnrichmentQueueItem> captor = ArgumentCaptor.forClass(EnrichmentQueueItem.class);
+        verify(queueRepository).saveAndFlush(captor.capture());
+        EnrichmentQueueItem item = captor.getValue();
+        assertThat(item.getAlertId()).isEqualTo(7L);
+        assertThat(item.getPriority()).isZero();
+        assertThat(item.getTaskId()).isEqualTo(3L);
+        assertThat(item.getPrPayload()).isNull();
+        assertThat(item.getAvailableAt()).isEqualTo(item.getEnqueuedAt());
+    }
+
+    @Test
+    void enqueue_alreadyQueuedOrRacingInsertIsANoOp() {
+        AlertEnrichmentEvent event = new AlertEnrichmentEvent(7L, SyncAlert.AlertType.STALE_PR,
+                SyncAlert.AlertSeverity.WARNING, null, null);
+        when(queueRepository.existsByAlertId(7L)).thenReturn(true, false);
+        when(queueRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("dup"));
+
+        queueService.enqueue(event);
+        queueService.enqueue(event);
+
+        verify(queueRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void priorityOf_ordersCriticalFirst() {
+        assertThat(EnrichmentQueueItem.priorityOf(SyncAlert.AlertSeverity.CRITICAL))
+                .isLessThan(EnrichmentQueueItem.priorityOf(SyncAlert.AlertSeverity.WARNING));
+        assertThat(EnrichmentQueueItem.priorityOf(SyncAlert.AlertSeverity.WARNING))
+                .isLessThan(EnrichmentQueueItem.priorityOf(SyncAlert.AlertSeverity.INFO));
+    }
+
+    // ─── claim / complete / fail ──────────────────────────────────────────────
+
+    @Test
+    void claim_countsAttemptAndHidesItemForTheLease() {
+        EnrichmentQueueItem item = item(0);
+        when(queueRepository.lockAvailable(any(), eq(1))).thenReturn(List.of(item));
+        when(queueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<EnrichmentQueueItem> claimed = queueService.claim(1);
+
+        assertThat(claimed).containsExactly(item);
+        assertThat(item.getAttempts()).isEqualTo(1);
+        assertThat(item.getAvailableAt()).isAfter(LocalDateTime.now().plusSeconds(
+                aiConfig.getEnrichmentQueue().getLeaseSeconds() - 5));
+    }
+
+    @Test
+    void complete_patchesAlertAndDeletesItem() {
+        queueService.complete(item(1), "suggestion", "{}", false);
+
+        verify(alertRepository).updateAiEnrichment(7L, "suggestion", "{}", false);
+        verify(queueRepository).deleteById(1L);
+    }
+
+    @Test
+    void complete_templateEnrichmentMarksAlertAndParksItem() {
+        EnrichmentQueueItem item = item(1);
+
+        queueService.complete(item, null, "{}", true);
+
+        verify(alertRepository).updateAiEnrichment(7L, null, "{}", true);
+        assertThat(item.getParked()).isTrue();
+        verify(queueRepository).save(item);
+        verify(queueRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void releaseParked_dropsResolvedAlertsAndReleasesTheRest() {
+        when(queueRepository.releaseParked(any())).thenReturn(3);
+
+        assertThat(queueService.releaseParked()).isEqualTo(3);
+
+        var order = inOrder(queueRepository);
+        order.verify(queueRepository).deleteParkedOfResolvedAlerts();
+        order.verify(queueRepository).releaseParked(any());
+    }
+
+    @Test
+    void fail_backsOffUntilMaxAttemptsThenDrops() {
+        EnrichmentQueueItem retry = item(2);
+        queueService.fail(retry, "boom");
+
+        assertThat(retry.getLastError()).isEqualTo("boom");
+        assertThat(retry.getAvailableAt()).isAfter(LocalDateTime.now().plusSeconds(60));
+        verify(queueRepository).save(retry);
+
+        queueService.fail(item(aiConfig.getEnrichmentQueue().getMaxAttempts()), "boom");
+        verify(queueRepository).deleteById(1L);
+    }
+
+    private EnrichmentQueueItem item(int attempts) {
+        return EnrichmentQueueItem.builder()
+                .id(1L).alertId(7L).priority(0)
+                .alertType(SyncAlert.AlertType.PR_MERGED_TASK_OPEN)
+                .severity(SyncAlert.AlertSeverity.CRITICAL)
+                .enqueuedAt(LocalDateTime.now()).availableAt(LocalDateTime.now())
+                .attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.signalspoc.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.ai.config.AiConfig;
+import com.signalspoc.ai.model.AiActionRecommendation;
+import com.signalspoc.ai.model.AiEnrichment;
+import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import com.signalspoc.domain.entity.SyncAlert;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrichmentResponseCacheTest {
+
+    private final AiConfig aiConfig = new AiConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EnrichmentResponseCache cache =
+            new EnrichmentResponseCache(aiConfig, meterRegistry, new ObjectMapper());
+
+    private final AiSuggestionService.EnrichmentRequest stale12 = stalePr(1L, 12, "Add login page");
+    private final AiSuggestionService.EnrichmentRequest stale345 = stalePr(2L, 345, "Fix flaky build");
+
+    private final AiEnrichment forStale12 = AiEnrichment.builder()
+            .suggestion("PR #12 \"Add login page\" has been idle for a week.")
+            .action(AiActionRecommendation.builder()
+                    .actionType(AiActionRecommendation.ActionType.ADD_PR_COMMENT)
+                    .targetPlatform(ConnectorType.GITHUB).targetEntityId("12")
+                    .parameters(Map.of("comment", "Still needed? https://github.com/acme/app/pull/12"))
+                    .reasoning("Stale for 12 days").confidence(0.8).build())
+            .fromModel(true)
+            .build();
+
+    // ─── Templating ───────────────────────────────────────────────────────────
+
+    @Test
+    void get_retargetsTheCachedAnswerAtTheRequestingAlert() {
+        String key = cache.keyOf(stale12);
+        assertThat(cache.keyOf(stale345)).isEqualTo(key);
+
+        cache.put(key, stale12, forStale12);
+        AiEnrichment hit = cache.get(key, stale345);
+
+        assertThat(hit.getAlertId()).isEqualTo(2L);
+        assertThat(hit.getSuggestion()).isEqualTo("PR #345 \"Fix flaky build\" has been idle for a week.");
+        assertThat(hit.getAction().getTargetEntityId()).isEqualTo("345");
+        assertThat(hit.getAction().getParameters())
+                .containsEntry("comment", "Still needed? https://github.com/acme/app/pull/345");
+        // Numbers that are not the PR reference are left alone
+        assertThat(hit.getAction().getReasoning()).isEqualTo("Stale for 12 days");
+        assertThat(meterRegistry.get("signals.ai.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keyOf_differsWhenTheAlertShapeDiffers() {
+        AiSuggestionService.EnrichmentRequest merged = new AiSuggestionService.EnrichmentRequest(3L,
+                SyncAlert.AlertType.STALE_PR, SyncAlert.AlertSeverity.WARNING, pr(12, "Add login page", true), null);
+
+        assertThat(cache.keyOf(merged)).isNotEqualTo(cache.keyOf(stale12));
+    }
+
+    // ─── Bounds ───────────────────────────────────────────────────────────────
+
+    @Test
+    void get_expiresEntriesAfterTheTtlAndEvictsBeyondMaxEntries() {
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        cache.clock = Clock.fixed(start, ZoneOffset.UTC);
+        cache.put("a", stale12, forStale12);
+
+        cache.clock = Clock.fixed(start.plus(Duration.ofMinutes(aiConfig.getResponseCache().getTtlMinutes())), ZoneOffset.UTC);
+        assertThat(cache.get("a", stale12)).isNull();
+
+        aiConfig.getResponseCache().setMaxEntries(1);
+        cache.put("a", stale12, forStale12);
+        cache.put("b", stale12, forStale12);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("a", stale12)).isNull();
+        assertThat(meterRegistry.get("signals.ai.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    // ─── Persistence ──────────────────────────────────────────────────────────
+
+    @Test
+    void save_andLoad_restoreEntriesAcrossRestarts(@TempDir Path dir) {
+        aiConfig.getResponseCache().setPersistPath(dir.resolve("ai-cache.json").toString());
+        String key = cache.keyOf(stale12);
+        cache.put(key, stale12, forStale12);
+        cache.save();
+
+        EnrichmentResponseCache restarted = new EnrichmentResponseCache(aiConfig, new SimpleMeterRegistry(), new ObjectMapper());
+        restarted.load();
+
+        assertThat(restarted.size()).isEqualTo(1);
+        assertThat(restarted.get(key, stale345).getAction().getTargetEntityId()).isEqualTo("345");
+    }
+
+    private static AiSuggestionService.EnrichmentRequest stalePr(Long alertId, int number, String title) {
+        return new AiSuggestionService.EnrichmentRequest(alertId, SyncAlert.AlertType.STALE_PR,
+                SyncAlert.AlertSeverity.WARNING, pr(number, title, false), null);
+    }
+
+    private static GitHubPullRequestDto pr(int number, String title, boolean merged) {
+        GitHubPullRequestDto pr = new GitHubPullRequestDto();
+        pr.setNumber(number);
+        pr.setTitle(title);
+        pr.setState(merged ? "closed" : "open");
+        pr.setMerged(merged);
+        pr.setDraft(false);
+        pr.setHtmlUrl("https://github.com/acme/app/pull/" + number);
+        return pr;
+    }
+}
@@ -1,10 +1,12 @@
 package com.signalspoc.api.controller;
 
+import com.signalspoc.connector.model.CombinedSyncResult;
 import com.signalspoc.connector.model.SyncResult;
 import com.signalspoc.domain.entity.SyncLog;
 import com.signalspoc.domain.service.SyncOrchestrator;
 import com.signalspoc.shared.exception.Exceptions.SyncException;
 import com.signalspoc.shared.model.Enums.ConnectorType;
+import com.signalspoc.shared.model.Enums.SyncStatus;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -36,6 +38,26 @@ class SyncControllerTest {
     private static final String AUTH = "Basic " +
             Base64.getEncoder().encodeToString("admin:admin123".getBytes());
 
+    // ─── POST /all ─────────────────────────────────────────────────────────────
+
+    @Test
+    void syncAllConnectors_returnsCombinedReport() throws Exception {
+        SyncResult asana = SyncResult.empty(ConnectorType.ASANA);
+        asana.setTasksCreated(2);
+        SyncResult linear = SyncResult.empty(ConnectorType.LINEAR);
+        linear.setTasksCreated(5);
+        when(syncOrchestrator.syncAllConnectors()).thenReturn(CombinedSyncResult.builder()
+                .status(SyncStatus.SUCCESS)
+                .results(List.of(asana, linear))
+                .build());
+
+        mockMvc.perform(post("/api/v1/sync/all").header("Authorization", AUTH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.totals.tasksCreated").value(7))
+                .andExpect(jsonPath("$.connectors[1].connectorType").value("LINEAR"));
+    }
+
     // ─── POST /{connector}/all ─────────────────────────────────────────────────
 
     @Test
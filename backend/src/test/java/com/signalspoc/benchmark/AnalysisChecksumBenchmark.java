@@ -0,0 +1,85 @@
+package com.signalspoc.benchmark;
+
+import com.signalspoc.ai.util.AnalysisChecksumUtil;
+import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import com.signalspoc.domain.entity.Task;
+import com.signalspoc.domain.entity.User;
+import com.signalspoc.shared.hash.ContentFingerprint;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalysisChecksumUtil.computeChecksum (fields streamed into Murmur3 x64_128) against the checksum it
+ * replaced: concatenate the fields into a String, SHA-256 its UTF-8 bytes, hex-encode byte by byte.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="AnalysisChecksumBenchmark -f 1"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class AnalysisChecksumBenchmark {
+
+    private GitHubPullRequestDto pr;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        pr = new GitHubPullRequestDto();
+        pr.setTitle("SIG-1204: Normalise UTF-8 input before hashing with SHA-256");
+        pr.setState("open");
+        pr.setMerged(false);
+        pr.setDraft(false);
+        pr.setUpdatedAt(OffsetDateTime.of(2026, 3, 1, 12, 30, 0, 0, ZoneOffset.UTC));
+
+        task = Task.builder()
+                .externalId("lin-1204")
+                .sourceSystem(ConnectorType.LINEAR)
+                .title("Normalise UTF-8 input before hashing")
+                .status("In Review")
+                .externalModifiedAt(LocalDateTime.of(2026, 3, 1, 12, 45))
+                .assignee(User.builder().name("Sam Rivera").build())
+                .build();
+    }
+
+    @Benchmark
+    public String sha256Hex() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(pr.getTitle()).append('|');
+        sb.append(pr.getState()).append('|');
+        sb.append(pr.getMerged()).append('|');
+        sb.append(pr.getDraft()).append('|');
+        sb.append(pr.getUpdatedAt()).append('|');
+        sb.append(task.getTitle()).append('|');
+        sb.append(task.getStatus()).append('|');
+        sb.append(task.getExternalModifiedAt()).append('|');
+        sb.append(task.getAssignee().getName());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hexString = new StringBuilder();
+            for (byte b : hash) {
+                String hex = Integer.toHexString(0xff & b);
+                if (hex.length() == 1) hexString.append('0');
+                hexString.append(hex);
+            }
+            return hexString.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public ContentFingerprint streamedMurmur3() {
+        return AnalysisChecksumUtil.computeChecksum(pr, task);
+    }
+}
@@ -0,0 +1,84 @@
+package com.signalspoc.benchmark;
+
+import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import com.signalspoc.domain.repository.TaskRepository;
+import com.signalspoc.domain.service.LinkedIssueExtractor;
+import com.signalspoc.domain.service.TaskIdentifierIndex;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * LinkedIssueExtractor against the per-call regex that GitHubApiClient.extractLinkedIssues used
+ * before it: compile the pattern, concatenate title and body, collect every identifier-shaped token.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="LinkedIssueExtractorBenchmark -f 1"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class LinkedIssueExtractorBenchmark {
+
+    @Param({"short", "long"})
+    public String body;
+
+    private GitHubPullRequestDto pr;
+    private LinkedIssueExtractor extractor;
+
+    @Setup
+    public void setUp() {
+        pr = new GitHubPullRequestDto();
+        pr.setTitle("SIG-1204: Normalise UTF-8 input before hashing with SHA-256");
+        String paragraph = "Closes SIG-1204 and relates to OPS-77. Bumps ISO-8859 handling, see RFC-3629 and "
+                + "https://app.asana.com/0/1200000000000000/1204000000000001 for context.\n";
+        pr.setBody("short".equals(body) ? paragraph : paragraph.repeat(40));
+        GitHubPullRequestDto.GitHubBranchRef head = new GitHubPullRequestDto.GitHubBranchRef();
+        head.setRef("feature/sig-1204-utf8");
+        pr.setHead(head);
+
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        when(taskRepository.findAllIdentifierSources()).thenReturn(List.of(
+                source(1L, ConnectorType.LINEAR, "SIG-1204: Normalise input", "lin-1"),
+                source(2L, ConnectorType.LINEAR, "OPS-77: Alerting", "lin-2"),
+                source(3L, ConnectorType.ASANA, "Asana task", "1204000000000001")));
+        extractor = new LinkedIssueExtractor(new TaskIdentifierIndex(taskRepository));
+    }
+
+    @Benchmark
+    public List<String> perCallRegex() {
+        List<String> linkedIssues = new ArrayList<>();
+        String textToSearch = (pr.getTitle() != null ? pr.getTitle() : "") + " " +
+                              (pr.getBody() != null ? pr.getBody() : "");
+        Pattern linearPattern = Pattern.compile("([A-Z]{2,10}-\\d+)", Pattern.CASE_INSENSITIVE);
+        Matcher matcher = linearPattern.matcher(textToSearch);
+        while (matcher.find()) {
+            linkedIssues.add(matcher.group(1).toUpperCase());
+        }
+        return linkedIssues;
+    }
+
+    @Benchmark
+    public List<String> teamKeyTrie() {
+        return extractor.extract(pr);
+    }
+
+    private static TaskRepository.TaskIdentifierSource source(Long id, ConnectorType sourceSystem, String title,
+                                                              String externalId) {
+        return new TaskRepository.TaskIdentifierSource() {
+            @Override public Long getId() { return id; }
+            @Override public ConnectorType getSourceSystem() { return sourceSystem; }
+            @Override public String getTitle() { return title; }
+            @Override public String getExternalId() { return externalId; }
+        };
+    }
+}
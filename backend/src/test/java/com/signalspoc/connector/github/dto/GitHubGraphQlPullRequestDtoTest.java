@@ -0,0 +1,92 @@
+package com.signalspoc.connector.github.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubGraphQlPullRequestDtoTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void toPullRequestDto_mapsGraphQlNodeToRestShape() throws Exception {
+        GitHubGraphQlPullRequestDto node = objectMapper.readValue("""
+                {"databaseId": 9001, "number": 42, "title": "SIG-7: Add login", "body": "Closes SIG-7",
+                 "url": "https://github.com/acme/app/pull/42", "state": "OPEN", "isDraft": false,
+                 "merged": false, "mergeable": "MERGEABLE", "mergeStateStatus": "CLEAN",
+                 "reviewDecision": "APPROVED", "createdAt": "2026-10-01T10:00:00Z",
+                 "updatedAt": "2026-10-02T10:00:00Z", "mergedAt": null, "closedAt": null,
+                 "headRefName": "feature/sig-7", "headRefOid": "abc123",
+                 "headRepository": {"databaseId": 5, "name": "app", "nameWithOwner": "octocat/app"},
+                 "baseRefName": "main", "baseRefOid": "def456",
+                 "baseRepository": {"databaseId": 4, "name": "app", "nameWithOwner": "acme/app"},
+                 "author": {"databaseId": 1, "login": "octocat", "url": "https://github.com/octocat"},
+                 "assignees": {"nodes": [{"databaseId": 2, "login": "hubot", "url": "https://github.com/hubot"}]},
+                 "labels": {"nodes": [{"name": "backend", "color": "ededed"}]}}
+                """, GitHubGraphQlPullRequestDto.class);
+
+        GitHubPullRequestDto pr = node.toPullRequestDto();
+
+        assertThat(pr.getId()).isEqualTo(9001L);
+        assertThat(pr.getNumber()).isEqualTo(42);
+        assertThat(pr.getHtmlUrl()).isEqualTo("https://github.com/acme/app/pull/42");
+        assertThat(pr.getState()).isEqualTo("open");
+        assertThat(pr.getDraft()).isFalse();
+        assertThat(pr.getMerged()).isFalse();
+        assertThat(pr.getMergeable()).isTrue();
+        // Same lower-case values the REST mergeable_state field uses
+        assertThat(pr.getMergeableState()).isEqualTo("clean");
+        assertThat(pr.getReviewDecision()).isEqualTo("APPROVED");
+        assertThat(pr.getCreatedAt()).isNotNull();
+        assertThat(pr.getDiffUrl()).isEqualTo("https://github.com/acme/app/pull/42.diff");
+        assertThat(pr.getUser().getLogin()).isEqualTo("octocat");
+        assertThat(pr.getUser().getId()).isEqualTo(1L);
+        assertThat(pr.getAssignee().getId()).isEqualTo(2L);
+        assertThat(pr.getAssignees()).extracting(GitHubUserDto::getLogin).containsExactly("hubot");
+        assertThat(pr.getLabels()).extracting(GitHubPullRequestDto.GitHubLabelDto::getName).containsExactly("backend");
+        assertThat(pr.getHead().getRef()).isEqualTo("feature/sig-7");
+        assertThat(pr.getHead().getSha()).isEqualTo("abc123");
+        assertThat(pr.getHead().getLabel()).isEqualTo("octocat:feature/sig-7");
+        assertThat(pr.getHead().getRepo().getFullName()).isEqualTo("octocat/app");
+        assertThat(pr.getBase().getRef()).isEqualTo("main");
+        assertThat(pr.getBase().getSha()).isEqualTo("def456");
+        assertThat(pr.getBase().getRepo().getId()).isEqualTo(4L);
+        // GitHubMapper takes the task's project from here
+        assertThat(pr.getBase().getRepo().getFullName()).isEqualTo("acme/app");
+    }
+
+    @Test
+    void toPullRequestDto_mergedAndConflictingStates() {
+        GitHubGraphQlPullRequestDto merged = new GitHubGraphQlPullRequestDto();
+        merged.setState("MERGED");
+        merged.setMergeable("UNKNOWN");
+        GitHubGraphQlPullRequestDto conflicting = new GitHubGraphQlPullRequestDto();
+        conflicting.setState("OPEN");
+        conflicting.setMergeable("CONFLICTING");
+        conflicting.setMergeStateStatus("DIRTY");
+
+        assertThat(merged.toPullRequestDto().getState()).isEqualTo("closed");
+        assertThat(merged.toPullRequestDto().getMerged()).isTrue();
+        assertThat(merged.toPullRequestDto().getMergeable()).isNull();
+        assertThat(conflicting.toPullRequestDto().getMergeable()).isFalse();
+        assertThat(conflicting.toPullRequestDto().getMergeableState()).isEqualTo("dirty");
+        assertThat(conflicting.toPullRequestDto().getLabels()).isNull();
+        assertThat(conflicting.toPullRequestDto().getAssignee()).isNull();
+    }
+
+    @Test
+    void toPullRequestDto_deletedHeadForkLeavesHeadRepoUnset() {
+        GitHubGraphQlPullRequestDto node = new GitHubGraphQlPullRequestDto();
+        node.setState("OPEN");
+        node.setHeadRefName("patch-1");
+        node.setHeadRefOid("abc123");
+
+        GitHubPullRequestDto pr = node.toPullRequestDto();
+
+        assertThat(pr.getHead().getSha()).isEqualTo("abc123");
+        assertThat(pr.getHead().getRepo()).isNull();
+        assertThat(pr.getHead().getLabel()).isNull();
+    }
+}
@@ -0,0 +1,117 @@
+package com.signalspoc.connector.github.webhook;
+
+import com.signalspoc.connector.github.GitHubApiClient;
+import com.signalspoc.connector.github.GitHubConfig;
+import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import com.signalspoc.domain.entity.GitHubWebhookDelivery;
+import com.signalspoc.domain.repository.GitHubWebhookDeliveryRepository;
+import com.signalspoc.domain.service.SyncDiscrepancyDetector;
+import com.signalspoc.shared.exception.Exceptions.ConnectorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GitHubWebhookProcessorTest {
+
+    @Mock private GitHubWebhookDeliveryRepository deliveryRepository;
+    @Mock private GitHubApiClient gitHubApiClient;
+    @Mock private SyncDiscrepancyDetector detector;
+
+    private GitHubConfig config;
+    private GitHubWebhookProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        processor = new GitHubWebhookProcessor(deliveryRepository, gitHubApiClient, detector, config);
+    }
+
+    @Test
+    void processDue_checksEachPrOnceForABurstOfDeliveries() {
+        GitHubWebhookDelivery d1 = delivery("acme/api", 7);
+        GitHubWebhookDelivery d2 = delivery("acme/api", 7);
+        GitHubWebhookDelivery d3 = delivery("acme/web", 3);
+        when(deliveryRepository.findByProcessedAtIsNullAndProcessAfterLessThanEqualOrderByReceivedAtAsc(any(), any()))
+                .thenReturn(List.of(d1, d2, d3));
+        GitHubPullRequestDto pr7 = new GitHubPullRequestDto();
+        pr7.setNumber(7);
+        GitHubPullRequestDto pr3 = new GitHubPullRequestDto();
+        pr3.setNumber(3);
+        when(gitHubApiClient.getPullRequest("acme", "api", 7)).thenReturn(pr7);
+        when(gitHubApiClient.getPullRequest("acme", "web", 3)).thenReturn(pr3);
+
+        processor.processDue();
+
+        verify(gitHubApiClient, times(1)).getPullRequest("acme", "api", 7);
+        verify(detector).checkPRDiscrepancies(pr7);
+        verify(detector).checkPRDiscrepancies(pr3);
+        assertThat(List.of(d1, d2, d3)).allMatch(d -> d.getProcessedAt() != null);
+    }
+
+    @Test
+    void processDue_backsOffAndEventuallyGivesUpOnFailures() {
+        config.getWebhook().setMaxAttempts(2);
+        GitHubWebhookDelivery delivery = delivery("acme/api", 7);
+        when(deliveryRepository.findByProcessedAtIsNullAndProcessAfterLessThanEqualOrderByReceivedAtAsc(any(), any()))
+                .thenReturn(List.of(delivery));
+        when(gitHubApiClient.getPullRequest("acme", "api", 7)).thenThrow(new ConnectorException("GITHUB", "boom"));
+
+        processor.processDue();
+
+        assertThat(delivery.getAttempts()).isEqualTo(1);
+        assertThat(delivery.getProcessedAt()).isNull();
+        assertThat(delivery.getProcessAfter()).isAfter(LocalDateTime.now());
+        assertThat(delivery.getLastError()).isEqualTo("boom");
+
+        processor.processDue();
+
+        assertThat(delivery.getAttempts()).isEqualTo(2);
+        assertThat(delivery.getProcessedAt()).isNotNull();
+        verify(detector, never()).checkPRDiscrepancies(any());
+    }
+
+    @Test
+    void processDue_doesNothingWhenInboxIsEmpty() {
+        when(deliveryRepository.findByProcessedAtIsNullAndProcessAfterLessThanEqualOrderByReceivedAtAsc(any(), any()))
+                .thenReturn(List.of());
+
+        processor.processDue();
+
+        verifyNoInteractions(gitHubApiClient, detector);
+        verify(deliveryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void purgeProcessed_deletesDeliveriesProcessedBeforeTheRetentionWindow() {
+        config.getWebhook().setRetentionDays(3);
+        LocalDateTime before = LocalDateTime.now();
+
+        processor.purgeProcessed();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(deliveryRepository).deleteProcessedBefore(cutoff.capture());
+        assertThat(cutoff.getValue()).isBetween(before.minusDays(3), LocalDateTime.now().minusDays(3));
+    }
+
+    private GitHubWebhookDelivery delivery(String repository, int prNumber) {
+        return GitHubWebhookDelivery.builder()
+                .deliveryId(repository + "#" + prNumber + "@" + System.nanoTime())
+                .eventType("pull_request")
+                .repository(repository)
+                .prNumber(prNumber)
+                .receivedAt(LocalDateTime.now().minusSeconds(30))
+                .processAfter(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.signalspoc.connector.github.webhook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalspoc.connector.github.GitHubConfig;
+import com.signalspoc.connector.github.webhook.GitHubWebhookService.Receipt;
+import com.signalspoc.domain.entity.GitHubWebhookDelivery;
+import com.signalspoc.domain.repository.GitHubWebhookDeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GitHubWebhookServiceTest {
+
+    private static final String SECRET = "s3cret";
+    private static final byte[] PR_PAYLOAD = """
+            {"action":"synchronize","number":7,"pull_request":{"number":7},"repository":{"full_name":"acme/api"}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private GitHubWebhookDeliveryRepository deliveryRepository;
+
+    private GitHubConfig config;
+    private GitHubWebhookService service;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubConfig();
+        config.setRepositories(List.of("acme/api"));
+        config.getWebhook().setSecret(SECRET);
+        service = new GitHubWebhookService(config, deliveryRepository, new ObjectMapper());
+    }
+
+    // ─── signature ────────────────────────────────────────────────────────────
+
+    @Test
+    void verifySignature_acceptsHmacOfRawBody() throws Exception {
+        assertThat(service.verifySignature(PR_PAYLOAD, sign(PR_PAYLOAD, SECRET))).isTrue();
+    }
+
+    @Test
+    void verifySignature_rejectsWrongSecretMissingHeaderAndGarbage() throws Exception {
+        assertThat(service.verifySignature(PR_PAYLOAD, sign(PR_PAYLOAD, "other"))).isFalse();
+        assertThat(service.verifySignature(PR_PAYLOAD, null)).isFalse();
+        assertThat(service.verifySignature(PR_PAYLOAD, "sha256=not-hex")).isFalse();
+        assertThat(service.verifySignature(PR_PAYLOAD, "sha1=abcd")).isFalse();
+    }
+
+    @Test
+    void verifySignature_failsClosedWithoutSecret() throws Exception {
+        config.getWebhook().setSecret(null);
+        assertThat(service.verifySignature(PR_PAYLOAD, sign(PR_PAYLOAD, ""))).isFalse();
+    }
+
+    // ─── receive ──────────────────────────────────────────────────────────────
+
+    @Test
+    void receive_queuesDeliveryAndPostponesPendingDeliveriesForThePr() {
+        LocalDateTime before = LocalDateTime.now();
+
+        Receipt receipt = service.receive("pull_request", "d-1", PR_PAYLOAD);
+
+        assertThat(receipt).isEqualTo(Receipt.ACCEPTED);
+        ArgumentCaptor<GitHubWebhookDelivery> saved = ArgumentCaptor.forClass(GitHubWebhookDelivery.class);
+        verify(deliveryRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getRepository()).isEqualTo("acme/api");
+        assertThat(saved.getValue().getPrNumber()).isEqualTo(7);
+        assertThat(saved.getValue().getAction()).isEqualTo("synchronize");
+        assertThat(saved.getValue().getProcessAfter()).isAfterOrEqualTo(before.plusSeconds(15));
+        verify(deliveryRepository).postponePending("acme/api", 7, saved.getValue().getProcessAfter());
+    }
+
+    @Test
+    void receive_capsTheDebounceAtMaxWaitAfterTheFirstPendingDelivery() {
+        LocalDateTime firstPending = LocalDateTime.now().minusSeconds(110);
+        when(deliveryRepository.findFirstPendingReceivedAt("acme/api", 7)).thenReturn(firstPending);
+
+        service.receive("pull_request", "d-1", PR_PAYLOAD);
+
+        verify(deliveryRepository).postponePending("acme/api", 7, firstPending.plusSeconds(120));
+    }
+
+    @Test
+    void receive_ignoresRedeliveryOfSameDeliveryId() {
+        when(deliveryRepository.existsByDeliveryId("d-1")).thenReturn(true);
+
+        assertThat(service.receive("pull_request", "d-1", PR_PAYLOAD)).isEqualTo(Receipt.DUPLICATE);
+        verify(deliveryRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void receive_treatsAConcurrentInsertOfTheSameDeliveryIdAsDuplicate() {
+        when(deliveryRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uq_delivery_id"));
+
+        assertThat(service.receive("pull_request", "d-1", PR_PAYLOAD)).isEqualTo(Receipt.DUPLICATE);
+        verify(deliveryRepository, never()).postponePending(any(), any(), any());
+    }
+
+    @Test
+    void receive_ignoresNonPrEventsAndUnconfiguredRepositories() {
+        assertThat(service.receive("ping", "d-0", "{}".getBytes(StandardCharsets.UTF_8))).isEqualTo(Receipt.IGNORED);
+
+        config.setRepositories(List.of("acme/web"));
+        assertThat(service.receive("pull_request_review", "d-2", PR_PAYLOAD)).isEqualTo(Receipt.IGNORED);
+
+        verify(deliveryRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void receive_rejectsPayloadWithoutPullRequest() {
+        byte[] body = "{\"repository\":{\"full_name\":\"acme/api\"}}".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> service.receive("pull_request", "d-3", body))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ─── helpers ──────────────────────────────────────────────────────────────
+
+    private static String sign(byte[] body, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.isEmpty() ? new byte[1] : secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body));
+    }
+}
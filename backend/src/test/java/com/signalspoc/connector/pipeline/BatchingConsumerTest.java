@@ -0,0 +1,34 @@
+package com.signalspoc.connector.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchingConsumerTest {
+
+    @Test
+    void accept_emitsFullBatchesAndFlushEmitsRemainder() {
+        List<List<Integer>> batches = new ArrayList<>();
+        BatchingConsumer<Integer> consumer = new BatchingConsumer<>(3, batches::add);
+
+        IntStream.range(0, 7).forEach(consumer::accept);
+        assertThat(batches).containsExactly(List.of(0, 1, 2), List.of(3, 4, 5));
+
+        consumer.flush();
+        assertThat(batches).last().isEqualTo(List.of(6));
+    }
+
+    @Test
+    void flush_doesNothingWhenEmpty() {
+        List<List<Integer>> batches = new ArrayList<>();
+        BatchingConsumer<Integer> consumer = new BatchingConsumer<>(3, batches::add);
+
+        consumer.flush();
+
+        assertThat(batches).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package com.signalspoc.connector.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FetchPersistPipelineTest {
+
+    @Test
+    void run_persistsEveryFetchedChunkOnCallingThread() {
+        FetchPersistPipeline<Integer, String> pipeline = new FetchPersistPipeline<>("test", 3, 2);
+        Thread caller = Thread.currentThread();
+        Set<String> fetchThreads = ConcurrentHashMap.newKeySet();
+        List<String> persisted = new ArrayList<>();
+
+        FetchPersistPipeline.PipelineStats stats = pipeline.run(List.of(1, 2, 3, 4, 5),
+                source -> {
+                    fetchThreads.add(Thread.currentThread().getName());
+                    return List.of("p" + source + "-a", "p" + source + "-b");
+                },
+                chunk -> {
+                    assertThat(Thread.currentThread()).isSameAs(caller);
+                    persisted.addAll(chunk);
+                });
+
+        assertThat(persisted).hasSize(10).contains("p1-a", "p5-b");
+        assertThat(stats.items()).isEqualTo(10);
+        assertThat(stats.maxQueueDepth()).isLessThanOrEqualTo(2);
+        assertThat(fetchThreads).allMatch(name -> name.startsWith("test-fetch-"));
+    }
+
+    @Test
+    void run_returnsEmptyStatsForNoSources() {
+        FetchPersistPipeline<Integer, String> pipeline = new FetchPersistPipeline<>("test", 2, 2);
+
+        FetchPersistPipeline.PipelineStats stats = pipeline.run(List.of(), s -> List.of("x"), chunk -> {});
+
+        assertThat(stats.items()).isZero();
+    }
+
+    @Test
+    void run_propagatesFetchFailure() {
+        FetchPersistPipeline<Integer, String> pipeline = new FetchPersistPipeline<>("test", 2, 1);
+
+        assertThatThrownBy(() -> pipeline.run(List.of(1, 2, 3),
+                source -> {
+                    if (source == 2) throw new IllegalStateException("Asana 500");
+                    return List.of("ok");
+                },
+                chunk -> {}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Asana 500");
+    }
+}
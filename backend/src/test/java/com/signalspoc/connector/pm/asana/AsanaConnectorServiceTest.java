@@ -0,0 +1,155 @@
+package com.signalspoc.connector.pm.asana;
+
+import com.signalspoc.connector.model.ConnectorUser;
+import com.signalspoc.connector.model.SyncResult;
+import com.signalspoc.connector.pm.asana.dto.AsanaProjectDto;
+import com.signalspoc.connector.pm.asana.dto.AsanaTaskDto;
+import com.signalspoc.connector.pm.asana.dto.AsanaUserDto;
+import com.signalspoc.domain.service.CommentService;
+import com.signalspoc.domain.service.ProjectService;
+import com.signalspoc.domain.service.TaskService;
+import com.signalspoc.domain.service.UserService;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import com.signalspoc.shared.model.Enums.SyncStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AsanaConnectorServiceTest {
+
+    private AsanaApiClient apiClient;
+    private TaskService taskService;
+    private UserService userService;
+    private AsanaConnectorService service;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = mock(AsanaApiClient.class);
+        userService = mock(UserService.class);
+        ProjectService projectService = mock(ProjectService.class);
+        taskService = mock(TaskService.class);
+        CommentService commentService = mock(CommentService.class);
+        when(userService.upsertAll(anyList())).thenReturn(List.of());
+        when(projectService.upsertAll(anyList())).thenReturn(List.of());
+        when(taskService.upsertAll(anyList())).thenReturn(List.of());
+        when(commentService.upsertAll(anyList())).thenReturn(List.of());
+
+        service = new AsanaConnectorService(apiClient, new AsanaConfig(), new AsanaMapper(),
+                userService, projectService, taskService, commentService, new SimpleMeterRegistry());
+    }
+
+    // ─── syncAll ──────────────────────────────────────────────────────────────
+
+    @Test
+    void syncAll_fetchesProjectAndTaskListsOncePerRun() {
+        when(apiClient.getAllProjects()).thenReturn(List.of(project("p1"), project("p2")));
+        when(apiClient.getTasksForProject("p1")).thenReturn(List.of(task("t1"), task("t2")));
+        when(apiClient.getTasksForProject("p2")).thenReturn(List.of(task("t3")));
+        when(apiClient.getStoriesForTask(anyString())).thenReturn(List.of());
+
+        SyncResult result = service.syncAll();
+
+        assertThat(result.getStatus()).isEqualTo(SyncStatus.SUCCESS);
+        verify(apiClient, times(1)).getAllProjects();
+        verify(apiClient, times(1)).getTasksForProject("p1");
+        verify(apiClient, times(1)).getTasksForProject("p2");
+        verify(apiClient, times(3)).getStoriesForTask(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncAll_fetchesEachAssigneeOnceAndWritesItBeforeTheTasksThatReferenceIt() {
+        when(apiClient.getAllProjects()).thenReturn(List.of(project("p1"), project("p2")));
+        when(apiClient.getTasksForProject("p1")).thenReturn(List.of(task("t1", "u1")));
+        when(apiClient.getTasksForProject("p2")).thenReturn(List.of(task("t2", "u1")));
+        when(apiClient.getUser("u1")).thenReturn(user("u1"));
+        when(apiClient.getStoriesForTask(anyString())).thenReturn(List.of());
+
+        service.syncAll();
+
+        verify(apiClient, times(1)).getUser("u1");
+        ArgumentCaptor<List<ConnectorUser>> written = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(userService, taskService);
+        order.verify(userService).upsertAll(written.capture());
+        order.verify(taskService, times(2)).upsertAll(anyList());
+        assertThat(written.getAllValues()).flatExtracting(users -> users)
+                .extracting(ConnectorUser::getExternalId).containsExactly("u1");
+    }
+
+    @Test
+    void individualPhases_eachFetchFreshData() {
+        when(apiClient.getAllProjects()).thenReturn(List.of(project("p1")));
+        when(apiClient.getTasksForProject("p1")).thenReturn(List.of());
+
+        service.syncProjects();
+        service.syncTasks();
+
+        verify(apiClient, times(2)).getAllProjects();
+    }
+
+    // ─── syncComments ─────────────────────────────────────────────────────────
+
+    @Test
+    void syncComments_skipsTasksUnchangedSinceLastCommentFetch() {
+        LocalDateTime seen = LocalDateTime.of(2024, 5, 1, 10, 0);
+        AsanaTaskDto unchanged = task("t1");
+        unchanged.setModifiedAt(seen);
+        AsanaTaskDto changed = task("t2");
+        changed.setModifiedAt(seen.plusHours(1));
+        when(apiClient.getAllProjects()).thenReturn(List.of(project("p1")));
+        when(apiClient.getTasksForProject("p1")).thenReturn(List.of(unchanged, changed));
+        when(apiClient.getStoriesForTask("t2")).thenReturn(List.of());
+        when(taskService.findCommentSyncMarkers(eq(ConnectorType.ASANA), anyCollection()))
+                .thenReturn(Map.of("t1", seen, "t2", seen));
+
+        service.syncComments();
+
+        verify(apiClient, never()).getStoriesForTask("t1");
+        verify(apiClient).getStoriesForTask("t2");
+        verify(taskService).markCommentsSynced(ConnectorType.ASANA, Map.of("t2", seen.plusHours(1)));
+    }
+
+    // ─── helpers ──────────────────────────────────────────────────────────────
+
+    private AsanaProjectDto project(String gid) {
+        AsanaProjectDto project = new AsanaProjectDto();
+        project.setGid(gid);
+        project.setName("Project " + gid);
+        return project;
+    }
+
+    private AsanaTaskDto task(String gid) {
+        AsanaTaskDto task = new AsanaTaskDto();
+        task.setGid(gid);
+        task.setName("Task " + gid);
+        return task;
+    }
+
+    private AsanaTaskDto task(String gid, String assigneeGid) {
+        AsanaTaskDto task = task(gid);
+        AsanaTaskDto.AsanaUserRef assignee = new AsanaTaskDto.AsanaUserRef();
+        assignee.setGid(assigneeGid);
+        task.setAssignee(assignee);
+        return task;
+    }
+
+    private AsanaUserDto user(String gid) {
+        AsanaUserDto user = new AsanaUserDto();
+        user.setGid(gid);
+        user.setName("User " + gid);
+        return user;
+    }
+}
@@ -0,0 +1,84 @@
+package com.signalspoc.domain.service;
+
+import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LinkedIssueExtractorTest {
+
+    @Mock
+    private TaskIdentifierIndex identifierIndex;
+
+    @InjectMocks
+    private LinkedIssueExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(identifierIndex.version()).thenReturn(1L);
+        lenient().when(identifierIndex.teamKeys()).thenReturn(Set.of("SIG", "OPS"));
+    }
+
+    // ─── matching ─────────────────────────────────────────────────────────────
+
+    @Test
+    void extract_matchesOnlyKnownTeamKeysAcrossTitleBodyAndBranch() {
+        GitHubPullRequestDto pr = pr("SIG-12: Fix UTF-8 handling", "Uses SHA-256. Also closes ops-7.", "feature/sig-40-login");
+
+        assertThat(extractor.extract(pr)).containsExactly("SIG-12", "OPS-7", "SIG-40");
+    }
+
+    @Test
+    void extract_requiresWordBoundariesAndDeduplicates() {
+        GitHubPullRequestDto pr = pr("SIG-1 and SIG-1 again", "XSIG-2, SIG-3a, SIG-, (SIG-4)", null);
+
+        assertThat(extractor.extract(pr)).containsExactly("SIG-1", "SIG-4");
+    }
+
+    @Test
+    void extract_matchesKnownAsanaGidsOnly() {
+        when(identifierIndex.containsKey(anyString())).thenReturn(false);
+        when(identifierIndex.containsKey("1204000000000001")).thenReturn(true);
+        GitHubPullRequestDto pr = pr("Fix", "https://app.asana.com/0/1200000000000000/1204000000000001 build 1234", null);
+
+        assertThat(extractor.extract(pr)).containsExactly("1204000000000001");
+        // Short numbers are never looked up
+        verify(identifierIndex, never()).containsKey("1234");
+    }
+
+    // ─── vocabulary ───────────────────────────────────────────────────────────
+
+    @Test
+    void extract_rebuildsTrieOnlyWhenIndexVersionChanges() {
+        extractor.extract(pr("SIG-1", null, null));
+        extractor.extract(pr("SIG-2", null, null));
+        verify(identifierIndex, times(1)).teamKeys();
+
+        when(identifierIndex.version()).thenReturn(2L);
+        when(identifierIndex.teamKeys()).thenReturn(Set.of("ENG"));
+
+        assertThat(extractor.extract(pr("SIG-3 ENG-4", null, null))).containsExactly("ENG-4");
+    }
+
+    private GitHubPullRequestDto pr(String title, String body, String branch) {
+        GitHubPullRequestDto pr = new GitHubPullRequestDto();
+        pr.setTitle(title);
+        pr.setBody(body);
+        if (branch != null) {
+            GitHubPullRequestDto.GitHubBranchRef head = new GitHubPullRequestDto.GitHubBranchRef();
+            head.setRef(branch);
+            pr.setHead(head);
+        }
+        return pr;
+    }
+}
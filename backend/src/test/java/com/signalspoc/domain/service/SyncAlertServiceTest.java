@@ -2,11 +2,13 @@ package com.signalspoc.domain.service;
 
 import com.signalspoc.domain.entity.SyncAlert;
 import com.signalspoc.domain.repository.SyncAlertRepository;
+import com.signalspoc.shared.config.SyncConfig;
 import com.signalspoc.shared.model.Enums.ConnectorType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -23,6 +25,9 @@ class SyncAlertServiceTest {
     @Mock
     private SyncAlertRepository alertRepository;
 
+    @Spy
+    private SyncConfig syncConfig = new SyncConfig();
+
     @InjectMocks
     private SyncAlertService alertService;
 
@@ -72,6 +77,62 @@ class SyncAlertServiceTest {
                 ConnectorType.GITHUB, "pr-1", ConnectorType.ASANA, "task-1", SyncAlert.AlertType.STALE_PR);
     }
 
+    // ─── createAlerts ─────────────────────────────────────────────────────────
+
+    @Test
+    void createAlerts_insertsOnlyCandidatesWithoutAnOpenAlert() {
+        SyncAlert existing = buildAlert(SyncAlert.AlertType.STALE_PR);
+        existing.setId(42L);
+        SyncAlert duplicate = buildAlert(SyncAlert.AlertType.STALE_PR);
+        SyncAlert fresh = buildAlert(SyncAlert.AlertType.PR_MERGED_TASK_OPEN);
+        when(alertRepository.findBySourceSystemAndSourceIdInAndIsResolvedFalse(ConnectorType.GITHUB, List.of("pr-1")))
+                .thenReturn(List.of(existing));
+
+        List<SyncAlert> result = alertService.createAlerts(List.of(duplicate, fresh));
+
+        assertThat(result).containsExactly(existing, fresh);
+        verify(alertRepository).saveAll(List.of(fresh));
+        verify(alertRepository, never()).findBySourceSystemAndSourceIdAndTargetSystemAndTargetIdAndAlertTypeAndIsResolvedFalse(
+                any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void createAlerts_deduplicatesCandidatesWithinTheBatch() {
+        SyncAlert first = buildAlert(SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED);
+        SyncAlert second = buildAlert(SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED);
+        SyncAlert otherTarget = buildAlert(SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED);
+        otherTarget.setTargetId("task-2");
+        when(alertRepository.findBySourceSystemAndSourceIdInAndIsResolvedFalse(any(), any())).thenReturn(List.of());
+
+        List<SyncAlert> result = alertService.createAlerts(List.of(first, second, otherTarget));
+
+        assertThat(result).containsExactly(first, first, otherTarget);
+        verify(alertRepository).saveAll(List.of(first, otherTarget));
+    }
+
+    @Test
+    void createAlerts_loadsOpenAlertsInChunksOfBatchSize() {
+        syncConfig.setBatchSize(2);
+        SyncAlert a1 = buildAlert(SyncAlert.AlertType.MISSING_LINK);
+        SyncAlert a2 = buildAlert(SyncAlert.AlertType.MISSING_LINK);
+        a2.setSourceId("pr-2");
+        SyncAlert a3 = buildAlert(SyncAlert.AlertType.MISSING_LINK);
+        a3.setSourceId("pr-3");
+        when(alertRepository.findBySourceSystemAndSourceIdInAndIsResolvedFalse(any(), any())).thenReturn(List.of());
+
+        alertService.createAlerts(List.of(a1, a2, a3));
+
+        verify(alertRepository).findBySourceSystemAndSourceIdInAndIsResolvedFalse(ConnectorType.GITHUB, List.of("pr-1", "pr-2"));
+        verify(alertRepository).findBySourceSystemAndSourceIdInAndIsResolvedFalse(ConnectorType.GITHUB, List.of("pr-3"));
+        verify(alertRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void createAlerts_emptyBatchTouchesNothing() {
+        assertThat(alertService.createAlerts(List.of())).isEmpty();
+        verifyNoInteractions(alertRepository);
+    }
+
     // ─── markAsRead / resolve ──────────────────────────────────────────────────
 
     @Test
@@ -0,0 +1,90 @@
+package com.signalspoc.domain.service;
+
+import com.signalspoc.domain.entity.SyncCursor;
+import com.signalspoc.domain.repository.SyncCursorRepository;
+import com.signalspoc.shared.config.SyncConfig;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncCursorServiceTest {
+
+    @Mock
+    private SyncCursorRepository cursorRepository;
+
+    @Spy
+    private SyncConfig syncConfig = new SyncConfig();
+
+    @InjectMocks
+    private SyncCursorService cursorService;
+
+    // ─── deltaStart ───────────────────────────────────────────────────────────
+
+    @Test
+    void deltaStart_isEmptyWhenConnectorHasNeverSynced() {
+        when(cursorRepository.findById(ConnectorType.ASANA)).thenReturn(Optional.empty());
+
+        assertThat(cursorService.deltaStart(ConnectorType.ASANA)).isEmpty();
+    }
+
+    @Test
+    void deltaStart_isEmptyWhenFullReconcileIsDue() {
+        LocalDateTime stale = LocalDateTime.now().minusHours(syncConfig.getFullReconcileIntervalHours() + 1);
+        when(cursorRepository.findById(ConnectorType.ASANA)).thenReturn(Optional.of(SyncCursor.builder()
+                .connectorType(ConnectorType.ASANA)
+                .highWaterMark(LocalDateTime.now().minusMinutes(10))
+                .lastFullSyncAt(stale)
+                .build()));
+
+        assertThat(cursorService.deltaStart(ConnectorType.ASANA)).isEmpty();
+    }
+
+    @Test
+    void deltaStart_returnsHighWaterMarkMinusOverlap() {
+        LocalDateTime mark = LocalDateTime.now().minusMinutes(10);
+        when(cursorRepository.findById(ConnectorType.LINEAR)).thenReturn(Optional.of(SyncCursor.builder()
+                .connectorType(ConnectorType.LINEAR)
+                .highWaterMark(mark)
+                .lastFullSyncAt(LocalDateTime.now().minusHours(1))
+                .build()));
+
+        Optional<OffsetDateTime> start = cursorService.deltaStart(ConnectorType.LINEAR);
+
+        assertThat(start).contains(mark.minusSeconds(syncConfig.getCursorOverlapSeconds())
+                .atZone(ZoneId.systemDefault()).toOffsetDateTime());
+    }
+
+    // ─── advance ──────────────────────────────────────────────────────────────
+
+    @Test
+    void advance_deltaSyncKeepsLastFullSyncTime() {
+        LocalDateTime lastFull = LocalDateTime.now().minusHours(2);
+        LocalDateTime syncStart = LocalDateTime.now();
+        when(cursorRepository.findById(ConnectorType.ASANA)).thenReturn(Optional.of(SyncCursor.builder()
+                .connectorType(ConnectorType.ASANA)
+                .highWaterMark(lastFull)
+                .lastFullSyncAt(lastFull)
+                .build()));
+
+        cursorService.advance(ConnectorType.ASANA, syncStart, false);
+
+        ArgumentCaptor<SyncCursor> saved = ArgumentCaptor.forClass(SyncCursor.class);
+        verify(cursorRepository).save(saved.capture());
+        assertThat(saved.getValue().getHighWaterMark()).isEqualTo(syncStart);
+        assertThat(saved.getValue().getLastFullSyncAt()).isEqualTo(lastFull);
+    }
+}
@@ -5,20 +5,25 @@ import com.signalspoc.connector.github.GitHubApiClient;
 import com.signalspoc.connector.github.dto.GitHubPullRequestDto;
 import com.signalspoc.domain.entity.SyncAlert;
 import com.signalspoc.domain.entity.Task;
-import com.signalspoc.domain.repository.TaskRepository;
 import com.signalspoc.shared.model.Enums.ConnectorType;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -26,32 +31,62 @@ import static org.mockito.Mockito.*;
 class SyncDiscrepancyDetectorTest {
 
     @Mock GitHubApiClient gitHubApiClient;
-    @Mock TaskRepository taskRepository;
+    @Mock TaskIdentifierIndex identifierIndex;
+    @Mock LinkedIssueExtractor linkedIssueExtractor;
     @Mock SyncAlertService alertService;
     @Mock ApplicationEventPublisher eventPublisher;
+    @Mock Executor detectionExecutor;
 
     @InjectMocks
     SyncDiscrepancyDetector detector;
 
+    @BeforeEach
+    void setUp() {
+        // Default: every candidate is new and comes back as saved
+        lenient().when(alertService.createAlerts(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
     // ─── detectDiscrepancies (scheduler entry point) ───────────────────────────
 
     @Test
     void detectDiscrepancies_processesAllOpenPRs() {
         GitHubPullRequestDto pr1 = buildPR(1L, 1, "open", false, null);
         GitHubPullRequestDto pr2 = buildPR(2L, 2, "open", false, null);
-        when(gitHubApiClient.getAllOpenPullRequests()).thenReturn(List.of(pr1, pr2));
-        when(gitHubApiClient.extractLinkedIssues(any())).thenReturn(List.of());
-        when(alertService.createAlert(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(gitHubApiClient.getAllOpenPullRequests(any())).thenReturn(List.of(pr1, pr2));
+        when(linkedIssueExtractor.extract(any())).thenReturn(List.of());
 
         detector.detectDiscrepancies();
 
-        verify(gitHubApiClient).getAllOpenPullRequests();
-        verify(gitHubApiClient, times(2)).extractLinkedIssues(any());
+        verify(gitHubApiClient).getAllOpenPullRequests(any());
+        verify(linkedIssueExtractor, times(2)).extract(any());
+        // One dedup/insert batch for the whole pass
+        verify(alertService, times(1)).createAlerts(argThat(alerts -> alerts.size() == 2));
+    }
+
+    @Test
+    void detectDiscrepancies_resolvesAllLinkedIssuesFromOneSnapshotAndKeepsPrOrder() {
+        GitHubPullRequestDto pr1 = buildPR(1L, 1, "closed", false, null);
+        pr1.setMerged(true);
+        GitHubPullRequestDto pr2 = buildPR(2L, 2, "closed", false, null);
+        pr2.setMerged(true);
+        Task task1 = buildTask("task-1", ConnectorType.ASANA, "todo");
+        Task task2 = buildTask("task-2", ConnectorType.LINEAR, "todo");
+        when(gitHubApiClient.getAllOpenPullRequests(detectionExecutor)).thenReturn(List.of(pr1, pr2));
+        when(linkedIssueExtractor.extract(pr1)).thenReturn(List.of("SIG-1"));
+        when(linkedIssueExtractor.extract(pr2)).thenReturn(List.of("SIG-2"));
+        when(identifierIndex.snapshot(Set.of("SIG-1", "SIG-2")))
+                .thenReturn(Map.of("SIG-1", List.of(task1), "SIG-2", List.of(task2)));
+
+        detector.detectDiscrepancies();
+
+        verify(identifierIndex, times(1)).snapshot(any());
+        verify(identifierIndex, never()).findTasks(any());
+        assertThat(submittedAlerts()).extracting(SyncAlert::getTargetId).containsExactly("task-1", "task-2");
     }
 
     @Test
     void detectDiscrepancies_doesNotThrowWhenGitHubClientFails() {
-        when(gitHubApiClient.getAllOpenPullRequests()).thenThrow(new RuntimeException("API error"));
+        when(gitHubApiClient.getAllOpenPullRequests(any())).thenThrow(new RuntimeException("API error"));
 
         // Should not propagate — detector swallows exceptions
         detector.detectDiscrepancies();
@@ -64,34 +99,27 @@ class SyncDiscrepancyDetectorTest {
         GitHubPullRequestDto pr = buildPR(10L, 10, "open", false, null);
         pr.setHtmlUrl("https://github.com/org/repo/pull/10");
 
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of());
-
-        SyncAlert created = SyncAlert.builder()
-                .id(100L)
-                .alertType(SyncAlert.AlertType.MISSING_LINK)
-                .build();
-        when(alertService.createAlert(argThat(a -> a.getAlertType() == SyncAlert.AlertType.MISSING_LINK)))
-                .thenReturn(created);
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of());
 
         detector.checkPRDiscrepancies(pr);
 
-        verify(alertService).createAlert(argThat(a ->
+        assertThat(submittedAlerts()).anyMatch(a ->
                 a.getAlertType() == SyncAlert.AlertType.MISSING_LINK
                 && a.getSourceSystem() == ConnectorType.GITHUB
-                && a.getSourceId().equals("10")));
+                && a.getSourceId().equals("10"));
     }
 
     @Test
     void checkPRDiscrepancies_publishesEnrichmentEventForNewMissingLinkAlert() {
         GitHubPullRequestDto pr = buildPR(10L, 10, "open", false, null);
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of());
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of());
 
         SyncAlert newAlert = SyncAlert.builder()
                 .id(100L)
                 .alertType(SyncAlert.AlertType.MISSING_LINK)
                 .aiSuggestion(null) // new — no suggestion yet
                 .build();
-        when(alertService.createAlert(any())).thenReturn(newAlert);
+        when(alertService.createAlerts(anyList())).thenReturn(List.of(newAlert));
 
         detector.checkPRDiscrepancies(pr);
 
@@ -101,14 +129,14 @@ class SyncDiscrepancyDetectorTest {
     @Test
     void checkPRDiscrepancies_doesNotPublishEventForExistingAlertWithSuggestion() {
         GitHubPullRequestDto pr = buildPR(10L, 10, "open", false, null);
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of());
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of());
 
         SyncAlert existingAlert = SyncAlert.builder()
                 .id(100L)
                 .alertType(SyncAlert.AlertType.MISSING_LINK)
                 .aiSuggestion("Already enriched") // existing alert
                 .build();
-        when(alertService.createAlert(any())).thenReturn(existingAlert);
+        when(alertService.createAlerts(anyList())).thenReturn(List.of(existingAlert));
 
         detector.checkPRDiscrepancies(pr);
 
@@ -122,19 +150,14 @@ class SyncDiscrepancyDetectorTest {
         GitHubPullRequestDto pr = buildPR(1L, 1, "open", false, "dirty"); // not ready (dirty state)
         Task task = buildTask("task-ext-1", ConnectorType.ASANA, "todo");
 
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of("SIG-1"));
-        when(taskRepository.findByTitleContaining("SIG-1")).thenReturn(new ArrayList<>(List.of(task)));
-        when(taskRepository.findByExternalId("SIG-1")).thenReturn(Optional.empty());
-
-        SyncAlert alert = SyncAlert.builder()
-                .id(1L).alertType(SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED).build();
-        when(alertService.createAlert(any())).thenReturn(alert);
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("SIG-1"));
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("SIG-1", List.of(task)));
 
         detector.checkPRDiscrepancies(pr);
 
-        verify(alertService).createAlert(argThat(a ->
+        assertThat(submittedAlerts()).anyMatch(a ->
                 a.getAlertType() == SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED
-                && a.getSeverity() == SyncAlert.AlertSeverity.WARNING));
+                && a.getSeverity() == SyncAlert.AlertSeverity.WARNING);
     }
 
     // ─── PR task sync: case 1 (PR ready, task not in review) ──────────────────
@@ -144,20 +167,15 @@ class SyncDiscrepancyDetectorTest {
         GitHubPullRequestDto pr = buildPR(1L, 1, "open", false, "clean"); // ready
         Task task = buildTask("task-ext-1", ConnectorType.LINEAR, "todo");
 
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of("SIG-1"));
-        when(taskRepository.findByTitleContaining("SIG-1")).thenReturn(new ArrayList<>(List.of(task)));
-        when(taskRepository.findByExternalId("SIG-1")).thenReturn(Optional.empty());
-
-        SyncAlert alert = SyncAlert.builder()
-                .id(1L).alertType(SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED).build();
-        when(alertService.createAlert(any())).thenReturn(alert);
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("SIG-1"));
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("SIG-1", List.of(task)));
 
         detector.checkPRDiscrepancies(pr);
 
-        verify(alertService).createAlert(argThat(a ->
+        assertThat(submittedAlerts()).anyMatch(a ->
                 a.getAlertType() == SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED
                 && a.getTargetSystem() == ConnectorType.LINEAR
-                && a.getTargetId().equals("task-ext-1")));
+                && a.getTargetId().equals("task-ext-1"));
     }
 
     @Test
@@ -165,15 +183,14 @@ class SyncDiscrepancyDetectorTest {
         GitHubPullRequestDto pr = buildPR(1L, 1, "open", false, "clean");
         Task task = buildTask("task-ext-1", ConnectorType.ASANA, "in review");
 
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of("SIG-1"));
-        when(taskRepository.findByTitleContaining("SIG-1")).thenReturn(new ArrayList<>(List.of(task)));
-        when(taskRepository.findByExternalId("SIG-1")).thenReturn(Optional.empty());
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("SIG-1"));
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("SIG-1", List.of(task)));
 
         detector.checkPRDiscrepancies(pr);
 
         // No PR_READY alert should be created
-        verify(alertService, never()).createAlert(argThat(a ->
-                a.getAlertType() == SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED));
+        assertThat(submittedAlerts()).noneMatch(a ->
+                a.getAlertType() == SyncAlert.AlertType.PR_READY_TASK_NOT_UPDATED);
     }
 
     // ─── PR task sync: case 2 (PR merged, task still open) ────────────────────
@@ -184,19 +201,14 @@ class SyncDiscrepancyDetectorTest {
         pr.setMerged(true);
         Task task = buildTask("task-ext-2", ConnectorType.ASANA, "in progress");
 
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of("TASK-2"));
-        when(taskRepository.findByTitleContaining("TASK-2")).thenReturn(new ArrayList<>(List.of(task)));
-        when(taskRepository.findByExternalId("TASK-2")).thenReturn(Optional.empty());
-
-        SyncAlert alert = SyncAlert.builder()
-                .id(2L).alertType(SyncAlert.AlertType.PR_MERGED_TASK_OPEN).build();
-        when(alertService.createAlert(any())).thenReturn(alert);
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("TASK-2"));
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("TASK-2", List.of(task)));
 
         detector.checkPRDiscrepancies(pr);
 
-        verify(alertService).createAlert(argThat(a ->
+        assertThat(submittedAlerts()).anyMatch(a ->
                 a.getAlertType() == SyncAlert.AlertType.PR_MERGED_TASK_OPEN
-                && a.getSeverity() == SyncAlert.AlertSeverity.CRITICAL));
+                && a.getSeverity() == SyncAlert.AlertSeverity.CRITICAL);
     }
 
     @Test
@@ -205,14 +217,13 @@ class SyncDiscrepancyDetectorTest {
         pr.setMerged(true);
         Task task = buildTask("task-ext-2", ConnectorType.ASANA, "completed");
 
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of("TASK-2"));
-        when(taskRepository.findByTitleContaining("TASK-2")).thenReturn(new ArrayList<>(List.of(task)));
-        when(taskRepository.findByExternalId("TASK-2")).thenReturn(Optional.empty());
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("TASK-2"));
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("TASK-2", List.of(task)));
 
         detector.checkPRDiscrepancies(pr);
 
-        verify(alertService, never()).createAlert(argThat(a ->
-                a.getAlertType() == SyncAlert.AlertType.PR_MERGED_TASK_OPEN));
+        assertThat(submittedAlerts()).noneMatch(a ->
+                a.getAlertType() == SyncAlert.AlertType.PR_MERGED_TASK_OPEN);
     }
 
     // ─── STALE_PR alert ───────────────────────────────────────────────────────
@@ -223,16 +234,14 @@ class SyncDiscrepancyDetectorTest {
         pr.setCreatedAt(OffsetDateTime.now().minusDays(10)); // 10 days old → stale
         Task task = buildTask("task-1", ConnectorType.ASANA, "in review");
 
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of("TASK-1"));
-        when(taskRepository.findByTitleContaining("TASK-1")).thenReturn(new ArrayList<>(List.of(task)));
-        when(taskRepository.findByExternalId("TASK-1")).thenReturn(Optional.empty());
-        when(alertService.createAlert(any())).thenReturn(SyncAlert.builder().id(99L).build());
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("TASK-1"));
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("TASK-1", List.of(task)));
 
         detector.checkPRDiscrepancies(pr);
 
-        verify(alertService).createAlert(argThat(a ->
+        assertThat(submittedAlerts()).anyMatch(a ->
                 a.getAlertType() == SyncAlert.AlertType.STALE_PR
-                && a.getSeverity() == SyncAlert.AlertSeverity.WARNING));
+                && a.getSeverity() == SyncAlert.AlertSeverity.WARNING);
     }
 
     @Test
@@ -241,59 +250,98 @@ class SyncDiscrepancyDetectorTest {
         pr.setCreatedAt(OffsetDateTime.now().minusDays(3)); // 3 days old → not stale
         Task task = buildTask("task-1", ConnectorType.ASANA, "in review");
 
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of("TASK-1"));
-        when(taskRepository.findByTitleContaining("TASK-1")).thenReturn(new ArrayList<>(List.of(task)));
-        when(taskRepository.findByExternalId("TASK-1")).thenReturn(Optional.empty());
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("TASK-1"));
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("TASK-1", List.of(task)));
 
         detector.checkPRDiscrepancies(pr);
 
-        verify(alertService, never()).createAlert(argThat(a ->
-                a.getAlertType() == SyncAlert.AlertType.STALE_PR));
+        assertThat(submittedAlerts()).noneMatch(a ->
+                a.getAlertType() == SyncAlert.AlertType.STALE_PR);
     }
 
-    // ─── findAllTasksByIdentifier: deduplication ──────────────────────────────
+    // ─── identifier lookup ────────────────────────────────────────────────────
 
     @Test
-    void findAllTasksByIdentifier_deduplicatesTasksFoundByBothQueries() {
+    void identifierLookup_processesTaskMatchedByTitleAndExternalIdOnce() {
         Task task = buildTask("ext-1", ConnectorType.ASANA, "todo");
         task.setId(99L);
 
-        // Same task returned by both queries
-        when(taskRepository.findByTitleContaining("ext-1")).thenReturn(new ArrayList<>(List.of(task)));
-        when(taskRepository.findByExternalId("ext-1")).thenReturn(Optional.of(task));
+        // Title token and external ID both point at the same task — the index returns it once
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("ext-1", List.of(task)));
 
         GitHubPullRequestDto pr = buildPR(1L, 1, "open", false, "clean");
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of("ext-1"));
-        when(alertService.createAlert(any())).thenReturn(SyncAlert.builder().id(1L).build());
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("ext-1"));
 
         detector.checkPRDiscrepancies(pr);
 
-        // Task found via title search already in list — should only process it once
-        verify(alertService, atMost(2)).createAlert(any()); // at most case1 + stale
+        assertThat(submittedAlerts()).hasSizeLessThanOrEqualTo(2); // at most case1 + stale
     }
 
     @Test
-    void findAllTasksByIdentifier_addsByExternalIdTaskIfNotAlreadyInTitleResults() {
+    void identifierLookup_processesEveryMatchedTask() {
         Task taskByTitle = buildTask("other-task", ConnectorType.ASANA, "todo");
         taskByTitle.setId(1L);
         Task taskByExternalId = buildTask("ext-1", ConnectorType.ASANA, "todo");
         taskByExternalId.setId(2L);
 
-        when(taskRepository.findByTitleContaining("ext-1")).thenReturn(new ArrayList<>(List.of(taskByTitle)));
-        when(taskRepository.findByExternalId("ext-1")).thenReturn(Optional.of(taskByExternalId));
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("ext-1", List.of(taskByTitle, taskByExternalId)));
 
         GitHubPullRequestDto pr = buildPR(1L, 1, "open", false, "clean");
-        when(gitHubApiClient.extractLinkedIssues(pr)).thenReturn(List.of("ext-1"));
-        when(alertService.createAlert(any())).thenReturn(SyncAlert.builder().id(1L).build());
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("ext-1"));
 
         detector.checkPRDiscrepancies(pr);
 
-        // Both tasks should be processed: two createAlert calls (one per task for case1)
-        verify(alertService, atLeast(2)).createAlert(any());
+        // Both tasks should be processed: one case1 candidate per task
+        assertThat(submittedAlerts()).hasSizeGreaterThanOrEqualTo(2);
+    }
+
+    // ─── batched alert insert ─────────────────────────────────────────────────
+
+    @Test
+    void detectDiscrepancies_publishesEventsWithPrAndTaskContextAfterBatchInsert() {
+        GitHubPullRequestDto pr = buildPR(1L, 1, "closed", false, null);
+        pr.setMerged(true);
+        Task task = buildTask("task-ext-2", ConnectorType.ASANA, "todo");
+        when(gitHubApiClient.getAllOpenPullRequests(any())).thenReturn(List.of(pr));
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of("TASK-2"));
+        when(identifierIndex.snapshot(any())).thenReturn(Map.of("TASK-2", List.of(task)));
+
+        detector.detectDiscrepancies();
+
+        ArgumentCaptor<AlertEnrichmentEvent> event = ArgumentCaptor.forClass(AlertEnrichmentEvent.class);
+        InOrder inOrder = inOrder(alertService, eventPublisher);
+        inOrder.verify(alertService).createAlerts(anyList());
+        inOrder.verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().alertType()).isEqualTo(SyncAlert.AlertType.PR_MERGED_TASK_OPEN);
+        assertThat(event.getValue().pr()).isSameAs(pr);
+        assertThat(event.getValue().task()).isSameAs(task);
+    }
+
+    @Test
+    void checkPRDiscrepancies_retriesBatchOnceWhenAConcurrentInsertConflicts() {
+        GitHubPullRequestDto pr = buildPR(10L, 10, "open", false, null);
+        when(linkedIssueExtractor.extract(pr)).thenReturn(List.of());
+        SyncAlert existing = SyncAlert.builder().id(7L).alertType(SyncAlert.AlertType.MISSING_LINK)
+                .aiSuggestion("Already enriched").build();
+        when(alertService.createAlerts(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uq_sync_alerts_open_key"))
+                .thenReturn(List.of(existing));
+
+        detector.checkPRDiscrepancies(pr);
+
+        verify(alertService, times(2)).createAlerts(anyList());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     // ─── helpers ──────────────────────────────────────────────────────────────
 
+    @SuppressWarnings("unchecked")
+    private List<SyncAlert> submittedAlerts() {
+        ArgumentCaptor<List<SyncAlert>> captor = ArgumentCaptor.forClass(List.class);
+        verify(alertService, atLeast(0)).createAlerts(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
     private GitHubPullRequestDto buildPR(Long id, int number, String state,
                                           boolean draft, String mergeableState) {
         GitHubPullRequestDto pr = new GitHubPullRequestDto();
@@ -1,20 +1,36 @@
 package com.signalspoc.domain.service;
 
 import com.signalspoc.connector.api.ConnectorService;
+import com.signalspoc.connector.model.CombinedSyncResult;
 import com.signalspoc.connector.model.SyncResult;
 import com.signalspoc.connector.pm.api.PmConnectorService;
 import com.signalspoc.domain.entity.SyncLog;
 import com.signalspoc.domain.repository.SyncLogRepository;
+import com.signalspoc.shared.config.SyncConfig;
 import com.signalspoc.shared.exception.Exceptions.SyncException;
 import com.signalspoc.shared.model.Enums.ConnectorType;
+import com.signalspoc.shared.model.Enums.SyncStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class SyncOrchestratorTest {
@@ -23,6 +39,8 @@ class SyncOrchestratorTest {
     private PmConnectorService linearConnector;
     private ConnectorService gitHubConnector;
     private SyncLogRepository syncLogRepository;
+    private SyncConfig syncConfig;
+    private SyncCursorService cursorService;
     private SyncOrchestrator orchestrator;
 
     @BeforeEach
@@ -31,6 +49,7 @@ class SyncOrchestratorTest {
         linearConnector = mock(PmConnectorService.class);
         gitHubConnector = mock(ConnectorService.class);
         syncLogRepository = mock(SyncLogRepository.class);
+        cursorService = mock(SyncCursorService.class);
 
         when(asanaConnector.getConnectorType()).thenReturn(ConnectorType.ASANA);
         when(linearConnector.getConnectorType()).thenReturn(ConnectorType.LINEAR);
@@ -39,10 +58,10 @@ class SyncOrchestratorTest {
         // SyncLog stub for any save
         when(syncLogRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
-        orchestrator = new SyncOrchestrator(
+        syncConfig = new SyncConfig();
+        orchestrator = newOrchestrator(
                 List.of(asanaConnector, linearConnector, gitHubConnector),
-                List.of(asanaConnector, linearConnector),
-                syncLogRepository);
+                List.of(asanaConnector, linearConnector));
         orchestrator.initConnectorMaps();
     }
 
@@ -168,11 +187,178 @@ class SyncOrchestratorTest {
     @Test
     void testConnection_throwsForUnregisteredConnectorType() {
         // SyncOrchestrator with empty connectors
-        SyncOrchestrator emptyOrchestrator = new SyncOrchestrator(List.of(), List.of(), syncLogRepository);
+        SyncOrchestrator emptyOrchestrator = newOrchestrator(List.of(), List.of());
         emptyOrchestrator.initConnectorMaps();
 
         assertThatThrownBy(() -> emptyOrchestrator.testConnection(ConnectorType.ASANA))
                 .isInstanceOf(SyncException.class)
                 .hasMessageContaining("ASANA");
     }
+
+    // ─── syncAllConnectors ────────────────────────────────────────────────────
+
+    @Test
+    void syncAllConnectors_runsEveryPmConnectorConcurrentlyAndAggregates() {
+        syncConfig.setParallelEnabled(true);
+        SyncResult asana = SyncResult.empty(ConnectorType.ASANA);
+        asana.setTasksCreated(3);
+        SyncResult linear = SyncResult.empty(ConnectorType.LINEAR);
+        linear.setTasksCreated(4);
+        when(asanaConnector.syncAll()).thenReturn(asana);
+        when(linearConnector.syncAll()).thenReturn(linear);
+
+        CombinedSyncResult result = orchestrator.syncAllConnectors();
+
+        assertThat(result.getStatus()).isEqualTo(SyncStatus.SUCCESS);
+        assertThat(result.getResults()).extracting(SyncResult::getConnectorType)
+                .containsExactly(ConnectorType.ASANA, ConnectorType.LINEAR);
+        assertThat(result.totals().getTasksCreated()).isEqualTo(7);
+        // IN_PROGRESS + SUCCESS per connector
+        verify(syncLogRepository, times(4)).save(any(SyncLog.class));
+    }
+
+    @Test
+    void syncAllConnectors_isolatesFailingConnector() {
+        when(asanaConnector.syncAll()).thenThrow(new RuntimeException("Asana API down"));
+        when(linearConnector.syncAll()).thenReturn(SyncResult.empty(ConnectorType.LINEAR));
+
+        CombinedSyncResult result = orchestrator.syncAllConnectors();
+
+        assertThat(result.getStatus()).isEqualTo(SyncStatus.FAILED);
+        assertThat(result.getResults()).extracting(SyncResult::getStatus)
+                .containsExactly(SyncStatus.FAILED, SyncStatus.SUCCESS);
+        assertThat(result.getResults().get(0).getErrorMessage()).contains("Asana API down");
+    }
+
+    @Test
+    void syncAllConnectors_marksConnectorFailedWhenItExceedsTimeout() {
+        syncConfig.setParallelEnabled(true);
+        syncConfig.setConnectorTimeoutSeconds(0);
+        when(asanaConnector.syncAll()).thenAnswer(inv -> {
+            Thread.sleep(5_000);
+            return SyncResult.empty(ConnectorType.ASANA);
+        });
+        when(linearConnector.syncAll()).thenAnswer(inv -> {
+            Thread.sleep(5_000);
+            return SyncResult.empty(ConnectorType.LINEAR);
+        });
+
+        CombinedSyncResult result = orchestrator.syncAllConnectors();
+
+        assertThat(result.getResults()).allSatisfy(r -> {
+            assertThat(r.getStatus()).isEqualTo(SyncStatus.FAILED);
+            assertThat(r.getErrorMessage()).contains("timed out");
+        });
+    }
+
+    @Test
+    void syncAllConnectors_leavesTheLogToTheTimedOutWorkerAndSkipsItUntilItReturns() {
+        syncConfig.setParallelEnabled(true);
+        syncConfig.setConnectorTimeoutSeconds(0);
+        CountDownLatch release = new CountDownLatch(1);
+        when(asanaConnector.syncAll()).thenAnswer(inv -> {
+            // Like a blocking HTTP read: the interrupt from the timeout does not stop it
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException ignored) {
+                }
+            }
+            return SyncResult.empty(ConnectorType.ASANA);
+        });
+        when(linearConnector.syncAll()).thenReturn(SyncResult.empty(ConnectorType.LINEAR));
+        List<SyncLog> logs = new CopyOnWriteArrayList<>();
+        when(syncLogRepository.save(any())).thenAnswer(inv -> {
+            logs.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        SyncResult first = orchestrator.syncAllConnectors().getResults().get(0);
+        SyncResult second = orchestrator.syncAllConnectors().getResults().get(0);
+
+        assertThat(first.getErrorMessage()).contains("timed out");
+        assertThat(second.getErrorMessage()).contains("still running");
+        verify(asanaConnector, times(1)).syncAll();
+
+        release.countDown();
+        // Created IN_PROGRESS by the first run, then written once, by the worker
+        verify(syncLogRepository, timeout(2_000).times(2)).save(argThat(l -> l.getConnectorType() == ConnectorType.ASANA));
+        SyncLog asanaLog = logs.stream().filter(l -> l.getConnectorType() == ConnectorType.ASANA).findFirst().orElseThrow();
+        assertThat(asanaLog.getStatus()).isEqualTo(SyncStatus.FAILED);
+        assertThat(asanaLog.getErrorMessage()).contains("timed out").contains("finished later with status SUCCESS");
+    }
+
+    @Test
+    void syncAllConnectors_failsTheLogWhenTheExecutorRejectsTheRun() {
+        AsyncTaskExecutor rejecting = mock(AsyncTaskExecutor.class);
+        when(rejecting.submit(any(Callable.class))).thenThrow(new RejectedExecutionException("queue full"));
+        orchestrator = new SyncOrchestrator(List.of(asanaConnector), List.of(asanaConnector), syncLogRepository,
+                rejecting, mock(PlatformTransactionManager.class), syncConfig, cursorService);
+        orchestrator.initConnectorMaps();
+        List<SyncLog> logs = new CopyOnWriteArrayList<>();
+        when(syncLogRepository.save(any())).thenAnswer(inv -> {
+            logs.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        assertThatThrownBy(() -> orchestrator.syncAllConnectors()).isInstanceOf(RejectedExecutionException.class);
+
+        // Not left IN_PROGRESS, and the connector is not reported as still running next time
+        assertThat(logs).isNotEmpty().allSatisfy(l -> assertThat(l.getStatus()).isEqualTo(SyncStatus.FAILED));
+        assertThat(logs.get(0).getErrorMessage()).contains("queue full");
+        assertThatThrownBy(() -> orchestrator.syncAllConnectors()).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    // ─── syncIncremental ──────────────────────────────────────────────────────
+
+    @Test
+    void syncIncremental_usesDeltaSyncWhenCursorExists() {
+        OffsetDateTime since = OffsetDateTime.now().minusHours(1);
+        when(cursorService.deltaStart(ConnectorType.LINEAR)).thenReturn(Optional.of(since));
+        SyncResult delta = SyncResult.empty(ConnectorType.LINEAR);
+        delta.setStatus(SyncStatus.SUCCESS);
+        when(linearConnector.syncIncremental(since)).thenReturn(delta);
+
+        orchestrator.syncIncremental(ConnectorType.LINEAR);
+
+        verify(linearConnector, never()).syncAll();
+        verify(cursorService).advance(eq(ConnectorType.LINEAR), any(LocalDateTime.class), eq(false));
+    }
+
+    @Test
+    void syncIncremental_fallsBackToFullSyncWithoutCursor() {
+        when(cursorService.deltaStart(ConnectorType.ASANA)).thenReturn(Optional.empty());
+        SyncResult full = SyncResult.empty(ConnectorType.ASANA);
+        full.setStatus(SyncStatus.SUCCESS);
+        when(asanaConnector.syncAll()).thenReturn(full);
+
+        orchestrator.syncIncremental(ConnectorType.ASANA);
+
+        verify(asanaConnector, never()).syncIncremental(any());
+        verify(cursorService).advance(eq(ConnectorType.ASANA), any(LocalDateTime.class), eq(true));
+    }
+
+    @Test
+    void syncIncremental_doesNotAdvanceCursorOnFailure() {
+        OffsetDateTime since = OffsetDateTime.now().minusHours(1);
+        when(cursorService.deltaStart(ConnectorType.ASANA)).thenReturn(Optional.of(since));
+        SyncResult failed = SyncResult.empty(ConnectorType.ASANA);
+        failed.setStatus(SyncStatus.FAILED);
+        when(asanaConnector.syncIncremental(since)).thenReturn(failed);
+
+        orchestrator.syncIncremental(ConnectorType.ASANA);
+
+        verify(cursorService, never()).advance(any(), any(), anyBoolean());
+    }
+
+    // ─── helpers ──────────────────────────────────────────────────────────────
+
+    private SyncOrchestrator newOrchestrator(List<ConnectorService> all, List<PmConnectorService> pm) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        return new SyncOrchestrator(all, pm, syncLogRepository, executor,
+                mock(PlatformTransactionManager.class), syncConfig, cursorService);
+    }
 }
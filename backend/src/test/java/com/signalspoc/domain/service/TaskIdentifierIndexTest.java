@@ -0,0 +1,144 @@
+package com.signalspoc.domain.service;
+
+import com.signalspoc.domain.entity.Task;
+import com.signalspoc.domain.repository.TaskRepository;
+import com.signalspoc.shared.model.Enums.ConnectorType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskIdentifierIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskIdentifierIndex index;
+
+    // ─── lookup ───────────────────────────────────────────────────────────────
+
+    @Test
+    void findTaskIds_matchesTitleTokensAndExternalIdsFromOneLoadQuery() {
+        when(taskRepository.findAllIdentifierSources()).thenReturn(List.of(
+                source(1L, "SIG-1: Fix login", "lin-uuid-1"),
+                source(2L, "Follow-up for SIG-1 and OPS-7", "1204"),
+                source(3L, "Unrelated", "SIG-1")));
+
+        assertThat(index.findTaskIds("SIG-1")).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.findTaskIds("OPS-7")).containsExactly(2L);
+        assertThat(index.findTaskIds("1204")).containsExactly(2L);
+
+        verify(taskRepository, times(1)).findAllIdentifierSources();
+    }
+
+    @Test
+    void findTaskIds_isCaseInsensitiveAndDoesNotMatchLongerIdentifiers() {
+        when(taskRepository.findAllIdentifierSources()).thenReturn(List.of(
+                source(1L, "sig-12: lower-case title", "a")));
+
+        assertThat(index.findTaskIds("SIG-12")).containsExactly(1L);
+        // A LIKE '%SIG-1%' scan would have matched SIG-12; token lookup does not
+        assertThat(index.findTaskIds("SIG-1")).isEmpty();
+    }
+
+    @Test
+    void findTasks_unknownIdentifierSkipsTheDatabase() {
+        when(taskRepository.findAllIdentifierSources()).thenReturn(List.of());
+
+        assertThat(index.findTasks("SIG-404")).isEmpty();
+
+        verify(taskRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void findTasks_loadsMatchedTasksByPrimaryKey() {
+        Task task = Task.builder().id(5L).title("SIG-5: Task").build();
+        when(taskRepository.findAllIdentifierSources()).thenReturn(List.of(source(5L, "SIG-5: Task", "x")));
+        when(taskRepository.findAllById(Set.of(5L))).thenReturn(List.of(task));
+
+        assertThat(index.findTasks("SIG-5")).containsExactly(task);
+    }
+
+    @Test
+    void snapshot_resolvesIdentifiersWithOneBatchedLoad() {
+        Task t1 = Task.builder().id(1L).title("SIG-1: A").build();
+        Task t2 = Task.builder().id(2L).title("SIG-2: B, see SIG-1").build();
+        when(taskRepository.findAllIdentifierSources()).thenReturn(List.of(
+                source(1L, "SIG-1: A", "a"), source(2L, "SIG-2: B, see SIG-1", "b")));
+        when(taskRepository.findAllById(any())).thenReturn(List.of(t1, t2));
+
+        Map<String, List<Task>> snapshot = index.snapshot(List.of("SIG-1", "SIG-2", "SIG-404"));
+
+        assertThat(snapshot.get("SIG-1")).containsExactlyInAnyOrder(t1, t2);
+        assertThat(snapshot.get("SIG-2")).containsExactly(t2);
+        assertThat(snapshot).doesNotContainKey("SIG-404");
+        verify(taskRepository, times(1)).findAllById(any());
+    }
+
+    // ─── maintenance ──────────────────────────────────────────────────────────
+
+    @Test
+    void index_reKeysTaskWhoseTitleChanged() {
+        when(taskRepository.findAllIdentifierSources()).thenReturn(List.of(source(1L, "SIG-1: Old", "ext-1")));
+        assertThat(index.findTaskIds("SIG-1")).containsExactly(1L);
+
+        index.index(List.of(Task.builder().id(1L).title("SIG-2: Renamed").externalId("ext-1").build()));
+
+        assertThat(index.findTaskIds("SIG-1")).isEmpty();
+        assertThat(index.findTaskIds("SIG-2")).containsExactly(1L);
+        assertThat(index.findTaskIds("EXT-1")).containsExactly(1L);
+    }
+
+    @Test
+    void index_beforeFirstLoadIsLeftToTheLoadQuery() {
+        index.index(List.of(Task.builder().id(1L).title("SIG-1: New").externalId("e").build()));
+        when(taskRepository.findAllIdentifierSources()).thenReturn(List.of(source(1L, "SIG-1: New", "e")));
+
+        assertThat(index.findTaskIds("SIG-1")).containsExactly(1L);
+    }
+
+    @Test
+    void teamKeys_comeFromLeadingIdentifierOfLinearTitlesOnly() {
+        when(taskRepository.findAllIdentifierSources()).thenReturn(List.of(
+                source(1L, ConnectorType.LINEAR, "SIG-1: Fix login", "lin-1"),
+                source(2L, ConnectorType.LINEAR, "Mentions OPS-7 later", "lin-2"),
+                source(3L, ConnectorType.ASANA, "UTF-8: encoding bug", "1204000000000001")));
+
+        assertThat(index.teamKeys()).containsExactly("SIG");
+        long version = index.version();
+
+        index.index(List.of(Task.builder().id(4L).sourceSystem(ConnectorType.LINEAR)
+                .title("ENG-3: New team").externalId("lin-4").build()));
+
+        assertThat(index.teamKeys()).containsExactlyInAnyOrder("SIG", "ENG");
+        assertThat(index.version()).isGreaterThan(version);
+        assertThat(index.containsKey("1204000000000001")).isTrue();
+    }
+
+    // ─── helpers ──────────────────────────────────────────────────────────────
+
+    private TaskRepository.TaskIdentifierSource source(Long id, String title, String externalId) {
+        return source(id, ConnectorType.LINEAR, title, externalId);
+    }
+
+    private TaskRepository.TaskIdentifierSource source(Long id, ConnectorType sourceSystem, String title,
+                                                       String externalId) {
+        return new TaskRepository.TaskIdentifierSource() {
+            @Override public Long getId() { return id; }
+            @Override public ConnectorType getSourceSystem() { return sourceSystem; }
+            @Override public String getTitle() { return title; }
+            @Override public String getExternalId() { return externalId; }
+        };
+    }
+}
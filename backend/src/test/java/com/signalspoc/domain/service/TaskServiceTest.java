@@ -7,16 +7,21 @@ import com.signalspoc.domain.entity.User;
 import com.signalspoc.domain.repository.ProjectRepository;
 import com.signalspoc.domain.repository.TaskRepository;
 import com.signalspoc.domain.repository.UserRepository;
+import com.signalspoc.shared.config.SyncConfig;
 import com.signalspoc.shared.exception.Exceptions.ResourceNotFoundException;
 import com.signalspoc.shared.model.Enums.ConnectorType;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -29,6 +34,9 @@ class TaskServiceTest {
     @Mock TaskRepository taskRepository;
     @Mock ProjectRepository projectRepository;
     @Mock UserRepository userRepository;
+    @Spy SyncConfig syncConfig = new SyncConfig();
+    @Mock TaskIdentifierIndex identifierIndex;
+    @Mock EntityManager entityManager;
 
     @InjectMocks TaskService taskService;
 
@@ -151,20 +159,20 @@ class TaskServiceTest {
         ConnectorTask withProject = connectorTask("ext-1", "proj-1", null);
         ConnectorTask withoutProject = connectorTask("ext-2", null, null);
 
-        Project project = Project.builder().id(1L).build();
-        Task saved = Task.builder().id(10L).build();
+        Project project = Project.builder().id(1L).externalId("proj-1").build();
 
-        when(projectRepository.findByExternalIdAndSourceSystem("proj-1", ConnectorType.ASANA))
-                .thenReturn(Optional.of(project));
-        when(taskRepository.findByExternalIdAndSourceSystem("ext-1", ConnectorType.ASANA))
-                .thenReturn(Optional.empty());
-        when(taskRepository.save(any())).thenReturn(saved);
+        when(projectRepository.findByExternalIdInAndSourceSystem(Set.of("proj-1"), ConnectorType.ASANA))
+                .thenReturn(List.of(project));
+        when(taskRepository.findByExternalIdInAndSourceSystem(Set.of("ext-1", "ext-2"), ConnectorType.ASANA))
+                .thenReturn(List.of());
+        when(taskRepository.saveAll(anyCollection())).thenAnswer(inv -> List.copyOf(inv.getArgument(0)));
 
         List<UserService.UpsertResult<Task>> results =
                 taskService.upsertAll(List.of(withProject, withoutProject));
 
         assertThat(results).hasSize(1);
         assertThat(results.get(0).created()).isTrue();
+        assertThat(results.get(0).entity().getProject()).isSameAs(project);
     }
 
     @Test
@@ -178,6 +186,73 @@ class TaskServiceTest {
         verify(taskRepository, never()).save(any());
     }
 
+    @Test
+    void upsertAll_resolvesWholeChunkWithSingleLookupsAndSplitsCreatedFromUpdated() {
+        ConnectorTask ct1 = connectorTask("ext-1", "proj-1", "user-1");
+        ConnectorTask ct2 = connectorTask("ext-2", "proj-1", null);
+        Project project = Project.builder().id(1L).externalId("proj-1").build();
+        User user = User.builder().id(2L).externalId("user-1").build();
+        Task existing = Task.builder().id(5L).externalId("ext-1").title("Old Title").build();
+
+        when(projectRepository.findByExternalIdInAndSourceSystem(any(), eq(ConnectorType.ASANA)))
+                .thenReturn(List.of(project));
+        when(userRepository.findByExternalIdInAndSourceSystem(any(), eq(ConnectorType.ASANA)))
+                .thenReturn(List.of(user));
+        when(taskRepository.findByExternalIdInAndSourceSystem(any(), eq(ConnectorType.ASANA)))
+                .thenReturn(List.of(existing));
+        when(taskRepository.saveAll(anyCollection())).thenAnswer(inv -> List.copyOf(inv.getArgument(0)));
+
+        List<UserService.UpsertResult<Task>> results = taskService.upsertAll(List.of(ct1, ct2));
+
+        assertThat(results).extracting(UserService.UpsertResult::created).containsExactly(false, true);
+        assertThat(existing.getTitle()).isEqualTo("New Title");
+        assertThat(existing.getAssignee()).isSameAs(user);
+        verify(projectRepository, times(1)).findByExternalIdInAndSourceSystem(any(), any());
+        verify(taskRepository, times(1)).saveAll(anyCollection());
+        verify(taskRepository, never()).findByExternalIdAndSourceSystem(any(), any());
+    }
+
+    @Test
+    void upsertAll_writesDuplicateExternalIdOnceWithinChunk() {
+        ConnectorTask first = connectorTask("ext-1", "proj-1", null);
+        ConnectorTask second = connectorTask("ext-1", "proj-1", null);
+        Project project = Project.builder().id(1L).externalId("proj-1").build();
+
+        when(projectRepository.findByExternalIdInAndSourceSystem(any(), any())).thenReturn(List.of(project));
+        when(taskRepository.findByExternalIdInAndSourceSystem(any(), any())).thenReturn(List.of());
+        when(taskRepository.saveAll(anyCollection())).thenAnswer(inv -> {
+            Collection<Task> toSave = inv.getArgument(0);
+            assertThat(toSave).hasSize(1);
+            return List.copyOf(toSave);
+        });
+
+        List<UserService.UpsertResult<Task>> results = taskService.upsertAll(List.of(first, second));
+
+        assertThat(results).extracting(UserService.UpsertResult::created).containsExactly(true, false);
+    }
+
+    @Test
+    void upsertAll_splitsInputIntoBatchSizedChunks() {
+        syncConfig.setBatchSize(2);
+        Project project = Project.builder().id(1L).externalId("proj-1").build();
+        when(projectRepository.findByExternalIdInAndSourceSystem(any(), any())).thenReturn(List.of(project));
+        when(taskRepository.findByExternalIdInAndSourceSystem(any(), any())).thenReturn(List.of());
+        when(taskRepository.saveAll(anyCollection())).thenAnswer(inv -> List.copyOf(inv.getArgument(0)));
+
+        List<UserService.UpsertResult<Task>> results = taskService.upsertAll(List.of(
+                connectorTask("ext-1", "proj-1", null),
+                connectorTask("ext-2", "proj-1", null),
+                connectorTask("ext-3", "proj-1", null)));
+
+        assertThat(results).hasSize(3);
+        verify(taskRepository, times(2)).saveAll(anyCollection());
+        // Each chunk is written and its tasks dropped from the persistence context before the next;
+        // the rest of the caller's persistence context is left alone
+        verify(taskRepository, times(2)).flush();
+        results.forEach(result -> verify(entityManager).detach(result.entity()));
+        verify(entityManager, never()).clear();
+    }
+
     // ─── helpers ──────────────────────────────────────────────────────────────
 
     private ConnectorTask connectorTask(String externalId, String projectId, String assigneeId) {
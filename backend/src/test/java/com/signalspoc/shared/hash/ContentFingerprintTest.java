@@ -0,0 +1,66 @@
+package com.signalspoc.shared.hash;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentFingerprintTest {
+
+    // ─── Hash function ────────────────────────────────────────────────────────
+
+    @Test
+    void hash_matchesTheMurmur3ReferenceVector() {
+        ContentFingerprint fp = ContentFingerprint.hasher()
+                .putBytes("The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII))
+                .hash();
+
+        // Reference implementations print h1 then h2, each little-endian
+        ByteBuffer digest = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN).putLong(fp.high()).putLong(fp.low());
+        assertThat(HexFormat.of().formatHex(digest.array())).isEqualTo("6c1b07bc7bbc4be347939ac4a93c437a");
+        assertThat(ContentFingerprint.hasher().hash()).isEqualTo(new ContentFingerprint(0, 0));
+    }
+
+    @Test
+    void putString_hashesTheSameAsItsFramedUtf16Bytes() {
+        String value = "Größe: naïve ✓";
+        ByteBuffer raw = ByteBuffer.allocate(4 + value.length() * 2).order(ByteOrder.LITTLE_ENDIAN).putInt(value.length());
+        value.chars().forEach(c -> raw.putChar((char) c));
+
+        // Misaligned by one byte so the four-chars-per-long path crosses block boundaries
+        assertThat(ContentFingerprint.hasher().putBoolean(true).putString(value).hash())
+                .isEqualTo(ContentFingerprint.hasher().putBoolean(true).putBytes(raw.array()).hash());
+    }
+
+    // ─── Field framing ────────────────────────────────────────────────────────
+
+    @Test
+    void fieldBoundariesAndNullsChangeTheFingerprint() {
+        assertThat(ContentFingerprint.hasher().putString("ab").putString("c").hash())
+                .isNotEqualTo(ContentFingerprint.hasher().putString("a").putString("bc").hash());
+        assertThat(ContentFingerprint.hasher().putString(null).hash())
+                .isNotEqualTo(ContentFingerprint.hasher().putString("").hash());
+        assertThat(ContentFingerprint.hasher().putBoolean(null).hash())
+                .isNotEqualTo(ContentFingerprint.hasher().putBoolean(false).hash());
+
+        LocalDateTime at = LocalDateTime.of(2026, 3, 1, 12, 0);
+        assertThat(ContentFingerprint.hasher().putTimestamp(at).hash())
+                .isEqualTo(ContentFingerprint.hasher().putTimestamp(LocalDateTime.of(2026, 3, 1, 12, 0)).hash())
+                .isNotEqualTo(ContentFingerprint.hasher().putTimestamp(at.plusNanos(1)).hash());
+    }
+
+    @Test
+    void matches_comparesStoredHalvesAndTreatsMissingAsChanged() {
+        ContentFingerprint fp = ContentFingerprint.hasher().putString("SIG-1").hash();
+
+        assertThat(fp.matches(fp.high(), fp.low())).isTrue();
+        assertThat(fp.matches(fp.high(), fp.low() + 1)).isFalse();
+        assertThat(fp.matches(null, null)).isFalse();
+        assertThat(fp.toHex()).hasSize(32);
+    }
+}
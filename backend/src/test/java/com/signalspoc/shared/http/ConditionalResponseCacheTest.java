@@ -0,0 +1,104 @@
+package com.signalspoc.shared.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalResponseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConditionalResponseCache<List<String>> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ConditionalResponseCache<>("github", "pulls", 2, meterRegistry);
+    }
+
+    // ─── revalidation ─────────────────────────────────────────────────────────
+
+    @Test
+    void storedEntryAddsValidatorsAndIsReusedOnNotModified() {
+        HttpHeaders response = new HttpHeaders();
+        response.setETag("\"abc\"");
+        response.set(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2026 07:28:00 GMT");
+        cache.store("/pulls?page=1", response, List.of("pr-1"));
+
+        ConditionalResponseCache.Entry<List<String>> cached = cache.get("/pulls?page=1");
+        HttpHeaders request = new HttpHeaders();
+        cache.addConditionalHeaders(request, cached);
+
+        assertThat(request.getIfNoneMatch()).containsExactly("\"abc\"");
+        assertThat(request.getFirst(HttpHeaders.IF_MODIFIED_SINCE)).isEqualTo("Wed, 21 Oct 2026 07:28:00 GMT");
+        assertThat(cache.isNotModified(HttpStatus.NOT_MODIFIED, cached)).isTrue();
+        assertThat(cache.hit(cached)).containsExactly("pr-1");
+        assertThat(counter("hit")).isEqualTo(1.0);
+        assertThat(counter("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void responsesWithoutValidatorsAreNotCached() {
+        cache.store("/pulls?page=1", new HttpHeaders(), List.of("pr-1"));
+
+        assertThat(cache.get("/pulls?page=1")).isNull();
+        assertThat(cache.isNotModified(HttpStatus.NOT_MODIFIED, null)).isFalse();
+        HttpHeaders request = new HttpHeaders();
+        cache.addConditionalHeaders(request, null);
+        assertThat(request).isEmpty();
+    }
+
+    // ─── bounds ───────────────────────────────────────────────────────────────
+
+    @Test
+    void evictsLeastRecentlyUsedEntryBeyondMaxEntries() {
+        cache.store("/a", withEtag("1"), List.of("a"));
+        cache.store("/b", withEtag("2"), List.of("b"));
+        cache.get("/a"); // /b is now least recently used
+        cache.store("/c", withEtag("3"), List.of("c"));
+
+        assertThat(cache.get("/b")).isNull();
+        assertThat(cache.get("/a")).isNotNull();
+        assertThat(cache.get("/c")).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(meterRegistry.counter("signals.http.client.cache.evictions", "connector", "github", "cache", "pulls").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("signals.http.client.cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void cachesOfOneConnectorReportTheirOwnSize() {
+        ConditionalResponseCache<List<String>> other = new ConditionalResponseCache<>("github", "single", 2, meterRegistry);
+
+        cache.store("/a", withEtag("1"), List.of("a"));
+        other.store("/b", withEtag("2"), List.of("b"));
+        other.store("/c", withEtag("3"), List.of("c"));
+
+        assertThat(meterRegistry.get("signals.http.client.cache.size").tag("cache", "pulls").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("signals.http.client.cache.size").tag("cache", "single").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void zeroMaxEntriesDisablesCaching() {
+        ConditionalResponseCache<List<String>> disabled = new ConditionalResponseCache<>("github", "disabled", 0, meterRegistry);
+
+        disabled.store("/a", withEtag("1"), List.of("a"));
+
+        assertThat(disabled.get("/a")).isNull();
+    }
+
+    private HttpHeaders withEtag(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"" + etag + "\"");
+        return headers;
+    }
+
+    private double counter(String result) {
+        return meterRegistry.counter("signals.http.client.cache", "connector", "github", "cache", "pulls", "result", result).count();
+    }
+}
@@ -0,0 +1,51 @@
+package com.signalspoc.shared.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectorHttpTransportFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HttpClientConfig httpClientConfig;
+    private ConnectorHttpTransportFactory transportFactory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        httpClientConfig = new HttpClientConfig();
+        transportFactory = new ConnectorHttpTransportFactory(httpClientConfig, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transportFactory.destroy();
+    }
+
+    @Test
+    void create_usesPerConnectorPoolSizeAndPublishesPoolMetrics() {
+        HttpClientConfig.PoolOverride asanaPool = new HttpClientConfig.PoolOverride();
+        asanaPool.setMaxConnections(8);
+        httpClientConfig.getConnectors().put("asana", asanaPool);
+
+        ClientHttpRequestFactory requestFactory = transportFactory.create("asana", 30);
+
+        assertThat(requestFactory).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "asana").gauge().value()).isEqualTo(8);
+    }
+
+    @Test
+    void create_fallsBackToDefaultPoolForUnconfiguredConnector() {
+        transportFactory.create("github", 30);
+
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "github").gauge().value())
+                .isEqualTo(httpClientConfig.getDefaults().getMaxConnections());
+    }
+}
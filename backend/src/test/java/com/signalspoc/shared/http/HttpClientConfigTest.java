@@ -0,0 +1,39 @@
+package com.signalspoc.shared.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTest {
+
+    private HttpClientConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new HttpClientConfig();
+        config.getDefaults().setMaxConnections(10);
+        config.getDefaults().setIdleTimeoutSeconds(45);
+        config.getDefaults().setTimeToLiveSeconds(600);
+    }
+
+    @Test
+    void poolFor_mergesAnOverrideFieldByFieldOverTheDefaults() {
+        HttpClientConfig.PoolOverride asana = new HttpClientConfig.PoolOverride();
+        asana.setMaxConnections(8);
+        config.getConnectors().put("asana", asana);
+
+        HttpClientConfig.PoolConfig pool = config.poolFor("asana");
+
+        assertThat(pool.getMaxConnections()).isEqualTo(8);
+        // Not the PoolConfig field initializers (30 / 300)
+        assertThat(pool.getIdleTimeoutSeconds()).isEqualTo(45);
+        assertThat(pool.getTimeToLiveSeconds()).isEqualTo(600);
+        assertThat(config.getDefaults().getMaxConnections()).isEqualTo(10);
+    }
+
+    @Test
+    void poolFor_usesTheDefaultsForAConnectorWithoutOverride() {
+        assertThat(config.poolFor("github")).isSameAs(config.getDefaults());
+    }
+}
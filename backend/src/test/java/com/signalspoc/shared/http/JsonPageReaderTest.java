@@ -0,0 +1,86 @@
+package com.signalspoc.shared.http;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonPageReaderTest {
+
+    private final JsonPageReader reader = new JsonPageReader(new ObjectMapper());
+
+    @Test
+    void read_streamsTopLevelDataArrayAndKeepsNextPageInEnvelope() throws Exception {
+        List<Item> items = new ArrayList<>();
+
+        JsonPageReader.Page page = reader.read(json("""
+                {"data": [{"gid": "1", "name": "a"}, {"gid": "2", "name": "b"}],
+                 "next_page": {"offset": "x", "uri": "/api/1.0/tasks?offset=x"}}
+                """), List.of("data"), Item.class, items::add);
+
+        assertThat(items).extracting(Item::getGid).containsExactly("1", "2");
+        assertThat(page.items()).isEqualTo(2);
+        assertThat(page.envelope().has("data")).isFalse();
+        assertThat(page.envelope().path("next_page").path("uri").textValue()).isEqualTo("/api/1.0/tasks?offset=x");
+    }
+
+    @Test
+    void read_streamsNestedNodesAndKeepsSiblingsAndErrors() throws Exception {
+        List<Item> items = new ArrayList<>();
+
+        JsonPageReader.Page page = reader.read(json("""
+                {"errors": [{"message": "partial"}],
+                 "data": {"issues": {"pageInfo": {"hasNextPage": true, "endCursor": "c1"},
+                                     "nodes": [{"gid": "i1", "name": "x", "extra": {"deep": [1, 2]}}]}}}
+                """), List.of("data", "issues", "nodes"), Item.class, items::add);
+
+        assertThat(items).extracting(Item::getGid).containsExactly("i1");
+        assertThat(page.envelope().path("data").path("issues").path("pageInfo").path("endCursor").textValue())
+                .isEqualTo("c1");
+        assertThat(page.envelope().path("data").path("issues").has("nodes")).isFalse();
+        assertThat(page.envelope().path("errors").get(0).path("message").asText()).isEqualTo("partial");
+    }
+
+    @Test
+    void read_streamsRootArrayWhenPathIsEmpty() throws Exception {
+        List<Item> items = new ArrayList<>();
+
+        JsonPageReader.Page page = reader.read(json("""
+                [{"gid": "p1"}, {"gid": "p2"}, {"gid": "p3"}]
+                """), List.of(), Item.class, items::add);
+
+        assertThat(page.items()).isEqualTo(3);
+        assertThat(items).hasSize(3);
+    }
+
+    @Test
+    void read_toleratesNullItemsField() throws Exception {
+        List<Item> items = new ArrayList<>();
+
+        JsonPageReader.Page page = reader.read(json("""
+                {"data": {"issues": null}}
+                """), List.of("data", "issues", "nodes"), Item.class, items::add);
+
+        assertThat(items).isEmpty();
+        assertThat(page.items()).isZero();
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Item {
+        private String gid;
+        private String name;
+    }
+}
@@ -0,0 +1,144 @@
+package com.signalspoc.shared.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboundHttpInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Long> sleeps;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sleeps = new ArrayList<>();
+    }
+
+    // ─── retries ──────────────────────────────────────────────────────────────
+
+    @Test
+    void intercept_retries429HonoringRetryAfter() throws Exception {
+        OutboundHttpInterceptor interceptor = newInterceptor(3, false);
+        MockClientHttpResponse limited = response(HttpStatus.TOO_MANY_REQUESTS);
+        limited.getHeaders().set(HttpHeaders.RETRY_AFTER, "2");
+        ScriptedExecution execution = new ScriptedExecution(limited, response(HttpStatus.OK));
+
+        ClientHttpResponse result = interceptor.intercept(request(HttpMethod.POST), new byte[0], execution);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(execution.calls).isEqualTo(2);
+        assertThat(sleeps).contains(2000L);
+        assertThat(meterRegistry.counter("signals.http.client.retries",
+                "connector", "test", "host", "api.example.com", "status", "429").count()).isEqualTo(1);
+    }
+
+    @Test
+    void intercept_retriesServerErrorsWithBoundedJitteredBackoff() throws Exception {
+        OutboundHttpInterceptor interceptor = newInterceptor(2, false);
+        ScriptedExecution execution = new ScriptedExecution(
+                response(HttpStatus.BAD_GATEWAY), response(HttpStatus.SERVICE_UNAVAILABLE), response(HttpStatus.OK));
+
+        ClientHttpResponse result = interceptor.intercept(request(HttpMethod.GET), new byte[0], execution);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(sleeps).hasSize(2);
+        assertThat(sleeps.get(0)).isBetween(50L, 100L);
+        assertThat(sleeps.get(1)).isBetween(100L, 200L);
+    }
+
+    @Test
+    void intercept_doesNotRetryServerErrorOnNonIdempotentRequest() throws Exception {
+        OutboundHttpInterceptor interceptor = newInterceptor(3, false);
+        ScriptedExecution execution = new ScriptedExecution(response(HttpStatus.BAD_GATEWAY), response(HttpStatus.OK));
+
+        ClientHttpResponse result = interceptor.intercept(request(HttpMethod.POST), new byte[0], execution);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(502);
+        assertThat(execution.calls).isEqualTo(1);
+    }
+
+    @Test
+    void intercept_returnsLastResponseOnceRetriesAreExhausted() throws Exception {
+        OutboundHttpInterceptor interceptor = newInterceptor(1, true);
+        ScriptedExecution execution = new ScriptedExecution(
+                response(HttpStatus.SERVICE_UNAVAILABLE), response(HttpStatus.SERVICE_UNAVAILABLE));
+
+        ClientHttpResponse result = interceptor.intercept(request(HttpMethod.POST), new byte[0], execution);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(503);
+        assertThat(execution.calls).isEqualTo(2);
+    }
+
+    // ─── adaptive throttling ──────────────────────────────────────────────────
+
+    @Test
+    void intercept_pausesNextRequestWhenQuotaIsExhausted() throws Exception {
+        OutboundHttpInterceptor interceptor = newInterceptor(0, false);
+        MockClientHttpResponse exhausted = response(HttpStatus.OK);
+        exhausted.getHeaders().set("X-RateLimit-Remaining", "0");
+        exhausted.getHeaders().set("X-RateLimit-Reset", "30");
+        ScriptedExecution execution = new ScriptedExecution(exhausted, response(HttpStatus.OK));
+
+        interceptor.intercept(request(HttpMethod.GET), new byte[0], execution);
+        interceptor.intercept(request(HttpMethod.GET), new byte[0], execution);
+
+        assertThat(sleeps).hasSize(1);
+        assertThat(sleeps.get(0)).isBetween(25_000L, 30_000L);
+    }
+
+    @Test
+    void parseResetMillis_acceptsEpochSecondsEpochMillisAndDeltaSeconds() {
+        assertThat(OutboundHttpInterceptor.parseResetMillis(1_700_000_000L)).isEqualTo(1_700_000_000_000L);
+        assertThat(OutboundHttpInterceptor.parseResetMillis(1_700_000_000_000L)).isEqualTo(1_700_000_000_000L);
+        assertThat(OutboundHttpInterceptor.parseResetMillis(60L))
+                .isBetween(System.currentTimeMillis() + 59_000, System.currentTimeMillis() + 60_000);
+    }
+
+    // ─── helpers ──────────────────────────────────────────────────────────────
+
+    private OutboundHttpInterceptor newInterceptor(int retryAttempts, boolean retryNonIdempotent) {
+        return new OutboundHttpInterceptor("test", 0, retryAttempts, retryNonIdempotent,
+                Duration.ofMillis(100), Duration.ofSeconds(1), meterRegistry, sleeps::add);
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method) {
+        return new MockClientHttpRequest(method, URI.create("https://api.example.com/v1/items"));
+    }
+
+    private static MockClientHttpResponse response(HttpStatus status) {
+        return new MockClientHttpResponse(new byte[0], status);
+    }
+
+    private static class ScriptedExecution implements ClientHttpRequestExecution {
+        private final Deque<ClientHttpResponse> responses;
+        private int calls;
+
+        ScriptedExecution(ClientHttpResponse... responses) {
+            this.responses = new ArrayDeque<>(List.of(responses));
+        }
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) {
+            calls++;
+            return responses.poll();
+        }
+    }
+}